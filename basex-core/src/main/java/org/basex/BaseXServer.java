@@ -3,8 +3,11 @@ package org.basex;
 import static org.basex.core.Text.*;
 
 import java.io.*;
+import java.lang.reflect.*;
 import java.net.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 
 import org.basex.api.client.*;
 import org.basex.core.*;
@@ -23,8 +26,19 @@ import org.basex.util.*;
  * @author Andreas Weiler
  */
 public final class BaseXServer extends CLI implements Runnable {
+  /** Maximum time (ms) to wait for the termination of client sessions. */
+  private static final long TERMINATION = 5000;
+
   /** New sessions. */
   private final HashSet<ClientListener> authorizing = new HashSet<>();
+  /** Timer for authentication timeouts and the removal of inactive sessions. */
+  private final Timer timer = new Timer(true);
+  /** Executor for client sessions. */
+  private ExecutorService listeners;
+  /** Number of client sessions that are run by the executor. */
+  private final AtomicInteger active = new AtomicInteger();
+  /** Scheduler for the replication of databases (can be {@code null}). */
+  private ScheduledExecutorService replica;
   /** Indicates if server is running. */
   private volatile boolean running;
   /** Indicates if server is to be stopped. */
@@ -133,6 +147,37 @@ public final class BaseXServer extends CLI implements Runnable {
   @Override
   public void run() {
     running = true;
+    listeners = executor();
+
+    // drop inactive connections
+    final long ka = context.soptions.get(StaticOptions.KEEPALIVE) * 1000L;
+    if(ka > 0) {
+      final long period = Math.max(1000, ka / 10);
+      timer.schedule(new TimerTask() {
+        @Override
+        public void run() {
+          final long ms = System.currentTimeMillis();
+          for(final ClientListener cl : context.sessions) {
+            if(cl.inactive(ms, ka)) cl.close();
+          }
+        }
+      }, period, period);
+    }
+
+    // replicate databases of a primary server
+    final String primary = context.soptions.get(StaticOptions.REPLICAOF);
+    if(!primary.isEmpty()) {
+      // separate thread: replication may take a long time
+      final long period = Math.max(1, context.soptions.get(StaticOptions.REPLICAINTERVAL)) * 1000L;
+      replica = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        return thread;
+      });
+      replica.scheduleWithFixedDelay(new Replica(context, primary), 0, period,
+          TimeUnit.MILLISECONDS);
+    }
+
     while(running) {
       try {
         final Socket s = socket.accept();
@@ -140,26 +185,28 @@ public final class BaseXServer extends CLI implements Runnable {
         if(stopFile.exists()) {
           close();
         } else {
-          // drop inactive connections
-          final long ka = context.soptions.get(StaticOptions.KEEPALIVE) * 1000L;
-          if(ka > 0) {
-            final long ms = System.currentTimeMillis();
-            for(final ClientListener cl : context.sessions) {
-              if(ms - cl.last > ka) cl.close();
-            }
-          }
           // create client listener, stop authentication after timeout
           final ClientListener cl = new ClientListener(s, context, this);
+          synchronized(authorizing) {
+            authorizing.add(cl);
+          }
           if(ka > 0) {
-            cl.timeout.schedule(new TimerTask() {
+            cl.timeout = new TimerTask() {
               @Override
               public void run() {
                 cl.close();
               }
-            }, ka);
-            authorizing.add(cl);
+            };
+            timer.schedule(cl.timeout, ka);
           }
-          cl.start();
+          active.incrementAndGet();
+          listeners.execute(() -> {
+            try {
+              cl.run();
+            } finally {
+              active.decrementAndGet();
+            }
+          });
         }
       } catch(final SocketException ex) {
         Util.debug(ex);
@@ -189,11 +236,29 @@ public final class BaseXServer extends CLI implements Runnable {
   private synchronized void close() {
     if(!running) return;
 
-    for(final ClientListener cl : authorizing) {
+    final ArrayList<ClientListener> auth;
+    synchronized(authorizing) {
+      auth = new ArrayList<>(authorizing);
+    }
+    for(final ClientListener cl : auth) {
       remove(cl);
       cl.close();
     }
     context.sessions.close();
+    timer.cancel();
+    try {
+      // cancel replication, wait until the client sessions have been terminated
+      if(replica != null) {
+        replica.shutdownNow();
+        replica.awaitTermination(TERMINATION, TimeUnit.MILLISECONDS);
+      }
+      if(listeners != null) {
+        listeners.shutdown();
+        listeners.awaitTermination(TERMINATION, TimeUnit.MILLISECONDS);
+      }
+    } catch(final InterruptedException ex) {
+      Util.debug(ex);
+    }
 
     try {
       // close interactive input if server was stopped by another process
@@ -342,8 +407,34 @@ public final class BaseXServer extends CLI implements Runnable {
    */
   public void remove(final ClientListener client) {
     synchronized(authorizing) {
-      client.timeout.cancel();
+      if(client.timeout != null) client.timeout.cancel();
       authorizing.remove(client);
     }
   }
+
+  /**
+   * Returns the number of client sessions that are currently run by the executor, including
+   * sessions that have not been authenticated yet.
+   * @return number of sessions
+   */
+  public int listeners() {
+    return active.get();
+  }
+
+  /**
+   * Returns an executor for client sessions. If available (Java 21 and later), each session will
+   * be run in a virtual thread, which is unmounted from its carrier thread while the client is
+   * idle. Otherwise, sessions will be run in pooled daemon threads.
+   * @return executor
+   */
+  private static ExecutorService executor() {
+    final Method virtual = Reflect.method(Executors.class, "newVirtualThreadPerTaskExecutor");
+    final Object executor = Reflect.invoke(virtual, null);
+    return executor instanceof ExecutorService ? (ExecutorService) executor :
+      Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        return thread;
+      });
+  }
 }
@@ -0,0 +1,251 @@
+package org.basex.api.client;
+
+import java.io.*;
+
+import org.basex.core.*;
+import org.basex.io.in.*;
+import org.basex.io.out.*;
+import org.basex.server.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * This class collects database commands and queries, which are sent to the server in a single
+ * request frame. The server processes the requests in the given order, and the results are
+ * returned in the same order, without waiting for a round trip per request:
+ * <ul>
+ * <li> Commands are added via {@link #execute(String)}.</li>
+ * <li> Queries are added via {@link #query(String)}. Variables and the context value can be bound
+ * via {@link #bind(String, Object, String)} and {@link #context(Object, String)}; the bindings
+ * are assigned to the last query. Each query is parsed, evaluated and closed with a single
+ * {@link ServerCmd#EVAL} request.</li>
+ * <li> {@link #execute()} sends all requests and returns the results.</li>
+ * </ul>
+ * The requests are independent: if one of them fails, the remaining requests will still be
+ * processed. After all results have been received, an exception is raised with the first error.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class ClientBatch {
+  /** Client session. */
+  private final ClientSession cs;
+  /** Request frame. */
+  private final ByteList requests = new ByteList();
+  /** Request types ({@code true}: command, {@code false}: query). */
+  private final BoolList commands = new BoolList();
+  /** Indicates if the bindings of the last query are still open. */
+  private boolean bindings;
+
+  /**
+   * Constructor.
+   * @param session client session
+   */
+  ClientBatch(final ClientSession session) {
+    cs = session;
+  }
+
+  /**
+   * Adds a database command.
+   * @param command command string
+   * @return self reference
+   */
+  public ClientBatch execute(final String command) {
+    close();
+    send(command);
+    commands.add(true);
+    return this;
+  }
+
+  /**
+   * Adds a database command.
+   * @param command command
+   * @return self reference
+   */
+  public ClientBatch execute(final Command command) {
+    return execute(command.toString());
+  }
+
+  /**
+   * Adds a query.
+   * @param query query string
+   * @return self reference
+   */
+  public ClientBatch query(final String query) {
+    close();
+    requests.add(ServerCmd.EVAL.code);
+    send(query);
+    commands.add(false);
+    bindings = true;
+    return this;
+  }
+
+  /**
+   * Binds a value to an external variable of the last query.
+   * @param name name of variable
+   * @param value value to be bound
+   * @return self reference
+   * @throws IOException I/O exception
+   */
+  public ClientBatch bind(final String name, final Object value) throws IOException {
+    return bind(name, value, "");
+  }
+
+  /**
+   * Binds a value with the specified type to an external variable of the last query.
+   * @param name name of variable
+   * @param value value to be bound
+   * @param type type (can be an empty string)
+   * @return self reference
+   * @throws IOException I/O exception
+   */
+  public ClientBatch bind(final String name, final Object value, final String type)
+      throws IOException {
+
+    if(!bindings) throw new BaseXException("No query has been added.");
+    final String[] vt = ClientQuery.encode(value, type);
+    send(name);
+    send(vt[0]);
+    send(vt[1]);
+    return this;
+  }
+
+  /**
+   * Binds a value to the context value of the last query.
+   * @param value value to be bound
+   * @return self reference
+   * @throws IOException I/O exception
+   */
+  public ClientBatch context(final Object value) throws IOException {
+    return context(value, "");
+  }
+
+  /**
+   * Binds a value with the specified type to the context value of the last query.
+   * @param value value to be bound
+   * @param type type (can be an empty string)
+   * @return self reference
+   * @throws IOException I/O exception
+   */
+  public ClientBatch context(final Object value, final String type) throws IOException {
+    return bind(".", value, type);
+  }
+
+  /**
+   * Returns the number of added requests.
+   * @return number of requests
+   */
+  public int size() {
+    return commands.size();
+  }
+
+  /**
+   * Sends all requests to the server and returns the results. If an output stream has been
+   * assigned to the session, the results will be written to this stream, and the returned
+   * strings will be {@code null}. Afterwards, the batch will be empty and can be reused.
+   * @return results
+   * @throws IOException I/O exception
+   */
+  public String[] execute() throws IOException {
+    close();
+    final byte[] frame = requests.toArray();
+    final boolean[] cmds = commands.toArray();
+    requests.reset();
+    commands.reset();
+
+    // large frames are sent by a separate thread: otherwise, the server might block while
+    // sending results that are not read yet
+    final FrameWriter writer = new FrameWriter(frame);
+    if(frame.length <= cs.socket.getSendBufferSize()) {
+      writer.run();
+      writer.finish();
+    } else {
+      writer.start();
+    }
+
+    final BufferInput bi = BufferInput.get(cs.sin);
+    final OutputStream out = cs.getOutputStream();
+    final int rs = cmds.length;
+    final String[] results = new String[rs];
+    String error = null;
+    for(int r = 0; r < rs; r++) {
+      final OutputStream o = out != null ? out : new ArrayOutput();
+      ClientSession.receive(bi, o);
+      final boolean ok;
+      if(cmds[r]) {
+        // command: {result}0{info}0 and success flag
+        cs.info = bi.readString();
+        ok = ClientSession.ok(bi);
+      } else {
+        // query: {result}0 and success flag, followed by {error}0 if the query failed
+        ok = ClientSession.ok(bi);
+        if(!ok) cs.info = bi.readString();
+      }
+      if(!ok && error == null) error = cs.info;
+      if(out == null) results[r] = o.toString();
+    }
+    writer.finish();
+    if(error != null) throw new BaseXException(error);
+    return results;
+  }
+
+  /**
+   * Closes the bindings of the last query.
+   */
+  private void close() {
+    if(bindings) {
+      requests.add(0);
+      bindings = false;
+    }
+  }
+
+  /**
+   * Adds a string to the request frame.
+   * @param string string
+   */
+  private void send(final String string) {
+    requests.add(Token.token(string)).add(0);
+  }
+
+  /**
+   * Writer for the request frame.
+   */
+  private final class FrameWriter extends Thread {
+    /** Request frame. */
+    private final byte[] frame;
+    /** Exception. */
+    private IOException exception;
+
+    /**
+     * Constructor.
+     * @param frame request frame
+     */
+    private FrameWriter(final byte[] frame) {
+      this.frame = frame;
+      setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+      try {
+        cs.sout.write(frame);
+        cs.sout.flush();
+      } catch(final IOException ex) {
+        exception = ex;
+      }
+    }
+
+    /**
+     * Waits until the frame has been sent.
+     * @throws IOException I/O exception
+     */
+    private void finish() throws IOException {
+      try {
+        if(isAlive()) join();
+      } catch(final InterruptedException ex) {
+        throw new BaseXException(ex);
+      }
+      if(exception != null) throw exception;
+    }
+  }
+}
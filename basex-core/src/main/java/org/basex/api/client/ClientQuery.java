@@ -27,6 +27,8 @@ public class ClientQuery extends Query {
   final ClientSession cs;
   /** Query id. */
   final String id;
+  /** Maximum number of results to be retrieved at a time ({@code 0}: all results). */
+  private int fetchSize;
 
   /**
    * Standard constructor.
@@ -39,6 +41,7 @@ public class ClientQuery extends Query {
       throws IOException {
     cs = session;
     out = output;
+    binary = session.binary;
     id = session.exec(ServerCmd.QUERY, query, null);
   }
 
@@ -57,10 +60,37 @@ public class ClientQuery extends Query {
     return Boolean.parseBoolean(cs.exec(ServerCmd.UPDATING, id, null));
   }
 
+  /**
+   * Specifies the maximum number of results that will be retrieved by {@link #more()} and
+   * {@link #next()} at a time. If a positive size is specified, the server evaluates the query
+   * lazily and returns the next results whenever the cached results have been consumed.
+   * The locks of the query will be kept until all results have been retrieved, until the query
+   * is closed, or until another query or command is evaluated by the same session.
+   * @param size maximum number of results ({@code 0}: all results)
+   */
+  public void fetchSize(final int size) {
+    fetchSize = size;
+  }
+
   @Override
   public void bind(final String name, final Object value, final String type) throws IOException {
     cache = null;
+    pending = false;
+
+    final String[] vt = encode(value, type);
+    final ServerCmd cmd = name == null ? ServerCmd.CONTEXT : ServerCmd.BIND;
+    final String n = name == null ? "" : name + '\0';
+    cs.exec(cmd, id + '\0' + n + vt[0] + '\0' + vt[1], null);
+  }
 
+  /**
+   * Encodes a value to be bound for transmission to the server.
+   * @param value value
+   * @param type type (can be {@code null})
+   * @return encoded value and type
+   * @throws IOException I/O exception
+   */
+  static String[] encode(final Object value, final String type) throws IOException {
     final Object vl = value instanceof BXNode ? ((BXNode) value).getNode() : value;
     String t = type == null ? "" : type;
     final String v;
@@ -87,10 +117,7 @@ public class ClientQuery extends Query {
     } else {
       v = value.toString();
     }
-
-    final ServerCmd cmd = name == null ? ServerCmd.CONTEXT : ServerCmd.BIND;
-    final String n = name == null ? "" : name + '\0';
-    cs.exec(cmd, id + '\0' + n + v + '\0' + t, null);
+    return new String[] { v, t };
   }
 
   @Override
@@ -110,12 +137,18 @@ public class ClientQuery extends Query {
 
   @Override
   public void cache(final boolean full) throws IOException {
-    cs.sout.write((full ? ServerCmd.FULL : ServerCmd.RESULTS).code);
+    final boolean fetch = !full && fetchSize > 0;
+    cs.sout.write((fetch ? ServerCmd.FETCH : full ? ServerCmd.FULL : ServerCmd.RESULTS).code);
     cs.send(id);
+    if(fetch) cs.send(Integer.toString(fetchSize));
     cs.sout.flush();
 
     final BufferInput bi = BufferInput.get(cs.sin);
     cache(bi, full);
-    if(!ClientSession.ok(bi)) throw new BaseXException(bi.readString());
+    pending = fetch && cache.size() == fetchSize;
+    if(!ClientSession.ok(bi)) {
+      pending = false;
+      throw new BaseXException(bi.readString());
+    }
   }
 }
@@ -35,7 +35,9 @@ public class ClientSession extends Session {
   final InputStream sin;
 
   /** Socket reference. */
-  private final Socket socket;
+  final Socket socket;
+  /** Binary encoding of atomic query results. */
+  boolean binary;
 
   /**
    * Constructor, specifying login data.
@@ -148,6 +150,60 @@ public class ClientSession extends Session {
     return new ClientQuery(query, this, out);
   }
 
+  /**
+   * Enables or disables the binary encoding of atomic query results. If enabled, the results of
+   * subsequently created queries will not be serialized as strings if they are integers, doubles,
+   * floats or booleans (see {@link Query#nextObject()}).
+   * @param enable enable or disable encoding
+   * @return {@code true} if the server supports the encoding
+   * @throws IOException I/O exception
+   */
+  public boolean binary(final boolean enable) throws IOException {
+    sout.write(ServerCmd.BINARY.code);
+    send(Boolean.toString(enable));
+    sout.flush();
+    try {
+      receive(new ArrayOutput());
+    } catch(final BaseXException ex) {
+      // older servers interpret the request as invalid command
+      Util.debug(ex);
+      binary = false;
+      return false;
+    }
+    binary = enable;
+    return true;
+  }
+
+  /**
+   * Retrieves a zipped snapshot of a database if it has been modified after the specified time.
+   * The archive has the same format as the backups created by
+   * {@link org.basex.core.cmd.CreateBackup}.
+   * @param db name of database
+   * @param time time of the last snapshot ({@code 0}: no snapshot exists)
+   * @param output output stream for the archive (no data will be written if the database has not
+   *   been modified)
+   * @return time of the returned snapshot (equal to the specified time if the database has not
+   *   been modified)
+   * @throws IOException I/O exception
+   */
+  public long snapshot(final String db, final long time, final OutputStream output)
+      throws IOException {
+    sout.write(ServerCmd.SNAPSHOT.code);
+    send(db);
+    send(Long.toString(time));
+    sout.flush();
+    receive(output);
+    return Strings.toLong(info);
+  }
+
+  /**
+   * Returns a new batch for sending several commands and queries in a single request frame.
+   * @return batch
+   */
+  public ClientBatch batch() {
+    return new ClientBatch(this);
+  }
+
   @Override
   public synchronized void close() throws IOException {
     socket.close();
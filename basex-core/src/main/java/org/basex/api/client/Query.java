@@ -3,8 +3,11 @@ package org.basex.api.client;
 import java.io.*;
 
 import org.basex.io.in.*;
+import org.basex.query.*;
+import org.basex.query.value.item.*;
 import org.basex.query.value.type.*;
 import org.basex.query.value.type.Type.ID;
+import org.basex.server.*;
 import org.basex.util.*;
 import org.basex.util.list.*;
 
@@ -24,6 +27,10 @@ public abstract class Query implements Closeable {
   protected OutputStream out;
   /** Cached results. */
   protected TokenList cache;
+  /** Indicates if more results can be requested after the cached results. */
+  protected boolean pending;
+  /** Binary encoding of atomic items (see {@link BinaryItems}). */
+  protected boolean binary;
 
   /** Cached result types. */
   private ByteList types;
@@ -72,7 +79,7 @@ public abstract class Query implements Closeable {
    * @throws IOException I/O exception
    */
   public boolean more() throws IOException {
-    if(cache == null) cache(false);
+    if(cache == null || pos == cache.size() && pending) cache(false);
     if(pos < cache.size()) return true;
     cache = null;
     types = null;
@@ -93,7 +100,13 @@ public abstract class Query implements Closeable {
    */
   public final String next() throws IOException {
     if(more()) {
-      final byte[] item = cache.get(pos);
+      final Item it = decode();
+      final byte[] item;
+      try {
+        item = it != null ? it.string(null) : cache.get(pos);
+      } catch(final QueryException ex) {
+        throw new QueryIOException(ex);
+      }
       cache.set(pos++, null);
       if(out == null) return Token.string(item);
       out.write(item);
@@ -101,6 +114,36 @@ public abstract class Query implements Closeable {
     return null;
   }
 
+  /**
+   * Returns the next item of the query as Java object. If the binary encoding has been enabled
+   * for the session, integers, doubles, floats and booleans will be returned as {@link Long},
+   * {@link Double}, {@link Float} and {@link Boolean} instances. All other items will be returned
+   * as strings, or serialized to the output stream.
+   * @return object or {@code null}
+   * @throws IOException I/O exception
+   */
+  public final Object nextObject() throws IOException {
+    if(more()) {
+      final Item it = decode();
+      if(it == null) return next();
+      cache.set(pos++, null);
+      try {
+        return it instanceof Int ? (Object) it.itr(null) : it.toJava();
+      } catch(final QueryException ex) {
+        throw new QueryIOException(ex);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Decodes the current item if it is binary encoded.
+   * @return item or {@code null}
+   */
+  private Item decode() {
+    return binary ? BinaryItems.decode(cache.get(pos), types.get(pos)) : null;
+  }
+
   /**
    * Returns the XQuery type of the current item (must be called after {@link #next()}.
    * @return item type
@@ -6,6 +6,7 @@ import static org.basex.util.Token.*;
 
 import java.io.*;
 
+import org.basex.core.*;
 import org.basex.core.cmd.*;
 import org.basex.core.jobs.*;
 import org.basex.data.*;
@@ -56,6 +57,8 @@ public abstract class Builder extends Job {
 
   /** Optional path to binary files. */
   private IOFile binDir;
+  /** Subtree filter (can be {@code null}). */
+  private SubtreeFilter filter;
 
   /**
    * Constructor.
@@ -76,6 +79,8 @@ public abstract class Builder extends Job {
   final void parse() throws IOException {
     final Performance perf = Prop.debug ? new Performance() : null;
     Util.debug(shortInfo() + DOTS);
+    final String path = parser.options != null ? parser.options.get(MainOptions.STREAMPATH) : "";
+    filter = path.isEmpty() ? null : new SubtreeFilter(path);
     try {
       // add document node and parse document
       parser.parse(this);
@@ -108,6 +113,7 @@ public abstract class Builder extends Job {
     parStack.set(level++, meta.size);
     addDoc(value);
     nspaces.open();
+    if(filter != null) filter.reset();
   }
 
   /**
@@ -129,7 +135,12 @@ public abstract class Builder extends Job {
    * @throws IOException I/O exception
    */
   public final void openElem(final byte[] name, final Atts att, final Atts nsp) throws IOException {
-    addElem(name, att, nsp);
+    Atts ns = nsp;
+    if(filter != null) {
+      ns = filter.open(name, nsp);
+      if(ns == null) return;
+    }
+    addElem(name, att, ns);
     ++level;
   }
 
@@ -142,7 +153,12 @@ public abstract class Builder extends Job {
    */
   public final void emptyElem(final byte[] name, final Atts att, final Atts nsp)
       throws IOException {
-    addElem(name, att, nsp);
+    Atts ns = nsp;
+    if(filter != null) {
+      ns = filter.empty(name, nsp);
+      if(ns == null) return;
+    }
+    addElem(name, att, ns);
     final int pre = parStack.get(level);
     nspaces.close(pre);
     if(att.size() >= IO.MAXATTS) setSize(pre, meta.size - pre);
@@ -154,6 +170,7 @@ public abstract class Builder extends Job {
    */
   public final void closeElem() throws IOException {
     checkStop();
+    if(filter != null && !filter.close()) return;
     --level;
     final int pre = parStack.get(level);
     setSize(pre, meta.size - pre);
@@ -166,7 +183,7 @@ public abstract class Builder extends Job {
    * @throws IOException I/O exception
    */
   public final void text(final byte[] value) throws IOException {
-    if(value.length != 0) addText(value, Data.TEXT);
+    if(value.length != 0 && (filter == null || filter.add())) addText(value, Data.TEXT);
   }
 
   /**
@@ -175,7 +192,7 @@ public abstract class Builder extends Job {
    * @throws IOException I/O exception
    */
   public final void comment(final byte[] value) throws IOException {
-    addText(value, Data.COMM);
+    if(filter == null || filter.add()) addText(value, Data.COMM);
   }
 
   /**
@@ -184,7 +201,7 @@ public abstract class Builder extends Job {
    * @throws IOException I/O exception
    */
   public final void pi(final byte[] pi) throws IOException {
-    addText(pi, Data.PI);
+    if(filter == null || filter.add()) addText(pi, Data.PI);
   }
 
   /**
@@ -197,6 +214,53 @@ public abstract class Builder extends Job {
     Store.store(data.inputSource(), new IOFile(binDir, target));
   }
 
+  /**
+   * Copies the nodes of a database instance to the builder.
+   * @param data data instance
+   * @throws IOException I/O exception
+   */
+  public final void copy(final Data data) throws IOException {
+    // end positions of opened nodes; the first node is a document node
+    final IntList ends = new IntList();
+    final int size = data.meta.size;
+    for(int pre = 0; pre < size;) {
+      checkStop();
+      final int kind = data.kind(pre);
+      if(kind == Data.DOC) {
+        openDoc(data.text(pre, true));
+        ends.add(pre + data.size(pre, kind));
+        pre++;
+      } else if(kind == Data.ELEM) {
+        final int as = data.attSize(pre, kind), sz = data.size(pre, kind);
+        final Atts atts = new Atts();
+        for(int a = pre + 1; a < pre + as; a++) {
+          atts.add(data.name(a, Data.ATTR), data.text(a, false));
+        }
+        final byte[] name = data.name(pre, kind);
+        final Atts nsp = data.namespaces(pre);
+        if(sz == as) {
+          emptyElem(name, atts, nsp);
+        } else {
+          openElem(name, atts, nsp);
+          ends.add(pre + sz);
+        }
+        pre += as;
+      } else {
+        final byte[] value = data.text(pre, true);
+        if(kind == Data.TEXT) text(value);
+        else if(kind == Data.COMM) comment(value);
+        else pi(value);
+        pre++;
+      }
+      // close nodes
+      while(!ends.isEmpty() && ends.peek() == pre) {
+        ends.pop();
+        if(ends.isEmpty()) closeDoc();
+        else closeElem();
+      }
+    }
+  }
+
   // PROGRESS INFORMATION =========================================================================
 
   @Override
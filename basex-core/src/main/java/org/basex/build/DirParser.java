@@ -4,11 +4,13 @@ import static org.basex.core.Text.*;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.regex.*;
 import java.util.zip.*;
 
 import org.basex.core.*;
 import org.basex.core.MainOptions.MainParser;
+import org.basex.data.*;
 import org.basex.io.*;
 import org.basex.io.in.*;
 import org.basex.util.*;
@@ -18,12 +20,20 @@ import org.basex.util.list.*;
  * This class recursively scans files and directories and parses all
  * relevant files.
  *
+ * If multiple threads are available (see {@link MainOptions#PARSETHREADS}), small files and
+ * archive entries are parsed in parallel into main-memory instances with local name
+ * dictionaries. The instances are appended to the builder in the original order of the files.
+ *
  * @author BaseX Team 2005-20, BSD License
  * @author Christian Gruen
  */
 public final class DirParser extends Parser {
   /** Number of skipped files to log. */
   private static final int SKIPLOG = 10;
+  /** Maximum size of files that will be parsed in parallel. */
+  private static final long PARALLELSIZE = 1 << 20;
+  /** Maximum number of parsed files per thread that wait to be appended. */
+  private static final int PENDING = 8;
   /** Skipped files. */
   private final StringList skipped = new StringList();
   /** File pattern. */
@@ -45,6 +55,10 @@ public final class DirParser extends Parser {
   private final boolean rawParser;
   /** Archive name. */
   private final boolean archiveName;
+  /** Number of parsing threads. */
+  private final int threads;
+  /** Files that are parsed in parallel, in the original order. */
+  private final ArrayDeque<Parsed> parsed = new ArrayDeque<>();
 
   /** Last source. */
   private IO lastSrc;
@@ -52,6 +66,8 @@ public final class DirParser extends Parser {
   private Parser parser;
   /** Resource counter. */
   private int resources;
+  /** Thread pool for parsing files in parallel (can be {@code null}). */
+  private ExecutorService pool;
 
   /**
    * Constructor.
@@ -77,13 +93,27 @@ public final class DirParser extends Parser {
     rawParser = options.get(MainOptions.PARSER) == MainParser.RAW;
     filter = !isDir && !source.isArchive() ? null :
       Pattern.compile(IOFile.regex(options.get(MainOptions.CREATEFILTER)));
+    // subtree filters are applied by the target builder and cannot be applied twice
+    final int pt = options.get(MainOptions.PARSETHREADS);
+    threads = !isDir && !source.isArchive() || !options.get(MainOptions.STREAMPATH).isEmpty() ? 1 :
+      pt > 0 ? pt : Runtime.getRuntime().availableProcessors();
   }
 
   @Override
   public void parse(final Builder build) throws IOException {
     build.meta.inputsize = 0;
     build.meta.original = original;
-    parse(build, source);
+    if(threads > 1) pool = Executors.newFixedThreadPool(threads);
+    try {
+      parse(build, source);
+      append(build, 0);
+    } finally {
+      if(pool != null) {
+        pool.shutdownNow();
+        pool = null;
+      }
+      parsed.clear();
+    }
   }
 
   /**
@@ -179,7 +209,19 @@ public final class DirParser extends Parser {
     if(include ? rawParser : addRaw) {
       // store input in raw format if raw parser was chosen, or if file was included otherwise
       builder.binary(targ + name, source);
+    } else if(include && pool != null && (source instanceof IOFile || source instanceof IOStream) &&
+        source.length() >= 0 && source.length() <= PARALLELSIZE) {
+      // parse input in parallel; archive entries are cached
+      final IO in = source instanceof IOStream ? new IOContent(source.read(), source.path()) :
+        source;
+      final String trg = targ;
+      parsed.add(new Parsed(in, pool.submit(() ->
+        MemBuilder.build("", Parser.singleParser(in, options, trg)))));
+      append(builder, threads * PENDING);
     } else if(include) {
+      // append files that have been parsed in parallel
+      append(builder, 0);
+
       // store input as XML
       boolean ok = true;
       IO in = source;
@@ -216,6 +258,34 @@ public final class DirParser extends Parser {
     if(Prop.debug && (++resources & 0x3FF) == 0) Util.err(";");
   }
 
+  /**
+   * Appends files that have been parsed in parallel until the specified number of files is left.
+   * @param builder builder instance
+   * @param max maximum number of files that may remain unappended
+   * @throws IOException I/O exception
+   */
+  private void append(final Builder builder, final int max) throws IOException {
+    while(parsed.size() > max) {
+      final Parsed p = parsed.poll();
+      final IO src = source;
+      source = p.input;
+      try {
+        builder.copy(p.data.get());
+      } catch(final ExecutionException ex) {
+        final Throwable th = ex.getCause();
+        if(th instanceof RuntimeException) throw (RuntimeException) th;
+        if(!(th instanceof IOException)) throw new IOException(th);
+        if(!skipCorrupt) throw (IOException) th;
+        Util.debug(th);
+        skipped.add(p.input.path());
+      } catch(final InterruptedException ex) {
+        throw new IOException(ex);
+      } finally {
+        source = src;
+      }
+    }
+  }
+
   @Override
   public String info() {
     final TokenBuilder tb = new TokenBuilder();
@@ -249,4 +319,22 @@ public final class DirParser extends Parser {
   public void close() throws IOException {
     if(parser != null) parser.close();
   }
+
+  /** File that is parsed in parallel. */
+  private static final class Parsed {
+    /** Input. */
+    private final IO input;
+    /** Parsed data. */
+    private final Future<MemData> data;
+
+    /**
+     * Constructor.
+     * @param input input
+     * @param data parsed data
+     */
+    private Parsed(final IO input, final Future<MemData> data) {
+      this.input = input;
+      this.data = data;
+    }
+  }
 }
@@ -56,10 +56,15 @@ public final class DiskBuilder extends Builder {
     meta.assign(parser);
 
     // calculate optimized output buffer sizes to reduce disk fragmentation
-    final Runtime rt = Runtime.getRuntime();
-    final long max = Math.min(1 << 22, rt.maxMemory() - rt.freeMemory() >> 2);
-    int bs = (int) Math.min(meta.inputsize, max);
+    int bs = sopts.get(StaticOptions.WRITEBUFFER) << 10;
+    if(bs <= 0) {
+      final Runtime rt = Runtime.getRuntime();
+      final long max = Math.min(1 << 22, rt.maxMemory() - rt.freeMemory() >> 2);
+      bs = (int) Math.min(meta.inputsize, max);
+    }
     bs = Math.max(IO.BLOCKSIZE, bs - bs % IO.BLOCKSIZE);
+    // force written data to disk in regular intervals
+    final long sync = (long) sopts.get(StaticOptions.WRITESYNC) << 20;
 
     // drop old database (if available) and create new one
     DropDB.drop(dbName, sopts);
@@ -69,9 +74,9 @@ public final class DiskBuilder extends Builder {
     attrNames = new Names(meta);
     try {
       try {
-        tout = new DataOutput(new TableOutput(meta, DATATBL));
-        xout = new DataOutput(meta.dbFile(DATATXT), bs);
-        vout = new DataOutput(meta.dbFile(DATAATV), bs);
+        tout = new DataOutput(new TableOutput(meta, DATATBL, bs, sync));
+        xout = new DataOutput(meta.dbFile(DATATXT), bs, sync);
+        vout = new DataOutput(meta.dbFile(DATAATV), bs, sync);
         sout = new DataOutput(meta.dbFile(DATATMP), bs);
         parse();
       } finally {
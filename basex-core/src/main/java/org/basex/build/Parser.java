@@ -120,7 +120,7 @@ public abstract class Parser extends Job {
     final SingleParser p;
     final MainParser mp = options.get(MainOptions.PARSER);
     switch(mp) {
-      case HTML: p = new HtmlParser(source, options); break;
+      case HTML: p = HtmlParser.get(source, options); break;
       case TEXT: p = new TextParser(source, options); break;
       case JSON: p = new JsonParser(source, options); break;
       case CSV:  p = new CsvParser(source, options); break;
@@ -0,0 +1,159 @@
+package org.basex.build;
+
+import static org.basex.core.Text.*;
+import static org.basex.util.Token.*;
+
+import org.basex.core.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * This class filters the events of a parser, so that only those subtrees will be added to a
+ * database that match a simple path. All other nodes will be skipped while the input is parsed,
+ * and the matching subtrees will become children of their document node.
+ *
+ * A path consists of element names, separated by slashes. If the path starts with a double slash,
+ * the first element may occur on any level. Names are compared without prefixes, and the asterisk
+ * matches any name. Examples: {@code /feed/entry}, {@code //item}, {@code /*}{@code /record}.
+ * Paths with other syntax or more than 30 steps are rejected.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+final class SubtreeFilter {
+  /** Maximum number of steps. */
+  private static final int MAX = 30;
+  /** Wildcard. */
+  private static final byte[] WILDCARD = { '*' };
+
+  /** Local names of the path steps ({@code null}: wildcard). */
+  private final byte[][] names;
+  /** Indicates if the first step may occur on any level. */
+  private final boolean descendant;
+  /** Matched path prefixes for each level (bit set of path step counts). */
+  private final IntList matches = new IntList();
+  /** Namespaces declared by skipped elements (indexed by level). */
+  private Atts[] namespaces = new Atts[8];
+  /** Current element level (0: document level). */
+  private int level;
+  /** Level of the currently added subtree (0: outside a subtree). */
+  private int subtree;
+
+  /**
+   * Constructor.
+   * @param path path
+   * @throws BaseXException if the path is invalid or has too many steps
+   */
+  SubtreeFilter(final String path) throws BaseXException {
+    descendant = path.startsWith("//");
+    if(!path.startsWith("/")) throw new BaseXException(PATH_INVALID_X, path);
+    final String[] steps = path.substring(descendant ? 2 : 1).split("/", -1);
+    // the number of steps is limited by the number of bits of the match flags
+    final int sl = steps.length;
+    if(sl > MAX) throw new BaseXException(PATH_INVALID_X, path);
+    names = new byte[sl][];
+    for(int s = 0; s < sl; s++) {
+      final byte[] step = token(steps[s]);
+      if(eq(step, WILDCARD)) continue;
+      if(!XMLToken.isQName(step)) throw new BaseXException(PATH_INVALID_X, path);
+      names[s] = local(step);
+    }
+    matches.add(1);
+  }
+
+  /**
+   * Resets the filter for a new document.
+   */
+  void reset() {
+    level = 0;
+    subtree = 0;
+  }
+
+  /**
+   * Indicates if a node on the current level will be added.
+   * @return result of check
+   */
+  boolean add() {
+    return subtree != 0 || names.length == 0;
+  }
+
+  /**
+   * Processes an opened element.
+   * @param name element name
+   * @param nsp namespaces declared by this element
+   * @return namespaces to be assigned to the element, or {@code null} if the element is skipped
+   */
+  Atts open(final byte[] name, final Atts nsp) {
+    final Atts ns = test(name, nsp);
+    ++level;
+    return ns;
+  }
+
+  /**
+   * Processes an empty element.
+   * @param name element name
+   * @param nsp namespaces declared by this element
+   * @return namespaces to be assigned to the element, or {@code null} if the element is skipped
+   */
+  Atts empty(final byte[] name, final Atts nsp) {
+    final Atts ns = test(name, nsp);
+    if(subtree == level + 1) subtree = 0;
+    return ns;
+  }
+
+  /**
+   * Processes a closed element.
+   * @return {@code true} if the element was added
+   */
+  boolean close() {
+    final boolean add = add();
+    if(subtree == level) subtree = 0;
+    --level;
+    return add;
+  }
+
+  /**
+   * Tests an element on the next level.
+   * @param name element name
+   * @param nsp namespaces declared by this element
+   * @return namespaces to be assigned to the element, or {@code null} if the element is skipped
+   */
+  private Atts test(final byte[] name, final Atts nsp) {
+    if(add()) return nsp;
+
+    // compute matched path prefixes
+    final int l = level + 1, nl = names.length;
+    final int parent = matches.get(l - 1);
+    int match = descendant ? 1 : 0;
+    final byte[] ln = local(name);
+    for(int n = 0; n < nl; n++) {
+      if((parent & 1 << n) != 0 && (names[n] == null || eq(names[n], ln))) match |= 1 << n + 1;
+    }
+    matches.set(l, match);
+
+    if((match & 1 << nl) == 0) {
+      // element is skipped: remember namespaces
+      if(l >= namespaces.length) {
+        namespaces = Array.copy(namespaces, new Atts[Array.newCapacity(l)]);
+      }
+      namespaces[l] = nsp.isEmpty() ? null : nsp.copy();
+      return null;
+    }
+
+    // element is added: add namespaces declared by skipped ancestors
+    subtree = l;
+    Atts ns = nsp;
+    for(int a = l - 1; a > 0; a--) {
+      final Atts anc = namespaces[a];
+      if(anc == null) continue;
+      final int as = anc.size();
+      for(int i = 0; i < as; i++) {
+        final byte[] prefix = anc.name(i);
+        if(ns.contains(prefix)) continue;
+        if(ns == nsp) ns = nsp.copy();
+        ns.add(prefix, anc.value(i));
+      }
+    }
+    return ns;
+  }
+}
@@ -43,9 +43,10 @@ public final class CsvParser extends SingleParser {
 
   @Override
   protected void parse() throws IOException {
+    final int threads = options.get(MainOptions.PARSETHREADS);
     csv = pushJob(new CsvBuilder(copts, builder));
     try {
-      csv.convert(source);
+      csv.convert(source, threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
     } finally {
       popJob();
     }
@@ -5,6 +5,7 @@ import static org.basex.util.Token.*;
 import java.io.*;
 import java.lang.reflect.*;
 
+import org.basex.build.*;
 import org.basex.build.xml.*;
 import org.basex.core.*;
 import org.basex.io.*;
@@ -15,6 +16,7 @@ import org.xml.sax.*;
 /**
  * This class uses TagSoup to convert HTML input to well-formed XML.
  * If TagSoup is not found in the classpath, the original document is passed on.
+ * {@link #get} returns the {@link InternalHtmlParser} in this case.
  *
  * TagSoup was written by John Cowan and is based on the Apache 2.0 License:
  * {@code http://home.ccil.org/~cowan/XML/tagsoup/}.
@@ -56,6 +58,33 @@ public final class HtmlParser extends XMLParser {
     return available() ? NAME : "";
   }
 
+  /**
+   * Returns a parser for the specified HTML input.
+   * @param source document source
+   * @param opts database options
+   * @return parser
+   * @throws IOException I/O exception
+   */
+  public static SingleParser get(final IO source, final MainOptions opts) throws IOException {
+    return get(source, opts, opts.get(MainOptions.HTMLPARSER));
+  }
+
+  /**
+   * Returns a parser for the specified HTML input. The internal parser is returned if TagSoup
+   * is not available, or if the internal parser has been chosen via
+   * {@link MainOptions#INTPARSE}.
+   * @param source document source
+   * @param opts database options
+   * @param hopts html options
+   * @return parser
+   * @throws IOException I/O exception
+   */
+  public static SingleParser get(final IO source, final MainOptions opts,
+      final HtmlOptions hopts) throws IOException {
+    return available() && !opts.get(MainOptions.INTPARSE) ? new HtmlParser(source, opts, hopts) :
+      new InternalHtmlParser(source, opts, hopts);
+  }
+
   /**
    * Constructor.
    * @param source document source
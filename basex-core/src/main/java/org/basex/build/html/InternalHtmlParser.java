@@ -0,0 +1,700 @@
+package org.basex.build.html;
+
+import static org.basex.util.Token.*;
+
+import java.io.*;
+
+import org.basex.build.*;
+import org.basex.core.*;
+import org.basex.data.*;
+import org.basex.io.*;
+import org.basex.io.in.*;
+import org.basex.util.*;
+import org.basex.util.hash.*;
+import org.basex.util.list.*;
+
+/**
+ * This class parses HTML input and sends the parse events directly to the database builder.
+ * It is a fast and lenient alternative to the TagSoup-based {@link HtmlParser}. Its rules
+ * are a simplified version of the HTML5 tree construction algorithm:
+ *
+ * <ul>
+ *   <li>The result always consists of an {@code html} root element with {@code head} and
+ *       {@code body} children. Missing elements are added, redundant ones are ignored.</li>
+ *   <li>Element and attribute names are converted to lower case. Characters that are invalid
+ *       in XML names (including colons) are replaced with underscores.</li>
+ *   <li>Void elements are closed immediately. The contents of raw text elements (such as
+ *       {@code script} and {@code style}) are not parsed.</li>
+ *   <li>Elements with optional end tags (such as {@code p}, {@code li} or {@code td}) are closed
+ *       when a start tag is found that implies their end. End tags without a matching start tag
+ *       are ignored.</li>
+ *   <li>Character references are resolved. Unknown entities are adopted as text.</li>
+ *   <li>Doctype declarations and processing instructions are skipped.</li>
+ * </ul>
+ *
+ * Of the {@link HtmlOptions}, only {@code nons}, {@code html} and {@code encoding} are
+ * considered.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class InternalHtmlParser extends SingleParser {
+  /** Void elements. */
+  private static final TokenSet VOID = set("area", "base", "basefont", "bgsound", "br", "col",
+      "embed", "frame", "hr", "img", "input", "keygen", "link", "meta", "param", "source",
+      "track", "wbr");
+  /** Elements with raw text contents. */
+  private static final TokenSet RAW = set("script", "style", "xmp", "iframe", "noembed",
+      "noframes", "plaintext");
+  /** Elements with raw text contents and character references. */
+  private static final TokenSet RCDATA = set("title", "textarea");
+  /** Elements that belong to the head. */
+  private static final TokenSet HEADS = set("base", "basefont", "bgsound", "link", "meta",
+      "noframes", "script", "style", "template", "title");
+  /** Elements that close an open paragraph. */
+  private static final TokenSet BLOCKS = set("address", "article", "aside", "blockquote",
+      "center", "dd", "details", "dialog", "dir", "div", "dl", "dt", "fieldset", "figcaption",
+      "figure", "footer", "form", "h1", "h2", "h3", "h4", "h5", "h6", "header", "hgroup", "hr",
+      "li", "listing", "main", "menu", "nav", "ol", "p", "plaintext", "pre", "section",
+      "summary", "table", "ul");
+  /** Elements that limit the search for open elements. */
+  private static final TokenSet SCOPE = set("applet", "button", "caption", "marquee",
+      "object", "table", "td", "template", "th");
+  /** Paragraph. */
+  private static final TokenSet P = set("p");
+  /** List item. */
+  private static final TokenSet LI = set("li");
+  /** List elements. */
+  private static final TokenSet LISTS = set("ol", "ul", "table", "td", "th");
+  /** Definition terms and descriptions. */
+  private static final TokenSet DD = set("dd", "dt");
+  /** Definition lists. */
+  private static final TokenSet DL = set("dl", "table", "td", "th");
+  /** Table rows. */
+  private static final TokenSet ROWS = set("tr");
+  /** Table cells. */
+  private static final TokenSet TD = set("td", "th");
+  /** Table sections. */
+  private static final TokenSet TBODY = set("tbody", "thead", "tfoot");
+  /** Table and table sections. */
+  private static final TokenSet TABLE = set("table", "tbody", "thead", "tfoot");
+  /** Table and rows. */
+  private static final TokenSet ROW = set("table", "tr");
+  /** Option. */
+  private static final TokenSet OPTION = set("option");
+  /** Options and option groups. */
+  private static final TokenSet OPTGROUP = set("option", "optgroup");
+  /** Select elements. */
+  private static final TokenSet SELECT = set("select", "datalist", "optgroup");
+  /** Select elements, excluding option groups. */
+  private static final TokenSet SELECTS = set("select", "datalist");
+  /** Predefined XML entities. */
+  private static final TokenMap ENTITIES = new TokenMap();
+
+  /** HTML element. */
+  private static final byte[] HTML = token("html");
+  /** Head element. */
+  private static final byte[] HEAD = token("head");
+  /** Body element. */
+  private static final byte[] BODY = token("body");
+  /** Line break. */
+  private static final byte[] BR = token("br");
+  /** Prefix of namespace declarations with replaced colon. */
+  private static final byte[] XMLNS_ = token("xmlns_");
+
+  /** State: no root element. */
+  private static final int NONE = 0;
+  /** State: root element has been opened. */
+  private static final int ROOT = 1;
+  /** State: head element has been opened. */
+  private static final int IN_HEAD = 2;
+  /** State: head element has been closed. */
+  private static final int AFTER_HEAD = 3;
+  /** State: body element has been opened. */
+  private static final int IN_BODY = 4;
+
+  static {
+    final String[] ents = { "amp", "&", "lt", "<", "gt", ">", "quot", "\"", "apos", "'" };
+    for(int e = 0; e < ents.length; e += 2) ENTITIES.put(ents[e], ents[e + 1]);
+  }
+
+  /** Names of opened elements. */
+  private final TokenList elms = new TokenList();
+  /** Cached text. */
+  private final TokenBuilder text = new TokenBuilder();
+  /** Cached names. */
+  private final TokenBuilder name = new TokenBuilder();
+  /** Empty attributes. */
+  private final Atts none = new Atts();
+  /** HTML options. */
+  private final HtmlOptions hopts;
+  /** Chop whitespaces. */
+  private final boolean chop;
+  /** Add XHTML namespace. */
+  private final boolean xhtml;
+
+  /** Text input. */
+  private TextInput input;
+  /** Current character. */
+  private int ch;
+  /** Character that has been read ahead ({@code -2}: none). */
+  private int next = -2;
+  /** Current state. */
+  private int state = NONE;
+
+  /**
+   * Constructor.
+   * @param source document source
+   * @param opts database options
+   * @param hopts html options
+   */
+  public InternalHtmlParser(final IO source, final MainOptions opts, final HtmlOptions hopts) {
+    super(source, opts);
+    this.hopts = hopts;
+    chop = opts.get(MainOptions.CHOP);
+    xhtml = !hopts.get(HtmlOptions.NONS) && !hopts.get(HtmlOptions.HTML) &&
+        !opts.get(MainOptions.STRIPNS);
+  }
+
+  @Override
+  protected void parse() throws IOException {
+    try(TextInput ti = new TextInput(source)) {
+      input = ti;
+      encoding();
+      consume();
+      while(ch != -1) {
+        if(ch == '<') {
+          consume();
+          if(ch == '/') {
+            endTag();
+          } else if(ch == '!') {
+            markup();
+          } else if(ch == '?') {
+            skip();
+          } else if(letter(ch)) {
+            startTag();
+          } else {
+            text.add('<');
+          }
+        } else if(ch == '&') {
+          reference(text);
+        } else {
+          text.add(ch);
+          consume();
+        }
+      }
+      flush();
+      body(none);
+      close(0);
+    } finally {
+      input = null;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if(input != null) input.close();
+  }
+
+  @Override
+  public String detailedInfo() {
+    return source.path();
+  }
+
+  @Override
+  public double progressInfo() {
+    final long l = source.length();
+    return input == null || l <= 0 ? 0 : (double) input.size() / l;
+  }
+
+  /**
+   * Assigns the encoding of the input. If no encoding has been specified, and if no byte order
+   * mark has been found, the first bytes of the input are scanned for a charset definition.
+   * @throws IOException I/O exception
+   */
+  private void encoding() throws IOException {
+    String enc = hopts.get(HtmlOptions.ENCODING);
+    if(enc == null && input.encoding().equals(Strings.UTF8)) {
+      input.mark(0);
+      final TokenBuilder tb = new TokenBuilder();
+      for(int c, i = 0; i < 1024 && (c = input.read()) != -1; i++) tb.add(lc(c));
+      input.reset();
+
+      final byte[] content = tb.finish(), charset = token("charset=");
+      int cs = indexOf(content, charset);
+      if(cs != -1) {
+        cs += charset.length;
+        final int cl = content.length;
+        if(cs < cl && (content[cs] == '"' || content[cs] == '\'')) cs++;
+        int ce = cs;
+        while(ce < cl && content[ce] > ' ' && content[ce] != '"' && content[ce] != '\'' &&
+            content[ce] != ';' && content[ce] != '/' && content[ce] != '>') ce++;
+        enc = string(substring(content, cs, ce));
+      }
+    }
+    if(enc != null && Strings.supported(enc)) input.encoding(enc);
+  }
+
+  /**
+   * Parses a start tag. The current character is the first letter of the element name.
+   * @throws IOException I/O exception
+   */
+  private void startTag() throws IOException {
+    final byte[] elem = name();
+    atts.reset();
+    boolean empty = false;
+    while(true) {
+      while(ws(ch)) consume();
+      if(ch == -1) return;
+      if(ch == '>') {
+        consume();
+        break;
+      }
+      if(ch == '/') {
+        consume();
+        if(ch == '>') {
+          consume();
+          empty = true;
+          break;
+        }
+        continue;
+      }
+      attribute();
+    }
+    open(elem, empty);
+  }
+
+  /**
+   * Parses an attribute and adds it to the attribute list.
+   * @throws IOException I/O exception
+   */
+  private void attribute() throws IOException {
+    // equal sign as first character of a name
+    if(ch == '=') {
+      name.add('_');
+      consume();
+    }
+    final byte[] att = name();
+    while(ws(ch)) consume();
+    byte[] value = EMPTY;
+    if(ch == '=') {
+      consume();
+      while(ws(ch)) consume();
+      final TokenBuilder tb = new TokenBuilder();
+      final int quote = ch == '"' || ch == '\'' ? ch : 0;
+      if(quote != 0) consume();
+      while(ch != -1 && (quote != 0 ? ch != quote : !ws(ch) && ch != '>')) {
+        if(ch == '&') {
+          reference(tb);
+        } else {
+          tb.add(ch);
+          consume();
+        }
+      }
+      if(quote != 0) consume();
+      value = tb.finish();
+    }
+    // skip namespace declarations and duplicate attributes
+    if(!eq(att, XMLNS) && !startsWith(att, XMLNS_) && atts.get(att) == -1) {
+      atts.add(att, value);
+    }
+  }
+
+  /**
+   * Parses an end tag. The current character is the slash.
+   * @throws IOException I/O exception
+   */
+  private void endTag() throws IOException {
+    consume();
+    if(!letter(ch)) {
+      skip();
+      return;
+    }
+    final byte[] elem = name();
+    while(ch != -1 && ch != '>') consume();
+    consume();
+
+    if(eq(elem, BR)) {
+      atts.reset();
+      open(BR, true);
+    } else if(eq(elem, HEAD)) {
+      if(state == IN_HEAD) {
+        flush();
+        close(1);
+        state = AFTER_HEAD;
+      }
+    } else if(!eq(elem, HTML, BODY)) {
+      for(int e = elms.size() - 1; e >= min(); e--) {
+        if(eq(elms.get(e), elem)) {
+          flush();
+          close(e);
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Parses a comment, a CDATA section, or skips markup declarations.
+   * The current character is the exclamation mark.
+   * @throws IOException I/O exception
+   */
+  private void markup() throws IOException {
+    consume();
+    if(ch == '-') {
+      consume();
+      if(ch != '-') {
+        skip();
+        return;
+      }
+      consume();
+      comment();
+    } else if(ch == '[') {
+      for(final byte b : token("[CDATA[")) {
+        if(ch != b) {
+          skip();
+          return;
+        }
+        consume();
+      }
+      final int start = text.size();
+      while(ch != -1 && !(ch == '>' && text.size() - start > 1 &&
+          text.get(text.size() - 1) == ']' && text.get(text.size() - 2) == ']')) {
+        text.add(ch);
+        consume();
+      }
+      if(ch != -1) text.size(text.size() - 2);
+      consume();
+    } else {
+      skip();
+    }
+  }
+
+  /**
+   * Parses a comment. Double hyphens and trailing hyphens are separated by spaces.
+   * @throws IOException I/O exception
+   */
+  private void comment() throws IOException {
+    final TokenBuilder tb = new TokenBuilder();
+    // number of trailing hyphens
+    int h = 0;
+    while(ch != -1 && !(ch == '>' && (h >= 2 || h == tb.size()))) {
+      h = ch == '-' ? h + 1 : 0;
+      tb.add(ch);
+      consume();
+    }
+    consume();
+    tb.size(Math.max(0, tb.size() - Math.min(h, 2)));
+
+    final byte[] value = tb.next();
+    for(final byte b : value) {
+      if(b == '-' && !tb.isEmpty() && tb.get(tb.size() - 1) == '-') tb.add(' ');
+      tb.addByte(b);
+    }
+    if(!tb.isEmpty() && tb.get(tb.size() - 1) == '-') tb.add(' ');
+    flush();
+    builder.comment(tb.finish());
+  }
+
+  /**
+   * Parses the contents of an element that contains raw text.
+   * @param elem element name
+   * @param refs resolve character references
+   * @throws IOException I/O exception
+   */
+  private void rawText(final byte[] elem, final boolean refs) throws IOException {
+    while(ch != -1) {
+      if(ch == '<') {
+        final int size = text.size();
+        text.add(ch);
+        consume();
+        if(ch != '/') continue;
+        text.add(ch);
+        consume();
+        int e = 0;
+        final int el = elem.length;
+        while(e < el && lc(ch) == elem[e]) {
+          text.add(ch);
+          consume();
+          e++;
+        }
+        if(e == el && (ws(ch) || ch == '>' || ch == '/')) {
+          text.size(size);
+          while(ch != -1 && ch != '>') consume();
+          consume();
+          break;
+        }
+      } else if(ch == '&' && refs) {
+        reference(text);
+      } else {
+        text.add(ch);
+        consume();
+      }
+    }
+    flush();
+    close(elms.size() - 1);
+  }
+
+  /**
+   * Opens an element.
+   * @param elem element name
+   * @param empty empty element
+   * @throws IOException I/O exception
+   */
+  private void open(final byte[] elem, final boolean empty) throws IOException {
+    flush();
+    if(eq(elem, HTML)) {
+      if(state == NONE) root(atts);
+    } else if(eq(elem, HEAD)) {
+      if(state == NONE) root(none);
+      if(state == ROOT) head(atts);
+    } else if(eq(elem, BODY)) {
+      if(state != IN_BODY) body(atts);
+    } else {
+      if(HEADS.contains(elem) && state < AFTER_HEAD) {
+        if(state == NONE) root(none);
+        if(state == ROOT) head(none);
+      } else {
+        body(none);
+      }
+      implied(elem);
+      if(empty || VOID.contains(elem)) {
+        builder.emptyElem(elem, atts, none);
+      } else {
+        builder.openElem(elem, atts, none);
+        elms.add(elem);
+        final boolean raw = RAW.contains(elem);
+        if(raw || RCDATA.contains(elem)) rawText(elem, !raw);
+      }
+    }
+  }
+
+  /**
+   * Closes elements whose end is implied by the start of the specified element.
+   * @param elem element name
+   * @throws IOException I/O exception
+   */
+  private void implied(final byte[] elem) throws IOException {
+    if(BLOCKS.contains(elem)) implied(P, SCOPE);
+    if(LI.contains(elem)) {
+      implied(LI, LISTS);
+    } else if(DD.contains(elem)) {
+      implied(DD, DL);
+    } else if(TD.contains(elem)) {
+      implied(TD, ROW);
+    } else if(ROWS.contains(elem)) {
+      implied(ROWS, TABLE);
+    } else if(TBODY.contains(elem)) {
+      implied(TBODY, TABLE);
+    } else if(OPTION.contains(elem)) {
+      implied(OPTION, SELECT);
+    } else if(OPTGROUP.contains(elem)) {
+      implied(OPTGROUP, SELECTS);
+    }
+  }
+
+  /**
+   * Closes the topmost open element with one of the specified names, unless a limiting
+   * element is found first.
+   * @param names names of elements to be closed
+   * @param limits names of limiting elements
+   * @throws IOException I/O exception
+   */
+  private void implied(final TokenSet names, final TokenSet limits) throws IOException {
+    for(int e = elms.size() - 1; e >= min(); e--) {
+      final byte[] elem = elms.get(e);
+      if(names.contains(elem)) {
+        close(e);
+        break;
+      }
+      if(limits.contains(elem)) break;
+    }
+  }
+
+  /**
+   * Opens the root element.
+   * @param attributes attributes
+   * @throws IOException I/O exception
+   */
+  private void root(final Atts attributes) throws IOException {
+    nsp.reset();
+    if(xhtml) nsp.add(EMPTY, DataText.XHTML_URI);
+    builder.openElem(HTML, attributes, nsp);
+    elms.add(HTML);
+    state = ROOT;
+  }
+
+  /**
+   * Opens the head element.
+   * @param attributes attributes
+   * @throws IOException I/O exception
+   */
+  private void head(final Atts attributes) throws IOException {
+    builder.openElem(HEAD, attributes, none);
+    elms.add(HEAD);
+    state = IN_HEAD;
+  }
+
+  /**
+   * Opens the body element if it has not been opened yet.
+   * Missing root and head elements are added, and an open head element is closed.
+   * @param attributes attributes
+   * @throws IOException I/O exception
+   */
+  private void body(final Atts attributes) throws IOException {
+    if(state == IN_BODY) return;
+    if(state == NONE) root(none);
+    if(state == ROOT) builder.emptyElem(HEAD, none, none);
+    close(1);
+    builder.openElem(BODY, attributes, none);
+    elms.add(BODY);
+    state = IN_BODY;
+  }
+
+  /**
+   * Adds cached text to the builder. Whitespaces outside the body are ignored.
+   * @throws IOException I/O exception
+   */
+  private void flush() throws IOException {
+    if(text.isEmpty()) return;
+    if(state != IN_BODY && elms.size() < 3) {
+      if(ws(text.toArray())) {
+        text.reset();
+        return;
+      }
+      body(none);
+    }
+    if(chop) text.trim();
+    builder.text(text.toArray());
+    text.reset();
+  }
+
+  /**
+   * Closes all elements above the specified stack position.
+   * @param size remaining number of opened elements
+   * @throws IOException I/O exception
+   */
+  private void close(final int size) throws IOException {
+    while(elms.size() > size) {
+      builder.closeElem();
+      elms.pop();
+    }
+  }
+
+  /**
+   * Returns the stack position of the first element that can be closed by an end tag.
+   * @return position
+   */
+  private int min() {
+    return state == IN_HEAD || state == IN_BODY ? 2 : 1;
+  }
+
+  /**
+   * Parses a name. Letters are converted to lower case, and invalid characters are replaced
+   * with underscores.
+   * @return name
+   * @throws IOException I/O exception
+   */
+  private byte[] name() throws IOException {
+    while(ch != -1 && !ws(ch) && ch != '/' && ch != '>' && (ch != '=' || name.isEmpty())) {
+      final int c = lc(ch);
+      if(name.isEmpty() && !XMLToken.isNCStartChar(c)) name.add('_');
+      name.add(XMLToken.isNCChar(c) ? c : '_');
+      consume();
+    }
+    return name.next();
+  }
+
+  /**
+   * Parses a character reference and adds the resulting characters to the specified builder.
+   * The current character is the ampersand.
+   * @param tb token builder
+   * @throws IOException I/O exception
+   */
+  private void reference(final TokenBuilder tb) throws IOException {
+    tb.add('&');
+    consume();
+    final int size = tb.size();
+    if(ch == '#') {
+      tb.add(ch);
+      consume();
+      final boolean hex = ch == 'x' || ch == 'X';
+      if(hex) {
+        tb.add(ch);
+        consume();
+      }
+      int cp = 0, n = 0;
+      for(int d; (d = hex ? hex(ch) : digit(ch) ? ch - '0' : -1) != -1; n++) {
+        cp = Math.min(cp * (hex ? 16 : 10) + d, 0x110000);
+        tb.add(ch);
+        consume();
+      }
+      if(n > 0) {
+        if(ch == ';') consume();
+        tb.size(size - 1);
+        tb.add(XMLToken.valid(cp) ? cp : REPLACEMENT);
+      }
+    } else {
+      while(letterOrDigit(ch) && tb.size() - size < 32) {
+        tb.add(ch);
+        consume();
+      }
+      if(ch == ';') {
+        final byte[] key = substring(tb.toArray(), size);
+        byte[] value = ENTITIES.get(key);
+        if(value == null) value = XMLToken.getEntity(key);
+        if(value != null) {
+          consume();
+          tb.size(size - 1);
+          tb.add(value);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the value of a hexadecimal digit.
+   * @param c character
+   * @return value or {@code -1}
+   */
+  private static int hex(final int c) {
+    return digit(c) ? c - '0' : c >= 'a' && c <= 'f' ? c - 87 : c >= 'A' && c <= 'F' ? c - 55 :
+      -1;
+  }
+
+  /**
+   * Skips characters until the end of a tag.
+   * @throws IOException I/O exception
+   */
+  private void skip() throws IOException {
+    while(ch != -1 && ch != '>') consume();
+    consume();
+  }
+
+  /**
+   * Reads the next character. Carriage returns are normalized to newlines.
+   * @throws IOException I/O exception
+   */
+  private void consume() throws IOException {
+    if(next != -2) {
+      ch = next;
+      next = -2;
+    } else {
+      ch = input.read();
+    }
+    if(ch == '\r') {
+      ch = '\n';
+      next = input.read();
+      if(next == '\n') next = -2;
+    }
+  }
+
+  /**
+   * Creates a set with the specified names.
+   * @param names names
+   * @return set
+   */
+  private static TokenSet set(final String... names) {
+    return new TokenSet(tokens(names));
+  }
+}
@@ -1,11 +1,17 @@
 package org.basex.build.json;
 
+import static org.basex.util.Token.*;
+
 import java.io.*;
 
-import org.basex.build.xml.*;
+import org.basex.build.*;
 import org.basex.core.*;
 import org.basex.io.*;
 import org.basex.io.parse.json.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
 
 /**
  * This class parses files in the JSON format
@@ -14,17 +20,23 @@ import org.basex.io.parse.json.*;
  * <p>The parser provides some options, which can be specified via the
  * {@link MainOptions#JSONPARSER} option.</p>
  *
+ * <p>If possible, the parse events are directly sent to the builder. Otherwise (if types are
+ * merged, or if the JsonML format is chosen), the converted document is copied to the
+ * builder.</p>
+ *
  * @author BaseX Team 2005-20, BSD License
  * @author Christian Gruen
  */
-public final class JsonParser extends XMLParser {
+public final class JsonParser extends SingleParser {
+  /** JSON Parser options. */
+  private final JsonParserOptions jopts;
+
   /**
    * Constructor.
    * @param source document source
    * @param opts database options
-   * @throws IOException I/O exception
    */
-  public JsonParser(final IO source, final MainOptions opts) throws IOException {
+  public JsonParser(final IO source, final MainOptions opts) {
     this(source, opts, opts.get(MainOptions.JSONPARSER));
   }
 
@@ -33,24 +45,44 @@ public final class JsonParser extends XMLParser {
    * @param source document source
    * @param opts database options
    * @param jopts parser options
-   * @throws IOException I/O exception
    */
-  public JsonParser(final IO source, final MainOptions opts, final JsonParserOptions jopts)
-      throws IOException {
-    super(toXML(source, jopts), opts);
+  public JsonParser(final IO source, final MainOptions opts, final JsonParserOptions jopts) {
+    super(source, opts);
+    this.jopts = jopts;
+  }
+
+  @Override
+  protected void parse() throws IOException {
+    if(JsonBuilderConverter.supports(jopts)) {
+      new JsonBuilderConverter(jopts, options, builder).parse(source);
+    } else {
+      final BasicNodeIter iter = ((ANode) JsonConverter.get(jopts).convert(source)).childIter();
+      for(ANode node; (node = iter.next()) != null;) copy(node);
+    }
   }
 
   /**
-   * Converts a JSON document to XML.
-   * @param io input
-   * @param options parser options
-   * @return parser
+   * Copies a node and its descendants to the builder.
+   * @param node node
    * @throws IOException I/O exception
    */
-  private static IOContent toXML(final IO io, final JsonParserOptions options) throws IOException {
-    final JsonConverter conv = JsonConverter.get(options);
-    final IOContent xml = new IOContent(conv.convert(io).serialize().finish());
-    xml.name(io.name());
-    return xml;
+  private void copy(final ANode node) throws IOException {
+    final NodeType type = node.nodeType();
+    if(type == NodeType.TXT) {
+      builder.text(options.get(MainOptions.CHOP) ? trim(node.string()) : node.string());
+    } else if(type == NodeType.ELM) {
+      final Atts atts = new Atts(), nsp = new Atts();
+      final BasicNodeIter ai = node.attributeIter();
+      for(ANode attr; (attr = ai.next()) != null;) atts.add(attr.name(), attr.string());
+      if(!options.get(MainOptions.STRIPNS)) {
+        final Atts ns = node.namespaces();
+        final int ns1 = ns.size();
+        for(int n = 0; n < ns1; n++) nsp.add(ns.name(n), ns.value(n));
+      }
+      builder.openElem(node.name(), atts, nsp);
+      final BasicNodeIter ci = node.childIter();
+      for(ANode child; (child = ci.next()) != null;) copy(child);
+      builder.closeElem();
+    }
   }
 }
@@ -31,6 +31,16 @@ final class XMLScanner extends Job {
   private static final byte[] PUBIDTOK = token(" \n'()+,/=?;!*#@$%");
   /** Question mark. */
   private static final byte[] QUESTION = { '?' };
+  /** ASCII characters that stop the bulk copying of text. */
+  private static final boolean[] TEXTSTOP = stop('<', '&', ']');
+  /** ASCII characters that stop the bulk copying of attribute values. */
+  private static final boolean[] ATTSTOP = stop('<', '&', '\'', '"', '\n', '%');
+  /** ASCII characters that stop the bulk copying of names. */
+  private static final boolean[] NAMESTOP = new boolean[128];
+
+  static {
+    for(int c = 0; c < NAMESTOP.length; c++) NAMESTOP[c] = !isChar(c);
+  }
   /** Ampersand entity. */
   private static final byte[] AMPER = { '&' };
 
@@ -235,7 +245,10 @@ final class XMLScanner extends Job {
     } else if(isStartChar(c)) {
       // scan name of attribute or element...
       type = scan == Scan.ATT ? Type.ATTNAME : Type.ELEMNAME;
-      do token.add(c); while(isChar(c = nextChar()));
+      do {
+        token.add(c);
+        input.copy(token, NAMESTOP);
+      } while(isChar(c = nextChar()));
       prev(1);
       scan = Scan.ATT;
     } else {
@@ -280,6 +293,7 @@ final class XMLScanner extends Job {
         else if(!input.add(r, false)) throw error(RECENT);
       } else {
         token.add(c);
+        input.copy(token, ATTSTOP);
       }
     } while((c = consume()) != quote);
   }
@@ -318,6 +332,7 @@ final class XMLScanner extends Job {
           }
           // add character to cached content
           token.add(c);
+          input.copy(token, TEXTSTOP);
         }
       }
       c = consume();
@@ -998,6 +1013,19 @@ final class XMLScanner extends Job {
     return sd;
   }
 
+  /**
+   * Returns a table with the ASCII characters that stop the bulk copying of input.
+   * Control characters other than tab and newline are always included.
+   * @param chars additional characters
+   * @return table
+   */
+  private static boolean[] stop(final char... chars) {
+    final boolean[] stop = new boolean[128];
+    for(int c = 0; c < ' '; c++) stop[c] = c != '\t' && c != '\n';
+    for(final char c : chars) stop[c] = true;
+    return stop;
+  }
+
   /**
    * Throws an exception.
    * @param message error message
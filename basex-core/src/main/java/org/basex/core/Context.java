@@ -5,6 +5,7 @@ import org.basex.core.locks.*;
 import org.basex.core.users.*;
 import org.basex.data.*;
 import org.basex.io.random.*;
+import org.basex.query.*;
 import org.basex.query.util.pkg.*;
 import org.basex.query.value.seq.*;
 import org.basex.server.*;
@@ -43,6 +44,8 @@ public final class Context {
   public final Log log;
   /** Locking. */
   public final Locking locking;
+  /** Cache for parsed queries. */
+  public final QueryCache queries;
 
   /** Client info. Set to {@code null} in standalone/server mode. */
   private final ClientInfo client;
@@ -107,6 +110,7 @@ public final class Context {
     repo = ctx.repo;
     log = ctx.log;
     jobs = ctx.jobs;
+    queries = ctx.queries;
   }
 
   /**
@@ -126,6 +130,7 @@ public final class Context {
     log = new Log(soptions);
     user = users.get(UserText.ADMIN);
     jobs = new JobPool(soptions);
+    queries = new QueryCache(soptions);
     client = null;
   }
 
@@ -249,6 +254,9 @@ public final class Context {
    * @return result of check
    */
   public boolean perm(final Perm perm, final String db) {
+    // replicas: clients have read-only access
+    if(client != null && (perm == Perm.WRITE || perm == Perm.CREATE) &&
+      !soptions.get(StaticOptions.REPLICAOF).isEmpty()) return false;
     return user.has(perm, db);
   }
 
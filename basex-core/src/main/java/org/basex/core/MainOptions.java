@@ -33,6 +33,8 @@ public final class MainOptions extends Options {
   public static final BooleanOption ARCHIVENAME = new BooleanOption("ARCHIVENAME", false);
   /** Flag for skipping corrupt files. */
   public static final BooleanOption SKIPCORRUPT = new BooleanOption("SKIPCORRUPT", false);
+  /** Number of parsing threads for directories and large CSV files (0: number of processors). */
+  public static final NumberOption PARSETHREADS = new NumberOption("PARSETHREADS", 0);
   /** Flag for adding remaining files as raw files. */
   public static final BooleanOption ADDRAW = new BooleanOption("ADDRAW", false);
   /** Define CSV parser options. */
@@ -55,7 +57,7 @@ public final class MainOptions extends Options {
 
   /** Flag for whitespace chopping. */
   public static final BooleanOption CHOP = new BooleanOption("CHOP", true);
-  /** Use internal XML parser. */
+  /** Use internal XML and HTML parsers. */
   public static final BooleanOption INTPARSE = new BooleanOption("INTPARSE", false);
   /** Strips namespaces. */
   public static final BooleanOption STRIPNS = new BooleanOption("STRIPNS", false);
@@ -65,6 +67,8 @@ public final class MainOptions extends Options {
   public static final BooleanOption XINCLUDE = new BooleanOption("XINCLUDE", true);
   /** Path to XML Catalog file. */
   public static final StringOption CATFILE = new StringOption("CATFILE", "");
+  /** Path to the subtrees that will be added while parsing (others will be skipped). */
+  public static final StringOption STREAMPATH = new StringOption("STREAMPATH", "");
 
   // Adding documents
 
@@ -121,6 +125,8 @@ public final class MainOptions extends Options {
   public static final BooleanOption QUERYINFO = new BooleanOption("QUERYINFO", false);
   /** Flag for mixing updates and items. */
   public static final BooleanOption MIXUPDATES = new BooleanOption("MIXUPDATES", false);
+  /** Priority of jobs that wait for locks (higher values will be started first). */
+  public static final NumberOption PRIORITY = new NumberOption("PRIORITY", 0);
   /** External variables, separated by commas. */
   public static final StringOption BINDINGS = new StringOption("BINDINGS", "");
   /** Flag for the size limit on inlineable functions. */
@@ -31,8 +31,20 @@ public final class StaticOptions extends Options {
   public static final BooleanOption LANGKEYS = new BooleanOption("LANGKEYS", false);
   /** Locking strategy. */
   public static final BooleanOption FAIRLOCK = new BooleanOption("FAIRLOCK", false);
+  /** Allow reads on databases while updating queries are evaluated. */
+  public static final BooleanOption SNAPSHOTREAD = new BooleanOption("SNAPSHOTREAD", false);
   /** Timeout (seconds) for remembering result of asynchronous queries. */
   public static final NumberOption CACHETIMEOUT = new NumberOption("CACHETIMEOUT", 3600);
+  /** Maximum number of parsed queries that are cached; deactivated if set to 0. */
+  public static final NumberOption QUERYCACHE = new NumberOption("QUERYCACHE", 1000);
+  /** Compression level of backups (0-9). */
+  public static final NumberOption BACKUPLEVEL = new NumberOption("BACKUPLEVEL", 1);
+  /** Number of threads for creating and restoring backups (0: number of processors). */
+  public static final NumberOption BACKUPTHREADS = new NumberOption("BACKUPTHREADS", 0);
+  /** Size of write buffers (KB) for creating databases (0: derived from input size). */
+  public static final NumberOption WRITEBUFFER = new NumberOption("WRITEBUFFER", 0);
+  /** Interval (MB) for forcing written database files to disk (0: deactivated). */
+  public static final NumberOption WRITESYNC = new NumberOption("WRITESYNC", 0);
 
   /** Comment: written to options file. */
   public static final Comment C_CLIENT = new Comment("Client/Server Architecture");
@@ -66,6 +78,16 @@ public final class StaticOptions extends Options {
   public static final NumberOption KEEPALIVE = new NumberOption("KEEPALIVE", 600);
   /** Defines the number of parallel readers. */
   public static final NumberOption PARALLEL = new NumberOption("PARALLEL", 8);
+  /** Maximum number of parallel read-only jobs; limited by PARALLEL if set to 0. */
+  public static final NumberOption PARALLELREAD = new NumberOption("PARALLELREAD", 0);
+  /** Maximum number of parallel updating jobs; limited by PARALLEL if set to 0. */
+  public static final NumberOption PARALLELWRITE = new NumberOption("PARALLELWRITE", 0);
+  /** Maximum number of threads for running scheduled jobs (excluding jobs that wait for others). */
+  public static final NumberOption JOBSTHREADS = new NumberOption("JOBSTHREADS", 64);
+  /** Host and port of a primary server whose databases will be replicated. */
+  public static final StringOption REPLICAOF = new StringOption("REPLICAOF", "");
+  /** Interval (seconds) for replicating databases of a primary server. */
+  public static final NumberOption REPLICAINTERVAL = new NumberOption("REPLICAINTERVAL", 10);
   /** Logging flag. */
   public static final BooleanOption LOG = new BooleanOption("LOG", true);
   /** Log message cut-off. */
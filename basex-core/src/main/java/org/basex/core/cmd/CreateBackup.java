@@ -82,7 +82,8 @@ public final class CreateBackup extends ABackup {
       final StringList files = dbpath.descendants();
       // ignore file indicating an update (this file is generated when using XQuery)
       files.removeAll(DATAUPD + IO.BASEXSUFFIX);
-      zip.zip(dbpath, files);
+      zip.zip(dbpath, files, sopts.get(StaticOptions.BACKUPLEVEL),
+          sopts.get(StaticOptions.BACKUPTHREADS));
     } finally {
       if(cmd != null) cmd.popJob();
     }
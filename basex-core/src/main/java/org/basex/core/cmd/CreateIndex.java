@@ -95,7 +95,8 @@ public final class CreateIndex extends ACreate {
    * @param cmd calling command
    * @throws IOException I/O exception
    */
-  static void create(final IndexType type, final Data data, final ACreate cmd) throws IOException {
+  public static void create(final IndexType type, final Data data, final ACreate cmd)
+      throws IOException {
     DropIndex.drop(type, data);
     data.createIndex(type, cmd);
     data.meta.index(type, true);
@@ -178,8 +178,15 @@ public final class Optimize extends ACreate {
     // check if flags have changed
     if(create == data.meta.index(type) && !enforce) return;
     // create or drop index
-    if(create) CreateIndex.create(type, data, cmd);
-    else DropIndex.drop(type, data);
+    if(!create) {
+      DropIndex.drop(type, data);
+    } else if(data.meta.stale(type) && !enforce) {
+      // outdated index: add entries of appended nodes
+      data.createIndex(type, cmd);
+      data.meta.index(type, true);
+    } else {
+      CreateIndex.create(type, data, cmd);
+    }
   }
 
   /**
@@ -81,7 +81,7 @@ public final class Restore extends ABackup {
     final Zip zip = new Zip(new IOFile(dbPath, backup + IO.ZIPSUFFIX));
     try {
       if(cmd != null) cmd.pushJob(zip);
-      zip.unzip(dbPath);
+      zip.unzip(dbPath, sopts.get(StaticOptions.BACKUPTHREADS));
     } finally {
       if(cmd != null) cmd.popJob();
     }
@@ -0,0 +1,157 @@
+package org.basex.core.jobs;
+
+import java.time.*;
+import java.time.temporal.*;
+
+import org.basex.util.*;
+
+/**
+ * Cron expression, consisting of five fields (minute, hour, day of month, month, day of week).
+ * Each field may contain a wildcard ({@code *}), a single value, a range ({@code 1-5}), a step
+ * ({@code *}{@code /15}, {@code 0-30/10}), or a comma-separated list of these. Days of the week
+ * are numbered from {@code 0} (Sunday) to {@code 6} (Saturday); {@code 7} is Sunday as well.
+ * If both the day of month and the day of week are restricted, a day matches if one of them
+ * matches. Times are computed in the default time zone.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class Cron {
+  /** Maximum number of years to look ahead. */
+  private static final int YEARS = 5;
+
+  /** Expression. */
+  private final String expression;
+  /** Minutes (bits 0-59). */
+  private final long minutes;
+  /** Hours (bits 0-23). */
+  private final long hours;
+  /** Days of month (bits 1-31). */
+  private final long days;
+  /** Months (bits 1-12). */
+  private final long months;
+  /** Days of week (bits 0-6, Sunday: 0). */
+  private final long weekdays;
+  /** Indicates if days of month are restricted. */
+  private final boolean dayRestricted;
+  /** Indicates if days of week are restricted. */
+  private final boolean weekdayRestricted;
+
+  /**
+   * Constructor.
+   * @param expression expression
+   * @param fields fields
+   */
+  private Cron(final String expression, final String[] fields) {
+    this.expression = expression;
+    minutes = field(fields[0], 0, 59);
+    hours = field(fields[1], 0, 23);
+    days = field(fields[2], 1, 31);
+    months = field(fields[3], 1, 12);
+    final long wd = field(fields[4], 0, 7);
+    weekdays = (wd & 1L << 7) != 0 ? wd | 1 : wd;
+    dayRestricted = !fields[2].startsWith("*");
+    weekdayRestricted = !fields[4].startsWith("*");
+  }
+
+  /**
+   * Parses a cron expression.
+   * @param expression expression
+   * @return cron instance, or {@code null} if the expression is invalid
+   */
+  public static Cron get(final String expression) {
+    final String[] fields = expression.trim().split("\\s+");
+    if(fields.length != 5) return null;
+    final Cron cron = new Cron(expression, fields);
+    return cron.minutes == 0 || cron.hours == 0 || cron.days == 0 || cron.months == 0 ||
+      cron.weekdays == 0 ? null : cron;
+  }
+
+  /**
+   * Returns the first matching time after the specified time.
+   * @param time time (ms since 01/01/1970)
+   * @return next time, or {@link Long#MAX_VALUE} if no matching time exists
+   */
+  public long next(final long time) {
+    ZonedDateTime dt = Instant.ofEpochMilli(time).atZone(ZoneId.systemDefault()).
+        truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+    final ZonedDateTime max = dt.plusYears(YEARS);
+    while(dt.isBefore(max)) {
+      if(!matches(months, dt.getMonthValue())) {
+        dt = dt.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1).plusMonths(1);
+      } else if(!day(dt)) {
+        dt = dt.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+      } else if(!matches(hours, dt.getHour())) {
+        dt = dt.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+      } else if(!matches(minutes, dt.getMinute())) {
+        dt = dt.plusMinutes(1);
+      } else {
+        return dt.toInstant().toEpochMilli();
+      }
+    }
+    return Long.MAX_VALUE;
+  }
+
+  /**
+   * Checks if the day of the specified date matches.
+   * @param dt date
+   * @return result of check
+   */
+  private boolean day(final ZonedDateTime dt) {
+    final boolean day = matches(days, dt.getDayOfMonth());
+    final boolean weekday = matches(weekdays, dt.getDayOfWeek().getValue() % 7);
+    return dayRestricted && weekdayRestricted ? day || weekday : day && weekday;
+  }
+
+  /**
+   * Checks if a value is contained in the specified bit mask.
+   * @param mask bit mask
+   * @param value value
+   * @return result of check
+   */
+  private static boolean matches(final long mask, final int value) {
+    return (mask & 1L << value) != 0;
+  }
+
+  /**
+   * Parses a field.
+   * @param field field
+   * @param min minimum value
+   * @param max maximum value
+   * @return bit mask ({@code 0} if the field is invalid)
+   */
+  private static long field(final String field, final int min, final int max) {
+    long mask = 0;
+    for(final String part : field.split(",", -1)) {
+      // step
+      String range = part;
+      int step = 1;
+      final int s = part.indexOf('/');
+      if(s != -1) {
+        step = Strings.toInt(part.substring(s + 1));
+        range = part.substring(0, s);
+      }
+      // range
+      final int lo, hi;
+      final int r = range.indexOf('-');
+      if(range.equals("*")) {
+        lo = min;
+        hi = max;
+      } else if(r != -1) {
+        lo = Strings.toInt(range.substring(0, r));
+        hi = Strings.toInt(range.substring(r + 1));
+      } else {
+        lo = Strings.toInt(range);
+        hi = s != -1 ? max : lo;
+      }
+      if(step < 1 || lo < min || hi > max || lo > hi) return 0;
+      for(int v = lo; v <= hi; v += step) mask |= 1L << v;
+    }
+    return mask;
+  }
+
+  @Override
+  public String toString() {
+    return expression;
+  }
+}
@@ -88,6 +88,15 @@ public abstract class Job {
     children.remove(children.size() - 1);
   }
 
+  /**
+   * Removes the specified child job.
+   * Must be called if child jobs may be completed in a different order (e.g., in parallel).
+   * @param job child job
+   */
+  public final void popJob(final Job job) {
+    children.remove(job);
+  }
+
   /**
    * Stops a job or sub job.
    */
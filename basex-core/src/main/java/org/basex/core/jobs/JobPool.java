@@ -19,11 +19,11 @@ public final class JobPool {
   public final Map<String, Job> active = new ConcurrentHashMap<>();
   /** Cached results. */
   public final Map<String, QueryJobResult> results = new ConcurrentHashMap<>();
-  /** Timer tasks. */
+  /** Scheduled tasks. */
   public final Map<String, QueryJobTask> tasks = new ConcurrentHashMap<>();
 
-  /** Timer. */
-  final Timer timer = new Timer(true);
+  /** Scheduler, which runs jobs in a bounded pool of worker threads. */
+  final ScheduledThreadPoolExecutor scheduler;
   /** Timeout (ms). */
   private final long timeout;
 
@@ -33,6 +33,10 @@ public final class JobPool {
    */
   public JobPool(final StaticOptions sopts) {
     timeout = sopts.get(StaticOptions.CACHETIMEOUT) * 1000L;
+    scheduler = new ScheduledThreadPoolExecutor(Math.max(1, sopts.get(StaticOptions.JOBSTHREADS)),
+      runnable -> new Worker(runnable, this));
+    scheduler.setRemoveOnCancelPolicy(true);
+    scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
   }
 
   /**
@@ -57,21 +61,47 @@ public final class JobPool {
    */
   public synchronized void close() {
     // stop running tasks and queries
-    timer.cancel();
+    scheduler.shutdown();
     for(final Job job : active.values()) job.stop();
     while(!active.isEmpty()) Performance.sleep(1);
   }
 
+  /**
+   * Called before and after a job is blocked by waiting for other jobs. If the job is run by a
+   * worker of the scheduler, an additional worker will be started while it is blocked. This way,
+   * waiting jobs cannot prevent the execution of the jobs they are waiting for.
+   * @param blocked blocked flag
+   */
+  public void blocked(final boolean blocked) {
+    final Thread thread = Thread.currentThread();
+    if(!(thread instanceof Worker) || ((Worker) thread).pool != this) return;
+    synchronized(scheduler) {
+      scheduler.setCorePoolSize(scheduler.getCorePoolSize() + (blocked ? 1 : -1));
+    }
+  }
+
   /**
    * Discards a result after the timeout.
    * @param job job
    */
   public void scheduleResult(final Job job) {
-    timer.schedule(new TimerTask() {
-      @Override
-      public void run() {
-        results.remove(job.jc().id());
-      }
-    }, timeout);
+    scheduler.schedule(() -> results.remove(job.jc().id()), timeout, TimeUnit.MILLISECONDS);
+  }
+
+  /** Worker thread of the scheduler. */
+  private static final class Worker extends Thread {
+    /** Job pool. */
+    private final JobPool pool;
+
+    /**
+     * Constructor.
+     * @param runnable runnable
+     * @param pool job pool
+     */
+    private Worker(final Runnable runnable, final JobPool pool) {
+      super(runnable);
+      this.pool = pool;
+      setDaemon(true);
+    }
   }
 }
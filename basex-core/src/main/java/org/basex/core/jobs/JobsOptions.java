@@ -1,5 +1,7 @@
 package org.basex.core.jobs;
 
+import java.util.*;
+
 import org.basex.util.options.*;
 
 /**
@@ -19,8 +21,23 @@ public final class JobsOptions extends Options {
   public static final StringOption END = new StringOption("end");
   /** Interval after which query will be repeated. */
   public static final StringOption INTERVAL = new StringOption("interval");
+  /** Cron expression for repeated execution. */
+  public static final StringOption CRON = new StringOption("cron");
+  /** Policy for executions that have been missed. */
+  public static final EnumOption<Misfire> MISFIRE = new EnumOption<>("misfire", Misfire.class);
   /** Custom id string. */
   public static final StringOption ID = new StringOption("id");
   /** Register as service. */
   public static final BooleanOption SERVICE = new BooleanOption("service");
+
+  /** Misfire policies. */
+  public enum Misfire {
+    /** Skip executions that have been missed (default). */ SKIP,
+    /** Run missed executions as soon as possible. */ RUN;
+
+    @Override
+    public String toString() {
+      return super.toString().toLowerCase(Locale.ENGLISH);
+    }
+  }
 }
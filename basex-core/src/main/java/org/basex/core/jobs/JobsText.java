@@ -27,6 +27,14 @@ public interface JobsText {
   byte[] END = token("end");
   /** Interval. */
   byte[] INTERVAL = token("interval");
+  /** Cron expression. */
+  byte[] CRON = token("cron");
+  /** Number of executions. */
+  byte[] RUNS = token("runs");
+  /** Number of skipped executions. */
+  byte[] MISFIRES = token("misfires");
+  /** Total execution time. */
+  byte[] RUNTIME = token("runtime");
   /** User. */
   byte[] USER = token("user");
   /** Read locks. */
@@ -60,6 +60,19 @@ public final class QueryJob extends Job implements Runnable {
       if(interval < 1000) throw JOBS_RANGE_X.get(ii, inter);
       while(delay < 0) delay += interval;
     }
+
+    // check if job is to be repeated via cron expression
+    Cron cron = null;
+    final String crn = opts.get(JobsOptions.CRON);
+    if(crn != null && !crn.isEmpty()) {
+      if(interval > 0) throw JOBS_OPTIONS.get(ii);
+      cron = Cron.get(crn);
+      if(cron == null) throw JOBS_CRON_X.get(ii, crn);
+      final long time = System.currentTimeMillis();
+      final long next = cron.next(time + Math.max(0, delay) - 1);
+      if(next == Long.MAX_VALUE) throw JOBS_CRON_X.get(ii, crn);
+      delay = next - time;
+    }
     if(delay < 0) throw JOBS_RANGE_X.get(ii, start);
 
     // check when job is to be stopped
@@ -69,7 +82,7 @@ public final class QueryJob extends Job implements Runnable {
 
     // check job results are to be cached
     final boolean cache = opts.contains(JobsOptions.CACHE) && opts.get(JobsOptions.CACHE);
-    if(cache && interval > 0) throw JOBS_OPTIONS.get(ii);
+    if(cache && (interval > 0 || cron != null)) throw JOBS_OPTIONS.get(ii);
 
     final JobPool jobs = context.jobs;
     synchronized(jobs.tasks) {
@@ -89,13 +102,10 @@ public final class QueryJob extends Job implements Runnable {
       if(cache) jobs.results.put(id, result);
 
       // create and schedule job task
-      final QueryJobTask task = new QueryJobTask(this, jobs, delay, interval, duration);
+      final QueryJobTask task = new QueryJobTask(this, jobs, delay, interval, cron, duration,
+          opts.get(JobsOptions.MISFIRE));
       jobs.tasks.put(id, task);
-      if(interval > 0) {
-        jobs.timer.scheduleAtFixedRate(task, delay, interval);
-      } else {
-        jobs.timer.schedule(task, delay);
-      }
+      task.schedule();
     }
   }
 
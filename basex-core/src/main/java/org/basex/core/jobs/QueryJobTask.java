@@ -1,25 +1,43 @@
 package org.basex.core.jobs;
 
-import java.util.*;
+import java.util.concurrent.*;
+
+import org.basex.core.jobs.JobsOptions.*;
 
 /**
- * Scheduled job.
+ * Scheduled job. The task is run by the scheduler of the job pool; if the job is to be repeated,
+ * it will be rescheduled after each execution.
  *
  * @author BaseX Team 2005-20, BSD License
  * @author Christian Gruen
  */
-public final class QueryJobTask extends TimerTask {
+public final class QueryJobTask implements Runnable {
   /** Job. */
   public final QueryJob job;
   /** Job pool. */
   public final JobPool jobs;
   /** Interval. */
   public final long interval;
+  /** Cron expression (can be {@code null}). */
+  public final Cron cron;
   /** End time (@link {@link Long#MAX_VALUE}: no end). */
   public final long end;
+  /** Misfire policy. */
+  private final Misfire misfire;
 
   /** Next start time. */
-  public long start;
+  public volatile long start;
+  /** Number of executions. */
+  public volatile int runs;
+  /** Number of skipped executions. */
+  public volatile int misfires;
+  /** Total execution time (ns). */
+  public volatile long time;
+
+  /** Future of the next execution. */
+  private volatile ScheduledFuture<?> future;
+  /** Cancel flag. */
+  private volatile boolean cancelled;
 
   /**
    * Constructor.
@@ -27,28 +45,74 @@ public final class QueryJobTask extends TimerTask {
    * @param jobs job pool
    * @param delay delay (ms)
    * @param interval interval (ms; no repetition: {@code 0})
+   * @param cron cron expression (can be {@code null})
    * @param duration total duration (ms; no limit: {@link Long#MAX_VALUE})
+   * @param misfire misfire policy
    */
   public QueryJobTask(final QueryJob job, final JobPool jobs, final long delay,
-      final long interval, final long duration) {
+      final long interval, final Cron cron, final long duration, final Misfire misfire) {
 
     this.job = job;
     this.jobs = jobs;
     this.interval = interval;
+    this.cron = cron;
+    this.misfire = misfire;
     final long time = System.currentTimeMillis();
     start = time + delay;
     end = duration == Long.MAX_VALUE ? duration : time + duration;
   }
 
+  /**
+   * Schedules the next execution.
+   */
+  void schedule() {
+    final long delay = Math.max(0, start - System.currentTimeMillis());
+    future = jobs.scheduler.schedule(this, delay, TimeUnit.MILLISECONDS);
+    if(cancelled) future.cancel(false);
+  }
+
+  /**
+   * Cancels all future executions.
+   */
+  public void cancel() {
+    cancelled = true;
+    final ScheduledFuture<?> f = future;
+    if(f != null) f.cancel(false);
+  }
+
   @Override
   public void run() {
-    // check if job needs to be evaluated repeatedly
-    start += interval;
-    if(interval == 0 || start >= end) {
-      job.remove();
-      cancel();
+    if(cancelled) return;
+
+    // compute next start time, skip executions that have been missed
+    long next = next(start);
+    if(misfire != Misfire.RUN) {
+      final long time = System.currentTimeMillis();
+      while(next <= time) {
+        next = next(next);
+        misfires++;
+      }
     }
-    // skip execution if same job is still running
-    if(!jobs.active.containsKey(job.jc().id())) new Thread(job).start();
+    start = next;
+
+    // check if job needs to be evaluated repeatedly
+    final boolean last = next >= end;
+    if(last) job.remove();
+
+    final long ns = System.nanoTime();
+    job.run();
+    time += System.nanoTime() - ns;
+    runs++;
+
+    if(!last && !cancelled) schedule();
+  }
+
+  /**
+   * Returns the next start time.
+   * @param time current start time
+   * @return next start time ({@link Long#MAX_VALUE}: no repetition)
+   */
+  private long next(final long time) {
+    return cron != null ? cron.next(time) : interval != 0 ? time + interval : Long.MAX_VALUE;
   }
 }
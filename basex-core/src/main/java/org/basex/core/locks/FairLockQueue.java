@@ -1,46 +1,35 @@
 package org.basex.core.locks;
 
-import java.util.*;
-
 /**
- * Lock queue for fair locking.
+ * Lock queue for fair locking: jobs with the same priority are started in the order in which they
+ * were queued.
  *
  * @author BaseX Team 2005-20, BSD License
  * @author Christian Gruen
  */
 public final class FairLockQueue extends LockQueue {
-  /** Queue. */
-  private final Queue<Long> queue = new LinkedList<>();
-
   /**
    * Constructor.
    * @param parallel parallel jobs
+   * @param readers parallel read-only jobs ({@code 0}: no separate limit)
+   * @param writers parallel updating jobs ({@code 0}: no separate limit)
    */
-  FairLockQueue(final int parallel) {
-    super(parallel);
+  FairLockQueue(final int parallel, final int readers, final int writers) {
+    super(parallel, readers, writers);
   }
 
   @Override
-  public synchronized void acquire(final Long id, final boolean read, final boolean write)
-      throws InterruptedException {
-
-    // add job id to queue and wait
-    if(jobs >= parallel) {
-      queue.add(id);
-
-      // loop until job is placed first
-      do {
-        wait();
-      } while(!id.equals(queue.peek()));
+  boolean queue(final boolean read, final boolean write) {
+    return true;
+  }
 
-      // remove job from queue
-      queue.remove(id);
-    }
-    jobs++;
+  @Override
+  boolean skip() {
+    return false;
   }
 
   @Override
-  public synchronized String toString() {
-    return "Jobs: " + jobs + ", queue: " + queue;
+  int compare(final Entry entry1, final Entry entry2) {
+    return 0;
   }
 }
@@ -9,7 +9,9 @@ import java.util.concurrent.locks.*;
  * @author Christian Gruen
  */
 final class LocalReadWriteLock extends ReentrantReadWriteLock {
-  /** Pins. */
+  /** Update lock (held by updating jobs, compatible with read locks). */
+  final ReentrantLock update;
+  /** Pins (only modified inside atomic map operations). */
   private int pins;
 
   /**
@@ -18,6 +20,7 @@ final class LocalReadWriteLock extends ReentrantReadWriteLock {
    */
   LocalReadWriteLock(final boolean fair) {
     super(fair);
+    update = new ReentrantLock(fair);
   }
 
   /**
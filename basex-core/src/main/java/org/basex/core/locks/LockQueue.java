@@ -1,23 +1,50 @@
 package org.basex.core.locks;
 
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
 /**
- * Lock queue.
+ * Lock queue. Limits the number of jobs that run in parallel, and the number of parallel
+ * read-only and updating jobs. Waiting jobs are ordered by their priority and, subsequently, by
+ * the ordering policy of the implementing class. When a job is completed, only those jobs will be
+ * woken up that can be started next.
+ *
+ * The numbers of running jobs are stored in a single atomic value. If no jobs are waiting, a job
+ * can be started and released without entering a monitor.
  *
  * @author BaseX Team 2005-20, BSD License
  * @author Christian Gruen
  */
 public abstract class LockQueue {
+  /** Increment for an updating job in the counter of running jobs. */
+  private static final long WRITER = 1L << 32;
+
   /** Maximum number of parallel jobs. */
-  protected final int parallel;
-  /** Number of currently running jobs. */
-  protected int jobs;
+  private final int parallel;
+  /** Maximum number of parallel read-only jobs. */
+  private final int maxReaders;
+  /** Maximum number of parallel updating jobs. */
+  private final int maxWriters;
+  /** Queued jobs, in the order in which they will be started. */
+  private final TreeSet<Entry> queue = new TreeSet<>();
+
+  /** Running jobs (lower 32 bits: read-only jobs, upper 32 bits: updating jobs). */
+  private final AtomicLong running = new AtomicLong();
+  /** Number of queued jobs (only modified while the monitor is held). */
+  private volatile int waiting;
+  /** Counter for queued jobs. */
+  private long counter;
 
   /**
    * Constructor.
    * @param parallel parallel jobs
+   * @param readers parallel read-only jobs ({@code 0}: no separate limit)
+   * @param writers parallel updating jobs ({@code 0}: no separate limit)
    */
-  LockQueue(final int parallel) {
+  LockQueue(final int parallel, final int readers, final int writers) {
     this.parallel = parallel;
+    maxReaders = readers > 0 ? readers : parallel;
+    maxWriters = writers > 0 ? writers : parallel;
   }
 
   /**
@@ -25,15 +52,159 @@ public abstract class LockQueue {
    * @param id job id
    * @param read read flag
    * @param write write flag
+   * @param priority priority (jobs with higher values will be started first)
    * @throws InterruptedException interrupted exception
    */
-  public abstract void acquire(Long id, boolean read, boolean write) throws InterruptedException;
+  public final void acquire(final Long id, final boolean read, final boolean write,
+      final int priority) throws InterruptedException {
+
+    // fast path: start job immediately if it need not be queued, or if it may overtake waiting jobs
+    if(!queue(read, write)) {
+      running.addAndGet(write ? WRITER : 1);
+      return;
+    }
+    if((skip() || waiting == 0) && start(write)) return;
+
+    final Entry entry;
+    synchronized(this) {
+      entry = new Entry(id, write, priority, counter++);
+      queue.add(entry);
+      // the counter must be incremented before the job is dispatched (see release(boolean))
+      waiting++;
+      dispatch();
+    }
+
+    // wait until the job has been started
+    try {
+      synchronized(entry) {
+        while(!entry.started) entry.wait();
+      }
+    } catch(final InterruptedException ex) {
+      synchronized(this) {
+        // job has already been started: release it
+        if(queue.remove(entry)) waiting--;
+        else release(write);
+      }
+      throw ex;
+    }
+  }
 
   /**
    * Notifies other jobs that a job has been completed.
+   * @param write write flag
+   */
+  public final void release(final boolean write) {
+    running.addAndGet(write ? -WRITER : -1);
+    if(waiting != 0) {
+      synchronized(this) {
+        dispatch();
+      }
+    }
+  }
+
+  /**
+   * Starts queued jobs in the order of the queue, and wakes up their threads.
+   */
+  private void dispatch() {
+    for(final Iterator<Entry> iter = queue.iterator(); iter.hasNext();) {
+      final Entry entry = iter.next();
+      if(start(entry.write)) {
+        iter.remove();
+        waiting--;
+        synchronized(entry) {
+          entry.started = true;
+          entry.notify();
+        }
+      } else if(!skip()) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Indicates if a job needs to be queued if the parallel job limit has been reached.
+   * @param read read flag
+   * @param write write flag
+   * @return result of check
    */
-  public synchronized void release() {
-    notifyAll();
-    jobs--;
+  abstract boolean queue(boolean read, boolean write);
+
+  /**
+   * Indicates if queued jobs may be started before other jobs that need to wait.
+   * @return result of check
+   */
+  abstract boolean skip();
+
+  /**
+   * Compares the order of two queued jobs with the same priority.
+   * @param entry1 first job
+   * @param entry2 second job
+   * @return result of comparison
+   */
+  abstract int compare(Entry entry1, Entry entry2);
+
+  /**
+   * Registers a job if it can be started.
+   * @param write write flag
+   * @return success flag
+   */
+  private boolean start(final boolean write) {
+    while(true) {
+      final long r = running.get();
+      final int readers = (int) r, writers = (int) (r >>> 32);
+      if(readers + writers >= parallel || (write ? writers >= maxWriters : readers >= maxReaders))
+        return false;
+      if(running.compareAndSet(r, r + (write ? WRITER : 1))) return true;
+    }
+  }
+
+  @Override
+  public synchronized String toString() {
+    final long r = running.get();
+    final int readers = (int) r, writers = (int) (r >>> 32);
+    return "Jobs: " + (readers + writers) + " (readers: " + readers + ", writers: " + writers +
+        "), queue: " + queue;
+  }
+
+  /**
+   * Queued job.
+   */
+  final class Entry implements Comparable<Entry> {
+    /** Job id. */
+    final Long id;
+    /** Write flag. */
+    final boolean write;
+    /** Priority. */
+    final int priority;
+    /** Position in the queue. */
+    final long position;
+    /** Indicates if the job has been started. */
+    boolean started;
+
+    /**
+     * Constructor.
+     * @param id job id
+     * @param write write flag
+     * @param priority priority
+     * @param position position in the queue
+     */
+    Entry(final Long id, final boolean write, final int priority, final long position) {
+      this.id = id;
+      this.write = write;
+      this.priority = priority;
+      this.position = position;
+    }
+
+    @Override
+    public int compareTo(final Entry entry) {
+      int c = Integer.compare(entry.priority, priority);
+      if(c == 0) c = compare(this, entry);
+      return c != 0 ? c : Long.compare(position, entry.position);
+    }
+
+    @Override
+    public String toString() {
+      return id.toString();
+    }
   }
 }
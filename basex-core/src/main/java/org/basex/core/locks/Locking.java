@@ -3,7 +3,6 @@ package org.basex.core.locks;
 import static org.basex.util.Prop.*;
 import static org.basex.util.Token.*;
 
-import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.locks.*;
 
@@ -15,10 +14,19 @@ import org.basex.util.list.*;
 /**
  * Read and write locks on arbitrary strings.
  *
- * A maximum of {@link StaticOptions#PARALLEL} concurrent locking jobs is allowed.
+ * A maximum of {@link StaticOptions#PARALLEL} concurrent locking jobs is allowed. The number of
+ * read-only and updating jobs can be further limited via {@link StaticOptions#PARALLELREAD} and
+ * {@link StaticOptions#PARALLELWRITE}. Waiting jobs with a higher {@link MainOptions#PRIORITY}
+ * will be started first.
  *
  * (Non-)fair locking can be adjusted via the {@link StaticOptions#FAIRLOCK} option.
  *
+ * If {@link StaticOptions#SNAPSHOTREAD} is enabled, updating queries that only access databases
+ * will initially acquire update locks, which are exclusive to other updating jobs, but compatible
+ * with readers. While the pending updates are collected, readers will continue to see the last
+ * committed state of the databases. The update locks will be upgraded to write locks before the
+ * updates are applied (see {@link #upgrade()}).
+ *
  * This class prevents locking deadlocks by sorting all strings.
  *
  * Locks can only be released by the same thread which acquired it.
@@ -51,6 +59,8 @@ public final class Locking {
 
   /** Fair ordering policy; prevents starvation, but reduces parallelism. */
   private final boolean fair;
+  /** Allow reads while updating queries are evaluated. */
+  private final boolean snapshot;
 
   /** Locks assigned to threads. */
   private final ConcurrentMap<Long, Locks> locked = new ConcurrentHashMap<>();
@@ -60,7 +70,7 @@ public final class Locking {
   /** Global lock: exclusive lock for global writes, shared lock otherwise. */
   private final ReentrantReadWriteLock globalLocks;
   /** Stores one lock for each lock string. */
-  private final Map<String, LocalReadWriteLock> localLocks = new HashMap<>();
+  private final ConcurrentMap<String, LocalReadWriteLock> localLocks = new ConcurrentHashMap<>();
   /** Lock object for queuing local writes and global reads. */
   private final Object globalLock = new Object();
 
@@ -75,9 +85,13 @@ public final class Locking {
    */
   public Locking(final StaticOptions soptions) {
     fair = soptions.get(StaticOptions.FAIRLOCK);
+    snapshot = soptions.get(StaticOptions.SNAPSHOTREAD);
     globalLocks = new ReentrantReadWriteLock(fair);
     final int parallel = Math.max(soptions.get(StaticOptions.PARALLEL), 1);
-    queue = fair ? new FairLockQueue(parallel) : new NonfairLockQueue(parallel);
+    final int readers = soptions.get(StaticOptions.PARALLELREAD);
+    final int writers = soptions.get(StaticOptions.PARALLELWRITE);
+    queue = fair ? new FairLockQueue(parallel, readers, writers) :
+      new NonfairLockQueue(parallel, readers, writers);
   }
 
   /**
@@ -86,11 +100,12 @@ public final class Locking {
    * @param ctx database context of client
    */
   public void acquire(final Job job, final Context ctx) {
-    // collect lock strings
+    // assign default priority, collect lock strings
+    final Locks locks = job.jc().locks;
+    locks.priority = ctx.options.get(MainOptions.PRIORITY);
     job.addLocks();
 
     // prepare lock strings and acquire locks
-    final Locks locks = job.jc().locks;
     locks.finish(ctx);
     try {
       acquire(locks);
@@ -114,7 +129,7 @@ public final class Locking {
     // queue job if the job limit has been reached
     final LockList reads = locks.reads, writes = locks.writes;
     final boolean write = writes.locking(), read = reads.locking(), lock = read || write;
-    queue.acquire(id, read, write);
+    queue.acquire(id, read, write, locks.priority);
 
     // apply exclusive lock (global write), or shared lock otherwise
     if(lock) (writes.global() ? globalLocks.writeLock() : globalLocks.readLock()).lock();
@@ -132,18 +147,40 @@ public final class Locking {
       }
     }
 
+    // defer write locks if the job does not read other resources
+    locks.deferred = snapshot && locks.defer && !reads.locking() && databases(writes);
+
     // assign locks in sorted order (to ensure that write locks will be assigned first)
     int w = 0, r = 0;
     final int rs = reads.size(), ws = writes.size();
     while(r < rs || w < ws) {
       if(w < ws && (r == rs || writes.get(w).compareTo(reads.get(r)) <= 0)) {
-        pin(writes.get(w++)).writeLock().lock();
+        final LocalReadWriteLock rwl = pin(writes.get(w++));
+        if(snapshot) rwl.update.lock();
+        (locks.deferred ? rwl.readLock() : rwl.writeLock()).lock();
       } else {
         pin(reads.get(r++)).readLock().lock();
       }
     }
   }
 
+  /**
+   * Upgrades deferred update locks of the current job to write locks.
+   * Waits until all readers of the affected databases have completed.
+   */
+  public void upgrade() {
+    final Locks locks = locked.get(Thread.currentThread().getId());
+    if(locks == null || !locks.deferred) return;
+
+    // the update locks ensure that no other writer can intervene
+    for(final String string : locks.writes) {
+      final LocalReadWriteLock lock = localLocks.get(string);
+      lock.readLock().unlock();
+      lock.writeLock().lock();
+    }
+    locks.deferred = false;
+  }
+
   /**
    * Removes locks for the specified job, all in reverse order.
    */
@@ -154,20 +191,28 @@ public final class Locking {
     final boolean lock = reads.locking() || writes.locking();
 
     // release all local locks
-    for(final String string : reads) unpin(string).readLock().unlock();
-    for(final String string : writes) unpin(string).writeLock().unlock();
+    for(final String string : reads) {
+      localLocks.get(string).readLock().unlock();
+      unpin(string);
+    }
+    for(final String string : writes) {
+      final LocalReadWriteLock rwl = localLocks.get(string);
+      (locks.deferred ? rwl.readLock() : rwl.writeLock()).unlock();
+      if(snapshot) rwl.update.unlock();
+      unpin(string);
+    }
 
     // allow next global reader to resume
-    synchronized(globalLock) {
-      if(reads.global()) {
+    if(reads.global()) {
+      synchronized(globalLock) {
         globalReaders--;
         globalLock.notifyAll();
       }
     }
 
     // allow next local writer to resume
-    synchronized(globalLock) {
-      if(writes.local()) {
+    if(writes.local()) {
+      synchronized(globalLock) {
         localWriters--;
         globalLock.notifyAll();
       }
@@ -177,7 +222,7 @@ public final class Locking {
     if(lock) (writes.global() ? globalLocks.writeLock() : globalLocks.readLock()).unlock();
 
     // allow next queued job to resume
-    queue.release();
+    queue.release(writes.locking());
   }
 
   /**
@@ -186,25 +231,33 @@ public final class Locking {
    * @return lock
    */
   private LocalReadWriteLock pin(final String string) {
-    synchronized(localLocks) {
-      final LocalReadWriteLock lock = localLocks.computeIfAbsent(string,
-          k -> new LocalReadWriteLock(fair));
-      lock.pin();
-      return lock;
-    }
+    return localLocks.compute(string, (key, lock) -> {
+      final LocalReadWriteLock rwl = lock != null ? lock : new LocalReadWriteLock(fair);
+      rwl.pin();
+      return rwl;
+    });
   }
 
   /**
    * Unpins a lock string. Removes a lock if pin count is zero.
    * @param string lock string
-   * @return lock
    */
-  private LocalReadWriteLock unpin(final String string) {
-    synchronized(localLocks) {
-      final LocalReadWriteLock lock = localLocks.get(string);
-      if(lock.unpin()) localLocks.remove(string);
-      return lock;
+  private void unpin(final String string) {
+    localLocks.computeIfPresent(string, (key, lock) -> lock.unpin() ? null : lock);
+  }
+
+  /**
+   * Checks if the specified lock list exclusively contains database locks.
+   * @param list lock list
+   * @return result of check
+   */
+  private static boolean databases(final LockList list) {
+    if(list.global() || !list.local()) return false;
+    for(final String string : list) {
+      if(string.startsWith(PREFIX) || string.startsWith(QUERY_PREFIX) ||
+         string.startsWith(JAVA_PREFIX)) return false;
     }
+    return true;
   }
 
   /**
@@ -227,10 +280,8 @@ public final class Locking {
     final String in = "| ";
     sb.append(in).append(queue).append(NL);
     sb.append(in).append("Held locks by object:").append(NL);
-    synchronized(localLocks) {
-      localLocks.forEach((key, value) ->
-        sb.append(in).append(in).append(key).append(" -> ").append(value).append(NL));
-    }
+    localLocks.forEach((key, value) ->
+      sb.append(in).append(in).append(key).append(" -> ").append(value).append(NL));
     sb.append(in).append("Held locks by job:").append(NL);
     locked.forEach((key, value) ->
       sb.append(in).append(in).append(key).append(" -> ").append(value).append(NL));
@@ -14,6 +14,12 @@ public final class Locks {
   public final LockList reads = new LockList();
   /** Write locks. */
   public final LockList writes = new LockList();
+  /** Priority (waiting jobs with higher values will be started first). */
+  public int priority;
+  /** Indicates if write locks may be deferred until updates are applied. */
+  public boolean defer;
+  /** Indicates if write locks are currently deferred (see {@link Locking#upgrade()}). */
+  boolean deferred;
 
   /**
    * Finalizes locks. Replaces context references with current database, sorts entries,
@@ -1,50 +1,35 @@
 package org.basex.core.locks;
 
-import java.util.*;
-
 /**
- * Lock queue for non-fair locking.
+ * Lock queue for non-fair locking: jobs without locks are never queued, readers are preferred
+ * to writers with the same priority, and queued jobs may overtake jobs that cannot be started yet.
  *
  * @author BaseX Team 2005-20, BSD License
  * @author Christian Gruen
  */
 public final class NonfairLockQueue extends LockQueue {
-  /** Queued readers. */
-  private final Queue<Long> readers = new LinkedList<>();
-  /** Queued writers. */
-  private final Queue<Long> writers = new LinkedList<>();
-
   /**
    * Constructor.
    * @param parallel parallel jobs
+   * @param readers parallel read-only jobs ({@code 0}: no separate limit)
+   * @param writers parallel updating jobs ({@code 0}: no separate limit)
    */
-  NonfairLockQueue(final int parallel) {
-    super(parallel);
+  NonfairLockQueue(final int parallel, final int readers, final int writers) {
+    super(parallel, readers, writers);
   }
 
   @Override
-  public synchronized void acquire(final Long id, final boolean read, final boolean write)
-      throws InterruptedException {
-
-    // only wait if job is locking
-    if(jobs >= parallel && (read || write)) {
-      // add job id to queue and wait
-      final Queue<Long> queue = write ? writers : readers;
-      queue.add(id);
-
-      // loop until job is placed first (prefer readers)
-      do {
-        wait();
-      } while(jobs >= parallel || write && !readers.isEmpty() || !id.equals(queue.peek()));
+  boolean queue(final boolean read, final boolean write) {
+    return read || write;
+  }
 
-      // remove job from queue
-      queue.remove(id);
-    }
-    jobs++;
+  @Override
+  boolean skip() {
+    return true;
   }
 
   @Override
-  public synchronized String toString() {
-    return "Jobs: " + jobs + ", queued readers: " + readers + ", queued writers: " + writers;
+  int compare(final Entry entry1, final Entry entry2) {
+    return Boolean.compare(entry1.write, entry2.write);
   }
 }
@@ -743,7 +743,7 @@ public abstract class Data {
     final int sCount = source.size();
     if(sCount == 0) return;
 
-    meta.update();
+    meta.update(pre == meta.size);
     resources.docs();
 
     // resize buffer to cache more entries
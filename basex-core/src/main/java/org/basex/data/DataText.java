@@ -68,6 +68,14 @@ public interface DataText {
   String DBSPLITS = "SPLITS";
   /** Up-to-date flag. */
   String DBUPTODATE = "UPTODATE";
+  /** Outdated text index. */
+  String DBSTLTXT = "STLTXT";
+  /** Outdated attribute index. */
+  String DBSTLATV = "STLATV";
+  /** Outdated token index. */
+  String DBSTLTOK = "STLTOK";
+  /** Number of nodes indexed by outdated indexes. */
+  String DBSTLSIZE = "STLSIZE";
   /** Last (highest) id. */
   String DBLASTID = "LASTID";
   /** Documents. */
@@ -189,7 +189,11 @@ public final class DiskData extends Data {
     close(type);
     final IndexBuilder ib;
     switch(type) {
-      case TEXT: case ATTRIBUTE: case TOKEN: ib = new DiskValuesBuilder(this, type); break;
+      case TEXT: case ATTRIBUTE: case TOKEN:
+        // outdated index without incremental updates: only index appended nodes
+        final int start = meta.stale(type) && !meta.updindex ? meta.stalesize : 0;
+        ib = new DiskValuesBuilder(this, type, start);
+        break;
       case FULLTEXT: ib = new FTBuilder(this); break;
       default: throw Util.notExpected();
     }
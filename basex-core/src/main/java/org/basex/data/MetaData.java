@@ -48,6 +48,15 @@ public final class MetaData {
   /** Indicates if a full-text index exists. */
   public boolean ftindex;
 
+  /** Indicates if an outdated text index can be extended by appended nodes. */
+  public boolean staletext;
+  /** Indicates if an outdated attribute index can be extended by appended nodes. */
+  public boolean staleattr;
+  /** Indicates if an outdated token index can be extended by appended nodes. */
+  public boolean staletoken;
+  /** Number of nodes that are indexed by outdated value indexes. */
+  public int stalesize;
+
   /** Flag for activated automatic index update. */
   public boolean updindex;
   /** Flag for automatic index updating. */
@@ -329,6 +338,21 @@ public final class MetaData {
     }
   }
 
+  /**
+   * Returns if the specified index is outdated and can be extended with the entries of
+   * appended nodes.
+   * @param type index type
+   * @return result of check
+   */
+  public boolean stale(final IndexType type) {
+    switch(type) {
+      case TEXT:      return staletext;
+      case ATTRIBUTE: return staleattr;
+      case TOKEN:     return staletoken;
+      default:        return false;
+    }
+  }
+
   /**
    * Sets availability of the specified index.
    * @param type index type
@@ -336,9 +360,9 @@ public final class MetaData {
    */
   public void index(final IndexType type, final boolean exists) {
     switch(type) {
-      case TEXT:      textindex = exists; break;
-      case ATTRIBUTE: attrindex = exists; break;
-      case TOKEN:     tokenindex = exists; break;
+      case TEXT:      textindex = exists; staletext = false; break;
+      case ATTRIBUTE: attrindex = exists; staleattr = false; break;
+      case TOKEN:     tokenindex = exists; staletoken = false; break;
       case FULLTEXT:  ftindex = exists; break;
       default:        throw Util.notExpected();
     }
@@ -419,6 +443,10 @@ public final class MetaData {
         case DBFTST:     stemming = toBoolean(v); break;
         case DBFTCS:     casesens = toBoolean(v); break;
         case DBUPTODATE: uptodate = toBoolean(v); break;
+        case DBSTLTXT:   staletext = toBoolean(v); break;
+        case DBSTLATV:   staleattr = toBoolean(v); break;
+        case DBSTLTOK:   staletoken = toBoolean(v); break;
+        case DBSTLSIZE:  stalesize = toInt(v); break;
       }
     }
 
@@ -466,6 +494,10 @@ public final class MetaData {
     writeInfo(out, DBMAXLEN,   maxlen);
     writeInfo(out, DBMAXCATS,  maxcats);
     writeInfo(out, DBUPTODATE, uptodate);
+    writeInfo(out, DBSTLTXT,   staletext);
+    writeInfo(out, DBSTLATV,   staleattr);
+    writeInfo(out, DBSTLTOK,   staletoken);
+    writeInfo(out, DBSTLSIZE,  stalesize);
     writeInfo(out, DBLASTID,   lastid);
     if(language != null) writeInfo(out, DBFTLN, language.toString());
     out.write(0);
@@ -475,11 +507,35 @@ public final class MetaData {
    * Notifies the meta structures of an update and invalidates the indexes.
    */
   public void update() {
+    update(false);
+  }
+
+  /**
+   * Notifies the meta structures of an update and invalidates the indexes.
+   * If value indexes are not updated incrementally, and if nodes are only appended,
+   * the outdated value indexes can later be extended with the entries of the new nodes.
+   * @param append indicates if nodes are appended to the end of the database
+   */
+  public void update(final boolean append) {
     // update database timestamp
     time = System.currentTimeMillis();
     uptodate = false;
     dirty = true;
     if(!updindex) {
+      final boolean index = textindex || attrindex || tokenindex;
+      final boolean stale = staletext || staleattr || staletoken;
+      if(!append || index == stale) {
+        // indexes must be rebuilt if other updates take place, or if indexes have different sizes
+        staletext = false;
+        staleattr = false;
+        staletoken = false;
+      } else if(index) {
+        // remember up-to-date indexes
+        staletext = textindex;
+        staleattr = attrindex;
+        staletoken = tokenindex;
+        stalesize = size;
+      }
       textindex = false;
       attrindex = false;
       tokenindex = false;
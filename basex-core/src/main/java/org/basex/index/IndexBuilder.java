@@ -32,8 +32,8 @@ public abstract class IndexBuilder extends Job {
 
   /** Number of index operations to perform before writing a partial index to disk. */
   private final int splitSize;
-  /** Maximum memory to consume. */
-  private final long maxMem = (long) (Runtime.getRuntime().maxMemory() * 0.8);
+  /** Maximum memory to be consumed by the temporary index structures. */
+  private final long budget = (long) (Runtime.getRuntime().maxMemory() * 0.5);
 
   /** Names and namespace uri of element or attributes to include. */
   private final IndexNames includeNames;
@@ -44,8 +44,8 @@ public abstract class IndexBuilder extends Job {
   protected long count;
   /** Number of partial index structures. */
   protected int splits;
-  /** Threshold for freeing memory when estimating main memory consumption. */
-  private int gcCount;
+  /** Number of checks until index splitting is considered to degenerate. */
+  private int degenerate;
 
   /**
    * Constructor.
@@ -59,9 +59,6 @@ public abstract class IndexBuilder extends Job {
     size = data.meta.size;
     includeNames = new IndexNames(type, data);
     text = type == IndexType.TEXT || type == IndexType.FULLTEXT;
-
-    // run garbage collection if memory maximum is already reached
-    if(Performance.memory() >= maxMem) clean();
   }
 
   /**
@@ -92,38 +89,33 @@ public abstract class IndexBuilder extends Job {
   /**
    * Decides whether in-memory temporary index structures are so large
    * that we must flush them to disk before continuing.
+   * If no fixed split size has been specified, the estimated memory consumption of the
+   * structures is compared with a memory budget, which is derived from the maximum heap size.
+   * @param memory estimated memory consumption of the temporary index structures
    * @return true if structures shall be flushed to disk
    * @throws IOException I/O Exception
    */
-  protected final boolean splitRequired() throws IOException {
+  protected final boolean splitRequired(final long memory) throws IOException {
     // checks if a fixed split size has been specified
     final boolean split;
     if(splitSize > 0) {
       split = count >= (splits + 1L) * splitSize;
     } else {
-      // if not, estimate how much main memory is left
-      split = Performance.memory() >= maxMem;
+      split = memory >= budget;
       // stop operation if index splitting degenerates
-      int gc = gcCount;
+      int dg = degenerate;
       if(split) {
-        if(gc >= 0) throw new BaseXException(OUT_OF_MEM + H_OUT_OF_MEM);
-        gc = 30;
+        if(dg >= 0) throw new BaseXException(OUT_OF_MEM + H_OUT_OF_MEM);
+        dg = 30;
       } else {
-        gc = Math.max(-1, gc - 1);
+        dg = Math.max(-1, dg - 1);
       }
-      gcCount = gc;
+      degenerate = dg;
     }
     if(split && Prop.debug) Util.err("|");
     return split;
   }
 
-  /**
-   * Performs memory cleanup after writing partial memory if necessary.
-   */
-  protected final void clean() {
-    if(splitSize <= 0) Performance.gc(2);
-  }
-
   /**
    * Prints some final debugging information.
    */
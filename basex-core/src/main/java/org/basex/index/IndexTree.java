@@ -15,6 +15,10 @@ import org.basex.util.list.*;
 public class IndexTree {
   /** Factor for resize. */
   protected static final double FACTOR = 1.2;
+  /** Estimated memory overhead of an array. */
+  protected static final int ARRAY = 16;
+  /** Estimated memory consumption of a tree node or map entry, excluding the arrays. */
+  private static final int NODE = 48;
 
   /** Keys saved in the tree. */
   public final TokenList keys = new TokenList(FACTOR);
@@ -34,6 +38,10 @@ public class IndexTree {
   private final boolean tokenize;
   /** Tree root node. */
   private int root = -1;
+  /** Estimated memory consumption of the keys and the tree structure. */
+  private long keyMemory;
+  /** Estimated memory consumption of the id lists and mappings. */
+  protected long idMemory;
 
   /**
    * Constructor.
@@ -80,6 +88,7 @@ public class IndexTree {
           final int i = maps.get(Num.num(n));
           if(i < 0) {
             maps.put(Num.num(n), ids.size());
+            idMemory += NODE;
             addNewIds(id, pos);
           } else {
             addIds(id, pos, i);
@@ -111,6 +120,14 @@ public class IndexTree {
     return ids.size();
   }
 
+  /**
+   * Returns the estimated memory consumption of the tree.
+   * @return number of bytes
+   */
+  public final long memory() {
+    return keyMemory + idMemory;
+  }
+
   /**
    * Initializes the index iterator.
    * will be removed to save memory.
@@ -160,6 +177,7 @@ public class IndexTree {
     byte[] vs = Num.newNum(id);
     if(tokenize) vs = Num.add(vs, pos);
     ids.add(vs);
+    idMemory += ARRAY + vs.length;
   }
 
   /**
@@ -169,10 +187,11 @@ public class IndexTree {
    * @param n id list to append to
    */
   private void addIds(final int id, final int pos, final int n) {
-    byte[] vs = ids.get(n);
-    vs = Num.add(vs, id);
+    final byte[] old = ids.get(n);
+    byte[] vs = Num.add(old, id);
     if(tokenize) vs = Num.add(vs, pos);
     ids.set(n, vs);
+    idMemory += vs.length - old.length;
   }
 
   /**
@@ -192,8 +211,12 @@ public class IndexTree {
     tree.add(par); // parent node
     mod.add(false);
     keys.add(key);
+    keyMemory += ARRAY + key.length + NODE;
     addNewIds(id, pos);
-    if(!exist) maps.put(Num.num(keys.size() - 1), ids.size() - 1);
+    if(!exist) {
+      maps.put(Num.num(keys.size() - 1), ids.size() - 1);
+      idMemory += NODE;
+    }
     return mod.size() - 1;
   }
 
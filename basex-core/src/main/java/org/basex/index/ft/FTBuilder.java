@@ -71,11 +71,8 @@ public final class FTBuilder extends IndexBuilder {
           ++pos;
           // skip too long and stopword tokens
           if(token.length <= data.meta.maxlen && !sw.contains(token)) {
-            // check if main memory is exhausted
-            if((ntok++ & 0xFFFF) == 0 && splitRequired()) {
-              writeIndex(true);
-              clean();
-            }
+            // check if memory budget is exhausted
+            if((ntok++ & 0xFFFF) == 0 && splitRequired(tree.memory())) writeIndex(true);
             tree.index(token, pre, pos, splits);
             count++;
           }
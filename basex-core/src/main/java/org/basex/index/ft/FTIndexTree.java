@@ -46,13 +46,17 @@ final class FTIndexTree extends IndexTree {
     if(os == keys.size()) {
       final int i = index > 0 ? maps.get(Num.num(n)) : n;
       if(poss.size() > i && poss.get(i) != null) {
-        poss.set(i, Num.add(poss.get(i), pos));
+        final byte[] old = poss.get(i), ps = Num.add(old, pos);
+        poss.set(i, ps);
         numpre.set(i, numpre.get(i) + 1);
+        idMemory += ps.length - old.length;
         return;
       }
     }
-    poss.add(Num.newNum(pos));
+    final byte[] ps = Num.newNum(pos);
+    poss.add(ps);
     numpre.add(1);
+    idMemory += ARRAY + ps.length + 4;
   }
 
   /**
@@ -63,6 +67,7 @@ final class FTIndexTree extends IndexTree {
     ids = new TokenList(FACTOR);
     numpre = new IntList(FACTOR);
     maps = new TokenIntMap();
+    idMemory = 0;
   }
 
   /**
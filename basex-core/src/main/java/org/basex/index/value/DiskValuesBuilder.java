@@ -6,6 +6,7 @@ import java.io.*;
 
 import org.basex.data.*;
 import org.basex.index.*;
+import org.basex.io.*;
 import org.basex.io.out.DataOutput;
 import org.basex.io.random.*;
 import org.basex.util.*;
@@ -32,6 +33,8 @@ import org.basex.util.list.*;
  * @author Christian Gruen
  */
 public final class DiskValuesBuilder extends ValuesBuilder {
+  /** First pre value to be indexed. */
+  private final int start;
   /** Temporary value tree. */
   private IndexTree index;
 
@@ -41,7 +44,19 @@ public final class DiskValuesBuilder extends ValuesBuilder {
    * @param type index type
    */
   public DiskValuesBuilder(final Data data, final IndexType type) {
+    this(data, type, 0);
+  }
+
+  /**
+   * Constructor. If the first pre value is larger than 0, the entries of the following nodes
+   * will be merged with the existing index, which must have been built without updates.
+   * @param data data reference
+   * @param type index type
+   * @param start first pre value to be indexed
+   */
+  public DiskValuesBuilder(final Data data, final IndexType type, final int start) {
     super(data, type);
+    this.start = start;
     index = new IndexTree(type);
   }
 
@@ -51,7 +66,7 @@ public final class DiskValuesBuilder extends ValuesBuilder {
 
     try {
       final boolean updindex = data.meta.updindex;
-      for(pre = 0; pre < size; ++pre) {
+      for(pre = start; pre < size; ++pre) {
         if((pre & 0x0FFF) == 0) check();
         if(indexEntry()) {
           final int id = updindex ? data.id(pre) : pre;
@@ -68,11 +83,17 @@ public final class DiskValuesBuilder extends ValuesBuilder {
         }
       }
 
-      writeIndex(splits > 0);
-      if(splits > 1) {
+      if(start > 0) {
+        // merge new entries with existing index
+        writeIndex(true);
         index = null;
-        clean();
-        merge();
+        merge(true);
+      } else {
+        writeIndex(splits > 0);
+        if(splits > 1) {
+          index = null;
+          merge(false);
+        }
       }
 
       finishIndex();
@@ -81,6 +102,7 @@ public final class DiskValuesBuilder extends ValuesBuilder {
     } catch(final Throwable th) {
       // drop index files
       data.meta.drop(DiskValues.fileSuffix(type) + ".+");
+      data.meta.index(type, false);
       throw th;
     }
   }
@@ -88,20 +110,34 @@ public final class DiskValuesBuilder extends ValuesBuilder {
   @Override
   protected void check() throws IOException {
     super.check();
-    // check if main memory is exhausted
-    if(splitRequired()) {
+    // check if memory budget is exhausted
+    if(splitRequired(index.memory())) {
       writeIndex(true);
       index = new IndexTree(type);
-      clean();
     }
   }
 
   /**
    * Merges cached index files.
+   * @param extend merge existing index
    * @throws IOException I/O exception
    */
-  private void merge() throws IOException {
+  private void merge(final boolean extend) throws IOException {
     final String f = DiskValues.fileSuffix(type);
+    final int ms = extend ? splits + 1 : splits;
+    final DiskValuesMerger[] vm = new DiskValuesMerger[ms];
+    if(extend) {
+      // existing index: move files, treat as additional input
+      final String pref = f + splits;
+      for(final char c : new char[] { 'l', 'r' }) {
+        final IOFile file = data.meta.dbFile(f + c);
+        if(!file.rename(data.meta.dbFile(pref + c))) {
+          throw new IOException(Util.info("%: could not rename file.", file));
+        }
+      }
+      vm[splits] = new DiskValuesMerger(data, type, pref, false);
+    }
+
     int entries = 0;
     try(DataOutput outL = new DataOutput(data.meta.dbFile(f + 'l'));
         DataOutput outR = new DataOutput(data.meta.dbFile(f + 'r'))) {
@@ -110,7 +146,6 @@ public final class DiskValuesBuilder extends ValuesBuilder {
       // initialize cached index iterators
       final IntList ml = new IntList();
       final IntList id = new IntList(), pos = tokenize ? new IntList() : null;
-      final DiskValuesMerger[] vm = new DiskValuesMerger[splits];
       for(int i = 0; i < splits; ++i) vm[i] = new DiskValuesMerger(data, type, i);
 
       // parse through all values
@@ -119,12 +154,12 @@ public final class DiskValuesBuilder extends ValuesBuilder {
 
         // find first index which has not completely been parsed yet
         int min = -1;
-        while(++min < splits && vm[min].values.length == 0);
-        if(min == splits) break;
+        while(++min < ms && vm[min].values.length == 0);
+        if(min == ms) break;
 
         // find index entry with smallest key
         ml.reset();
-        for(int i = min; i < splits; ++i) {
+        for(int i = min; i < ms; ++i) {
           if(vm[i].values.length == 0) continue;
           final int d = diff(vm[min].key, vm[i].key);
           if(d < 0) continue;
@@ -136,18 +171,10 @@ public final class DiskValuesBuilder extends ValuesBuilder {
         }
 
         // parse through all values, cache and sort id values
-        final int ms = ml.size();
-        for(int m = 0; m < ms; ++m) {
+        final int mls = ml.size();
+        for(int m = 0; m < mls; ++m) {
           final DiskValuesMerger t = vm[ml.get(m)];
-          final byte[] values = t.values;
-          final int vl = values.length;
-          for(int l = 4; l < vl; l += Num.length(values, l)) {
-            id.add(Num.get(values, l));
-            if(pos != null) {
-              l += Num.length(values, l);
-              pos.add(Num.get(values, l));
-            }
-          }
+          t.add(id, pos);
           t.next();
         }
         // write final structure to disk
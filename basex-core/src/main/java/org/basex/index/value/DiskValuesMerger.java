@@ -7,6 +7,8 @@ import java.io.*;
 import org.basex.data.*;
 import org.basex.index.*;
 import org.basex.io.in.DataInput;
+import org.basex.util.*;
+import org.basex.util.list.*;
 
 /**
  * This class provides data for merging temporary value indexes.
@@ -17,12 +19,14 @@ import org.basex.io.in.DataInput;
 final class DiskValuesMerger {
   /** Index instance. */
   private final DiskValues dv;
-  /** Index keys. */
+  /** Index keys ({@code null} if the keys are retrieved from the database). */
   private final DataInput dk;
   /** File prefix. */
   private final String pref;
   /** Data reference. */
   private final Data data;
+  /** Index type. */
+  private final IndexType type;
 
   /** Current key. */
   byte[] key;
@@ -30,17 +34,31 @@ final class DiskValuesMerger {
   byte[] values;
 
   /**
-   * Constructor.
+   * Constructor for a temporary index.
    * @param data data reference
    * @param type index type
    * @param i merge id
    * @throws IOException I/O exception
    */
   DiskValuesMerger(final Data data, final IndexType type, final int i) throws IOException {
-    pref = DiskValues.fileSuffix(type) + i;
-    dk = new DataInput(data.meta.dbFile(pref + 't'));
-    dv = new DiskValues(data, type, pref);
+    this(data, type, DiskValues.fileSuffix(type) + i, true);
+  }
+
+  /**
+   * Constructor.
+   * @param data data reference
+   * @param type index type
+   * @param pref file prefix
+   * @param temp temporary index (otherwise, an existing index will be merged)
+   * @throws IOException I/O exception
+   */
+  DiskValuesMerger(final Data data, final IndexType type, final String pref, final boolean temp)
+      throws IOException {
+    this.pref = pref;
     this.data = data;
+    this.type = type;
+    dk = temp ? new DataInput(data.meta.dbFile(pref + 't')) : null;
+    dv = new DiskValues(data, type, pref);
     next();
   }
 
@@ -49,16 +67,32 @@ final class DiskValuesMerger {
    * @throws IOException I/O exception
    */
   void next() throws IOException {
-    values = nextValues();
+    values = dk != null ? nextValues() : nextEntry();
     if(values.length == 0) {
       dv.close();
-      dk.close();
+      if(dk != null) dk.close();
       data.meta.drop(pref + '.');
-    } else {
+    } else if(dk != null) {
       key = dk.readToken();
     }
   }
 
+  /**
+   * Adds the ids and positions of the current values to the specified lists.
+   * @param ids ids
+   * @param pos positions (can be {@code null})
+   */
+  void add(final IntList ids, final IntList pos) {
+    final int vl = Num.size(values);
+    for(int l = 4; l < vl; l += Num.length(values, l)) {
+      ids.add(Num.get(values, l));
+      if(pos != null) {
+        l += Num.length(values, l);
+        pos.add(Num.get(values, l));
+      }
+    }
+  }
+
   /**
    * Returns next values. Called by the {@link DiskValuesBuilder}.
    * @return compressed values
@@ -67,4 +101,31 @@ final class DiskValuesMerger {
     return dv.idxr.cursor() >= dv.idxr.length() ? EMPTY :
       dv.idxl.readBytes(dv.idxr.read5(), dv.idxl.read4());
   }
+
+  /**
+   * Returns the next entry of an existing index, and assigns its key.
+   * The returned values have the same format as the values of temporary indexes.
+   * @return compressed values
+   */
+  private byte[] nextEntry() {
+    if(dv.idxr.cursor() >= dv.idxr.length()) return EMPTY;
+
+    final boolean tokenize = type == IndexType.TOKEN;
+    final int count = dv.idxl.readNum(dv.idxr.read5());
+    byte[] vs = null;
+    for(int c = 0, id = 0; c < count; c++) {
+      id += dv.idxl.readNum();
+      final int p = tokenize ? dv.idxl.readNum() : 0;
+      if(vs == null) {
+        // retrieve key from the database (ids of indexes without updates are pre values)
+        final byte[] text = data.text(id, type == IndexType.TEXT);
+        key = tokenize ? distinctTokens(text)[p] : text;
+        vs = Num.newNum(id);
+      } else {
+        vs = Num.add(vs, id);
+      }
+      if(tokenize) vs = Num.add(vs, p);
+    }
+    return vs;
+  }
 }
@@ -1,6 +1,8 @@
 package org.basex.io;
 
 import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.zip.*;
 
 import org.basex.core.jobs.*;
@@ -24,7 +26,7 @@ public final class Zip extends Job {
 
   /**
    * Constructor.
-   * @param file archive file
+   * @param file archive file (can be {@code null} if files are only zipped to streams)
    */
   public Zip(final IO file) {
     this.file = file;
@@ -79,31 +81,104 @@ public final class Zip extends Job {
     }
   }
 
+  /**
+   * Unzips the archive to the specified directory. The entries of archive files are
+   * extracted in parallel, starting with the largest ones.
+   * @param target target path
+   * @param threads number of threads (0: number of processors)
+   * @throws IOException I/O exception
+   */
+  public void unzip(final IOFile target, final int threads) throws IOException {
+    if(!(file instanceof IOFile)) {
+      unzip(target);
+      return;
+    }
+
+    try(ZipFile zf = new ZipFile(((IOFile) file).file())) {
+      final ArrayList<ZipEntry> entries = new ArrayList<>();
+      for(final Enumeration<? extends ZipEntry> en = zf.entries(); en.hasMoreElements();) {
+        final ZipEntry ze = en.nextElement();
+        final IOFile trg = new IOFile(target, ze.getName());
+        if(ze.isDirectory()) {
+          trg.md();
+        } else {
+          trg.parent().md();
+          entries.add(ze);
+        }
+      }
+      entries.sort((ze1, ze2) -> Long.compare(ze2.getSize(), ze1.getSize()));
+      total = entries.size();
+      curr = 0;
+
+      final ExecutorService pool = Executors.newFixedThreadPool(threads(threads));
+      try {
+        final ArrayList<Future<Void>> futures = new ArrayList<>(total);
+        for(final ZipEntry ze : entries) {
+          final File trg = new IOFile(target, ze.getName()).file();
+          futures.add(pool.submit(() -> {
+            final byte[] data = new byte[IO.BLOCKSIZE];
+            try(InputStream in = zf.getInputStream(ze);
+                FileOutputStream out = new FileOutputStream(trg)) {
+              for(int c; (c = in.read(data)) != -1;) out.write(data, 0, c);
+            }
+            return null;
+          }));
+        }
+        for(final Future<Void> future : futures) {
+          future.get();
+          curr++;
+        }
+      } catch(final ExecutionException ex) {
+        final Throwable th = ex.getCause();
+        if(th instanceof RuntimeException) throw (RuntimeException) th;
+        throw th instanceof IOException ? (IOException) th : new IOException(th);
+      } catch(final InterruptedException ex) {
+        throw new IOException(ex);
+      } finally {
+        pool.shutdownNow();
+      }
+    }
+  }
+
   /**
    * Zips the specified files.
    * @param root root directory
    * @param files files to add
+   * @param level compression level (0-9)
+   * @param threads number of threads (0: number of processors)
    * @throws IOException I/O exception
    */
-  public void zip(final IOFile root, final StringList files) throws IOException {
+  public void zip(final IOFile root, final StringList files, final int level, final int threads)
+      throws IOException {
     if(!(file instanceof IOFile)) throw new FileNotFoundException(file.path());
 
+    try(BufferOutput out = new BufferOutput((IOFile) file)) {
+      zip(root, files, out, level, threads);
+    }
+  }
+
+  /**
+   * Zips the specified files and writes the archive to the specified stream.
+   * The stream will not be closed. Files are split into blocks, which are compressed in parallel.
+   * @param root root directory
+   * @param files files to add
+   * @param output output stream
+   * @param level compression level (0-9)
+   * @param threads number of threads (0: number of processors)
+   * @throws IOException I/O exception
+   */
+  public void zip(final IOFile root, final StringList files, final OutputStream output,
+      final int level, final int threads) throws IOException {
+
     curr = 0;
-    try(ZipOutputStream out = new ZipOutputStream(new BufferOutput((IOFile) file))) {
-      // use simple, fast compression
-      out.setLevel(1);
-      // loop through all files
-      total = files.size();
-      final byte[] data = new byte[IO.BLOCKSIZE];
+    total = files.size();
+    try(ZipOutput out = new ZipOutput(output, level, threads(threads))) {
       for(final String f : files) {
         curr++;
-        try(FileInputStream in = new FileInputStream(new File(root.file(), f))) {
-          final String fl = Prop.WIN ? f.replace('\\', '/') : f;
-          out.putNextEntry(new ZipEntry(root.name() + '/' + fl));
-          for(int c; (c = in.read(data)) != -1;) out.write(data, 0, c);
-          out.closeEntry();
-        }
+        final String fl = Prop.WIN ? f.replace('\\', '/') : f;
+        out.add(root.name() + '/' + fl, new File(root.file(), f));
       }
+      out.finish();
     }
   }
 
@@ -138,4 +213,13 @@ public final class Zip extends Job {
     }
     return null;
   }
+
+  /**
+   * Returns the number of threads to be used.
+   * @param threads number of threads (0: number of processors)
+   * @return number of threads
+   */
+  private static int threads(final int threads) {
+    return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+  }
 }
@@ -0,0 +1,372 @@
+package org.basex.io;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.*;
+
+import org.basex.util.list.*;
+
+/**
+ * Writes ZIP archives and compresses the added files in parallel.
+ *
+ * Files are split into blocks, which are compressed by multiple threads. All blocks of a file
+ * are combined to a single deflate stream: each block except for the last one is terminated
+ * with a sync flush, and the last 32 KB of the preceding block are used as preset dictionary.
+ * The resulting archives can be read by all standard ZIP tools. Large files and archives are
+ * stored in the ZIP64 format.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+final class ZipOutput implements Closeable {
+  /** Size of a block. */
+  private static final int BLOCK = 1 << 20;
+  /** Size of the deflate window. */
+  private static final int WINDOW = 1 << 15;
+  /** Maximum number of compressed blocks per thread that wait to be written. */
+  private static final int PENDING = 2;
+  /** Maximum value of 16-bit fields. */
+  private static final int MAX16 = 0xFFFF;
+  /** Maximum value of 32-bit fields. */
+  private static final long MAX32 = 0xFFFFFFFFL;
+
+  /** Output stream (will not be closed). */
+  private final OutputStream out;
+  /** Compression level. */
+  private final int level;
+  /** Thread pool. */
+  private final ExecutorService pool;
+  /** Maximum number of pending blocks. */
+  private final int pending;
+  /** Blocks that wait to be written. */
+  private final ArrayDeque<Block> blocks = new ArrayDeque<>();
+  /** Archive entries. */
+  private final ArrayList<Entry> entries = new ArrayList<>();
+  /** Number of written bytes. */
+  private long written;
+
+  /**
+   * Constructor.
+   * @param out output stream (will not be closed)
+   * @param level compression level (0-9)
+   * @param threads number of threads
+   */
+  ZipOutput(final OutputStream out, final int level, final int threads) {
+    this.out = out;
+    this.level = Math.max(0, Math.min(9, level));
+    pool = Executors.newFixedThreadPool(threads);
+    pending = threads * PENDING;
+  }
+
+  /**
+   * Adds a file to the archive.
+   * @param name name of the archive entry
+   * @param file file to be added
+   * @throws IOException I/O exception
+   */
+  void add(final String name, final File file) throws IOException {
+    final Entry entry = new Entry(name, file.lastModified());
+    final CRC32 crc = new CRC32();
+    try(FileInputStream in = new FileInputStream(file)) {
+      byte[] block = read(in), dict = null;
+      boolean first = true, last;
+      do {
+        // a block is the last one if it is incomplete, or if no more bytes follow
+        final byte[] next = block.length < BLOCK ? null : read(in);
+        last = next == null || next.length == 0;
+        crc.update(block, 0, block.length);
+        entry.size += block.length;
+        if(last) entry.crc = crc.getValue();
+
+        final byte[] input = block, preset = dict;
+        final boolean finish = last;
+        blocks.add(new Block(entry, pool.submit(() -> deflate(input, preset, finish)), first,
+            last));
+        while(blocks.size() > pending) write(blocks.poll());
+
+        dict = block;
+        block = next;
+        first = false;
+      } while(!last);
+    }
+  }
+
+  /**
+   * Writes all pending blocks and the central directory. The output stream will not be closed.
+   * @throws IOException I/O exception
+   */
+  void finish() throws IOException {
+    while(!blocks.isEmpty()) write(blocks.poll());
+
+    final long offset = written;
+    for(final Entry entry : entries) {
+      final boolean size64 = entry.size >= MAX32, csize64 = entry.csize >= MAX32;
+      final boolean offset64 = entry.offset >= MAX32;
+      final int extra = (size64 ? 8 : 0) + (csize64 ? 8 : 0) + (offset64 ? 8 : 0);
+      final int version = extra > 0 ? 45 : 20;
+      writeInt(0x02014b50);
+      writeShort(version);
+      writeShort(version);
+      writeEntry(entry);
+      writeInt(entry.crc);
+      writeInt(csize64 ? MAX32 : entry.csize);
+      writeInt(size64 ? MAX32 : entry.size);
+      writeShort(entry.name.length);
+      writeShort(extra > 0 ? extra + 4 : 0);
+      // comment length, disk number, internal and external attributes
+      writeShort(0);
+      writeShort(0);
+      writeShort(0);
+      writeInt(0);
+      writeInt(offset64 ? MAX32 : entry.offset);
+      write(entry.name);
+      if(extra > 0) {
+        writeShort(0x0001);
+        writeShort(extra);
+        if(size64) writeLong(entry.size);
+        if(csize64) writeLong(entry.csize);
+        if(offset64) writeLong(entry.offset);
+      }
+    }
+
+    final long length = written - offset;
+    final int size = entries.size();
+    if(size >= MAX16 || length >= MAX32 || offset >= MAX32) {
+      // ZIP64 end of central directory record and locator
+      final long end = written;
+      writeInt(0x06064b50);
+      writeLong(44);
+      writeShort(45);
+      writeShort(45);
+      writeInt(0);
+      writeInt(0);
+      writeLong(size);
+      writeLong(size);
+      writeLong(length);
+      writeLong(offset);
+      writeInt(0x07064b50);
+      writeInt(0);
+      writeLong(end);
+      writeInt(1);
+    }
+    writeInt(0x06054b50);
+    writeShort(0);
+    writeShort(0);
+    writeShort(Math.min(size, MAX16));
+    writeShort(Math.min(size, MAX16));
+    writeInt(Math.min(length, MAX32));
+    writeInt(Math.min(offset, MAX32));
+    writeShort(0);
+    out.flush();
+  }
+
+  @Override
+  public void close() {
+    pool.shutdownNow();
+  }
+
+  /**
+   * Writes a compressed block, preceded by the local file header of its entry or followed by
+   * the data descriptor.
+   * @param block block
+   * @throws IOException I/O exception
+   */
+  private void write(final Block block) throws IOException {
+    final byte[] data;
+    try {
+      data = block.data.get();
+    } catch(final ExecutionException ex) {
+      final Throwable th = ex.getCause();
+      if(th instanceof RuntimeException) throw (RuntimeException) th;
+      throw th instanceof IOException ? (IOException) th : new IOException(th);
+    } catch(final InterruptedException ex) {
+      throw new IOException(ex);
+    }
+
+    final Entry entry = block.entry;
+    if(block.first) {
+      entry.offset = written;
+      entries.add(entry);
+      // sizes and checksum are stored in the data descriptor
+      writeInt(0x04034b50);
+      writeShort(20);
+      writeEntry(entry);
+      writeInt(0);
+      writeInt(0);
+      writeInt(0);
+      writeShort(entry.name.length);
+      writeShort(0);
+      write(entry.name);
+    }
+    write(data);
+    entry.csize += data.length;
+    if(block.last) {
+      writeInt(0x08074b50);
+      writeInt(entry.crc);
+      if(entry.size >= MAX32 || entry.csize >= MAX32) {
+        writeLong(entry.csize);
+        writeLong(entry.size);
+      } else {
+        writeInt(entry.csize);
+        writeInt(entry.size);
+      }
+    }
+  }
+
+  /**
+   * Compresses a block.
+   * @param block block to be compressed
+   * @param dict preceding block (can be {@code null})
+   * @param last last block
+   * @return compressed data
+   */
+  private byte[] deflate(final byte[] block, final byte[] dict, final boolean last) {
+    final Deflater def = new Deflater(level, true);
+    try {
+      if(dict != null) def.setDictionary(dict, dict.length - WINDOW, WINDOW);
+      def.setInput(block);
+      final ByteList bl = new ByteList(Math.max(block.length >>> 1, IO.BLOCKSIZE));
+      final byte[] buffer = new byte[IO.BLOCKSIZE];
+      if(last) {
+        def.finish();
+        while(!def.finished()) bl.add(buffer, 0, def.deflate(buffer));
+      } else {
+        // output buffer was filled completely: more output may follow
+        for(int c = buffer.length; c == buffer.length;) {
+          c = def.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+          bl.add(buffer, 0, c);
+        }
+      }
+      return bl.finish();
+    } finally {
+      def.end();
+    }
+  }
+
+  /**
+   * Reads the next block from the specified stream.
+   * @param in input stream
+   * @return block (smaller than the block size if the end of the stream has been reached)
+   * @throws IOException I/O exception
+   */
+  private static byte[] read(final InputStream in) throws IOException {
+    final byte[] block = new byte[BLOCK];
+    int o = 0;
+    for(int c; o < BLOCK && (c = in.read(block, o, BLOCK - o)) != -1;) o += c;
+    return o == BLOCK ? block : Arrays.copyOf(block, o);
+  }
+
+  /**
+   * Writes the entry fields that are shared by local and central headers:
+   * flags (data descriptor, UTF-8 names), compression method and modification time.
+   * @param entry entry
+   * @throws IOException I/O exception
+   */
+  private void writeEntry(final Entry entry) throws IOException {
+    writeShort(0x0808);
+    writeShort(ZipEntry.DEFLATED);
+    writeInt(entry.time);
+  }
+
+  /**
+   * Writes a 16-bit value.
+   * @param v value
+   * @throws IOException I/O exception
+   */
+  private void writeShort(final int v) throws IOException {
+    out.write(v);
+    out.write(v >>> 8);
+    written += 2;
+  }
+
+  /**
+   * Writes a 32-bit value.
+   * @param v value
+   * @throws IOException I/O exception
+   */
+  private void writeInt(final long v) throws IOException {
+    writeShort((int) v & MAX16);
+    writeShort((int) (v >>> 16) & MAX16);
+  }
+
+  /**
+   * Writes a 64-bit value.
+   * @param v value
+   * @throws IOException I/O exception
+   */
+  private void writeLong(final long v) throws IOException {
+    writeInt(v & MAX32);
+    writeInt(v >>> 32);
+  }
+
+  /**
+   * Writes bytes.
+   * @param bytes bytes
+   * @throws IOException I/O exception
+   */
+  private void write(final byte[] bytes) throws IOException {
+    out.write(bytes);
+    written += bytes.length;
+  }
+
+  /** Archive entry. */
+  private static final class Entry {
+    /** Name (UTF-8). */
+    private final byte[] name;
+    /** Modification time (MS-DOS format). */
+    private final long time;
+    /** Uncompressed size. */
+    private long size;
+    /** Compressed size. */
+    private long csize;
+    /** Checksum. */
+    private long crc;
+    /** Offset of the local file header. */
+    private long offset;
+
+    /**
+     * Constructor.
+     * @param name name
+     * @param modified time of last modification
+     */
+    private Entry(final String name, final long modified) {
+      this.name = name.getBytes(StandardCharsets.UTF_8);
+      final Calendar cal = Calendar.getInstance();
+      cal.setTimeInMillis(modified);
+      final int year = cal.get(Calendar.YEAR);
+      time = year < 1980 ? 0x00210000L :
+        (long) (year - 1980) << 25 | (cal.get(Calendar.MONTH) + 1) << 21 |
+        cal.get(Calendar.DAY_OF_MONTH) << 16 | cal.get(Calendar.HOUR_OF_DAY) << 11 |
+        cal.get(Calendar.MINUTE) << 5 | cal.get(Calendar.SECOND) >> 1;
+    }
+  }
+
+  /** Compressed block. */
+  private static final class Block {
+    /** Entry. */
+    private final Entry entry;
+    /** Compressed data. */
+    private final Future<byte[]> data;
+    /** First block of the entry. */
+    private final boolean first;
+    /** Last block of the entry. */
+    private final boolean last;
+
+    /**
+     * Constructor.
+     * @param entry entry
+     * @param data compressed data
+     * @param first first block of the entry
+     * @param last last block of the entry
+     */
+    private Block(final Entry entry, final Future<byte[]> data, final boolean first,
+        final boolean last) {
+      this.entry = entry;
+      this.data = data;
+      this.first = first;
+      this.last = last;
+    }
+  }
+}
@@ -162,6 +162,11 @@ public class BufferInput extends InputStream {
     if(in != null && !(in instanceof FilterInputStream)) in.close();
   }
 
+  @Override
+  public int available() throws IOException {
+    return bsize - bpos + (in != null ? in.available() : 0);
+  }
+
   /**
    * Returns the number of read bytes.
    * @return read bytes
@@ -65,6 +65,11 @@ public final class NewlineInput extends TextInput {
     return '\n';
   }
 
+  @Override
+  int copy(final TokenBuilder tb, final boolean[] stop) {
+    return next == -2 ? super.copy(tb, stop) : -1;
+  }
+
   /**
    * Reads and returns a single line.
    * @return line or {@code null}
@@ -136,6 +136,28 @@ public class TextInput extends BufferInput {
     return cp;
   }
 
+  /**
+   * Copies ASCII characters from the input buffer to the specified token builder, bypassing the
+   * decoder. Copying stops at the end of the buffer, at the first non-ASCII character and at the
+   * first character that is flagged in the specified table.
+   * @param tb token builder
+   * @param stop characters that stop copying (128 entries)
+   * @return number of copied newlines, or {@code -1} if no characters were copied
+   */
+  int copy(final TokenBuilder tb, final boolean[] stop) {
+    if(decoder.encoding != UTF8) return -1;
+    final byte[] buf = array;
+    final int s = bpos, e = bsize;
+    int p = s, nl = 0;
+    for(byte b; p < e && (b = buf[p]) >= 0 && !stop[b]; p++) {
+      if(b == '\n') nl++;
+    }
+    if(p == s) return -1;
+    tb.add(buf, s, p);
+    bpos = p;
+    return nl;
+  }
+
   @Override
   public final byte[] content() throws IOException {
     return cache().finish();
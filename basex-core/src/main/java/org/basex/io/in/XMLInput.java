@@ -72,6 +72,23 @@ public class XMLInput extends InputStream {
     return ch;
   }
 
+  /**
+   * Copies a sequence of ASCII characters from the input buffer to the specified token builder.
+   * This fast path is only taken if the input is UTF-8 encoded, if no characters have been pushed
+   * back, and if no entity is being read. The copied characters cannot be pushed back.
+   * @param tb token builder
+   * @param stop characters that stop copying (128 entries; control characters other than tab and
+   *   newline must be included)
+   * @return {@code true} if characters were copied
+   */
+  public boolean copy(final TokenBuilder tb, final boolean[] stop) {
+    if(pp != 0 || ip != 0) return false;
+    final int nl = inputs[0].copy(tb, stop);
+    if(nl == -1) return false;
+    line += nl;
+    return true;
+  }
+
   /**
    * Inserts some bytes in the input stream.
    * @param value values to insert
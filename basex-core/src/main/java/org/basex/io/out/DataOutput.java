@@ -44,7 +44,19 @@ public final class DataOutput extends OutputStream {
    * @throws IOException I/O exception
    */
   public DataOutput(final IOFile input, final int bufsize) throws IOException {
-    out = new BufferOutput(input.outputStream(), bufsize);
+    this(input, bufsize, 0);
+  }
+
+  /**
+   * Constructor, specifying a file, a buffer size and a synchronization interval.
+   * @param input input to be read
+   * @param bufsize size of the buffer to use
+   * @param sync number of bytes after which the data will be forced to the storage device
+   *   (no synchronization if {@code 0})
+   * @throws IOException I/O exception
+   */
+  public DataOutput(final IOFile input, final int bufsize, final long sync) throws IOException {
+    out = new BufferOutput(SyncOutput.get(input, sync), bufsize);
   }
 
   @Override
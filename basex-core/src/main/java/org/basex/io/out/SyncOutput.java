@@ -0,0 +1,74 @@
+package org.basex.io.out;
+
+import java.io.*;
+
+import org.basex.io.*;
+
+/**
+ * This class writes a file and regularly forces the written data to the storage device.
+ * It limits the amount of modified data that is kept in the page cache of the operating system
+ * when large files are written.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class SyncOutput extends FileOutputStream {
+  /** Number of bytes after which the data will be forced to the storage device. */
+  private final long sync;
+  /** Number of bytes written since the last synchronization. */
+  private long written;
+
+  /**
+   * Constructor.
+   * @param file file to be written
+   * @param sync number of bytes after which the data will be forced to the storage device
+   * @throws IOException I/O exception
+   */
+  public SyncOutput(final IOFile file, final long sync) throws IOException {
+    super(file.file());
+    this.sync = sync;
+  }
+
+  /**
+   * Returns an output stream for the specified file.
+   * @param file file to be written
+   * @param sync number of bytes after which the data will be forced to the storage device
+   *   (no synchronization if {@code 0})
+   * @return output stream
+   * @throws IOException I/O exception
+   */
+  public static FileOutputStream get(final IOFile file, final long sync) throws IOException {
+    return sync > 0 ? new SyncOutput(file, sync) : file.outputStream();
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    super.write(b);
+    written(1);
+  }
+
+  @Override
+  public void write(final byte[] b) throws IOException {
+    super.write(b);
+    written(b.length);
+  }
+
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    super.write(b, off, len);
+    written(len);
+  }
+
+  /**
+   * Counts the written bytes and synchronizes the file if necessary.
+   * @param bytes number of written bytes
+   * @throws IOException I/O exception
+   */
+  private void written(final int bytes) throws IOException {
+    written += bytes;
+    if(written >= sync) {
+      getChannel().force(false);
+      written = 0;
+    }
+  }
+}
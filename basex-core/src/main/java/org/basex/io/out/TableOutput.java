@@ -36,7 +36,23 @@ public final class TableOutput extends OutputStream {
    * @throws IOException I/O exception
    */
   public TableOutput(final MetaData md, final String fn) throws IOException {
-    os = md.dbFile(fn).outputStream();
+    this(md, fn, IO.BLOCKSIZE, 0);
+  }
+
+  /**
+   * Initializes the output.
+   * The database suffix will be added to all filenames.
+   * @param md meta data
+   * @param fn the file to be written to
+   * @param bufsize size of the output buffer
+   * @param sync number of bytes after which the data will be forced to the storage device
+   *   (no synchronization if {@code 0})
+   * @throws IOException I/O exception
+   */
+  public TableOutput(final MetaData md, final String fn, final int bufsize, final long sync)
+      throws IOException {
+    final OutputStream out = SyncOutput.get(md.dbFile(fn), sync);
+    os = bufsize > IO.BLOCKSIZE ? new BufferOutput(out, bufsize) : out;
     meta = md;
     file = fn;
   }
@@ -0,0 +1,247 @@
+package org.basex.io.parse.csv;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.basex.build.csv.*;
+import org.basex.io.*;
+import org.basex.io.in.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * Parses large CSV inputs in parallel. The input is split into chunks that end with a newline
+ * outside quotes. The chunks are parsed by multiple threads, and the resulting records are
+ * passed on to the target converter in their original order.
+ *
+ * Splitting is done on the raw bytes. It is restricted to encodings in which all ASCII
+ * characters are represented by single bytes, and it is disabled if backslashes are parsed
+ * as escape characters.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+final class CsvChunks {
+  /** Minimum size of a chunk. */
+  private static final int CHUNK = 1 << 22;
+  /** Maximum number of parsed chunks per thread that wait to be passed on. */
+  private static final int PENDING = 2;
+
+  /** Input. */
+  private final BufferInput input;
+  /** CSV options. */
+  private final CsvParserOptions copts;
+  /** Encoding. */
+  private final String encoding;
+  /** Column separator. */
+  private final int separator;
+  /** Parse quotes. */
+  private final boolean quotes;
+  /** Byte that has been read after the end of the last chunk ({@code -1}: none). */
+  private int next = -1;
+
+  /**
+   * Constructor.
+   * @param input input
+   * @param copts CSV options
+   * @param encoding encoding
+   */
+  private CsvChunks(final BufferInput input, final CsvParserOptions copts,
+      final String encoding) {
+    this.input = input;
+    this.copts = copts;
+    this.encoding = encoding;
+    separator = copts.separator();
+    quotes = copts.get(CsvOptions.QUOTES);
+  }
+
+  /**
+   * Returns the encoding of the input if it can be parsed in parallel.
+   * @param input input
+   * @param copts CSV options
+   * @param threads number of threads
+   * @return encoding or {@code null}
+   * @throws IOException I/O exception
+   */
+  static String encoding(final IO input, final CsvParserOptions copts, final int threads)
+      throws IOException {
+    if(threads < 2 || !(input instanceof IOFile) || input.length() <= CHUNK ||
+        copts.get(CsvOptions.BACKSLASHES) || copts.separator() >= 0x80) return null;
+    try(TextInput ti = new TextInput(input)) {
+      final String encoding = ti.encoding(copts.get(CsvParserOptions.ENCODING)).encoding();
+      return encoding.equalsIgnoreCase(Strings.UTF8) ||
+          encoding.equalsIgnoreCase(Strings.ISO88591) ? encoding : null;
+    }
+  }
+
+  /**
+   * Parses the input and sends the parse events to the specified converter.
+   * @param input input
+   * @param copts CSV options
+   * @param encoding encoding
+   * @param threads number of threads
+   * @param conv target converter
+   * @throws IOException I/O exception
+   */
+  static void parse(final BufferInput input, final CsvParserOptions copts,
+      final String encoding, final int threads, final CsvConverter conv) throws IOException {
+    new CsvChunks(input, copts, encoding).parse(threads, conv);
+  }
+
+  /**
+   * Parses the input and sends the parse events to the specified converter.
+   * @param threads number of threads
+   * @param conv target converter
+   * @throws IOException I/O exception
+   */
+  private void parse(final int threads, final CsvConverter conv) throws IOException {
+    final ExecutorService pool = Executors.newFixedThreadPool(threads);
+    final ArrayDeque<Future<Records>> parsed = new ArrayDeque<>();
+    try {
+      // skip UTF-8 byte order mark
+      input.mark(3);
+      if(input.read() != 0xEF || input.read() != 0xBB || input.read() != 0xBF) input.reset();
+
+      boolean header = copts.get(CsvOptions.HEADER);
+      for(byte[] bytes; (bytes = chunk()) != null;) {
+        final byte[] chunk = bytes;
+        final boolean hd = header;
+        parsed.add(pool.submit(() -> records(chunk, hd)));
+        while(parsed.size() > threads * PENDING) parsed.poll().get().send(conv);
+        header = false;
+      }
+      while(!parsed.isEmpty()) parsed.poll().get().send(conv);
+    } catch(final ExecutionException ex) {
+      final Throwable th = ex.getCause();
+      if(th instanceof RuntimeException) throw (RuntimeException) th;
+      throw th instanceof IOException ? (IOException) th : new IOException(th);
+    } catch(final InterruptedException ex) {
+      throw new IOException(ex);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Returns the next chunk. The chunk is terminated by a newline that is not quoted.
+   * CR, LF and CRLF are recognized as newlines.
+   * The state of the parser is simulated to detect quoted entries.
+   * @return chunk or {@code null}
+   * @throws IOException I/O exception
+   */
+  private byte[] chunk() throws IOException {
+    final ByteList chunk = new ByteList();
+    // quoted: quoted entry is parsed; empty: no character has been added to the current entry
+    boolean quoted = false, empty = true;
+    int b = next != -1 ? next : input.read();
+    next = -1;
+    while(b != -1) {
+      chunk.add(b);
+      if(quoted) {
+        if(b == '"') {
+          b = input.read();
+          if(b == '"') {
+            chunk.add(b);
+            empty = false;
+          } else {
+            // closing quote: process next byte as unquoted character
+            quoted = false;
+            continue;
+          }
+        } else {
+          empty = false;
+        }
+      } else if(b == '"' && quotes && empty) {
+        quoted = true;
+      } else if(b == separator) {
+        empty = true;
+      } else if(b == '\n' || b == '\r') {
+        // end of record (LF, CRLF, CR)
+        empty = true;
+        final boolean cr = b == '\r';
+        b = input.read();
+        if(cr && b == '\n') {
+          chunk.add(b);
+          b = input.read();
+        }
+        if(chunk.size() >= CHUNK) {
+          next = b;
+          break;
+        }
+        continue;
+      } else {
+        empty = false;
+      }
+      b = input.read();
+    }
+    return chunk.isEmpty() ? null : chunk.finish();
+  }
+
+  /**
+   * Parses a chunk.
+   * @param chunk chunk
+   * @param header parse header
+   * @return records
+   * @throws IOException I/O exception
+   */
+  private Records records(final byte[] chunk, final boolean header) throws IOException {
+    final Records records = new Records(copts);
+    try(NewlineInput in = new NewlineInput(chunk)) {
+      in.encoding(encoding);
+      final CsvParser parser = new CsvParser(in, copts, records, header);
+      while(parser.next());
+    }
+    return records;
+  }
+
+  /**
+   * Parsed records of a chunk.
+   */
+  private static final class Records extends CsvConverter {
+    /** Records. */
+    private final ArrayList<TokenList> list = new ArrayList<>();
+
+    /**
+     * Constructor.
+     * @param copts CSV options
+     */
+    private Records(final CsvParserOptions copts) {
+      super(copts);
+    }
+
+    @Override
+    protected void header(final byte[] string) {
+      headers.add(string);
+    }
+
+    @Override
+    protected void record() {
+      list.add(new TokenList());
+    }
+
+    @Override
+    protected void entry(final byte[] value) {
+      list.get(list.size() - 1).add(value);
+    }
+
+    @Override
+    protected Item finish(final String uri) {
+      return null;
+    }
+
+    /**
+     * Sends the parse events to the specified converter.
+     * @param conv target converter
+     * @throws IOException I/O exception
+     */
+    private void send(final CsvConverter conv) throws IOException {
+      for(final byte[] header : headers) conv.header(header);
+      for(final TokenList record : list) {
+        conv.record();
+        for(final byte[] value : record) conv.entry(value);
+      }
+    }
+  }
+}
@@ -39,7 +39,7 @@ public abstract class CsvConverter extends Job {
   /** CSV options. */
   private final CsvParserOptions copts;
   /** Current input. */
-  protected NewlineInput nli;
+  protected BufferInput bi;
 
   /**
    * Constructor.
@@ -58,9 +58,29 @@ public abstract class CsvConverter extends Job {
    * @throws IOException I/O exception
    */
   public final Item convert(final IO input) throws IOException {
-    try(NewlineInput in = new NewlineInput(input)) {
-      nli = in;
-      CsvParser.parse(in.encoding(copts.get(CsvParserOptions.ENCODING)), copts, this);
+    return convert(input, 1);
+  }
+
+  /**
+   * Converts the specified input to XML. Large files will be parsed in parallel if more than one
+   * thread is specified.
+   * @param input input
+   * @param threads number of parsing threads
+   * @return result
+   * @throws IOException I/O exception
+   */
+  public final Item convert(final IO input, final int threads) throws IOException {
+    final String encoding = CsvChunks.encoding(input, copts, threads);
+    if(encoding != null) {
+      try(BufferInput in = new BufferInput(input)) {
+        bi = in;
+        CsvChunks.parse(in, copts, encoding, threads, this);
+      }
+    } else {
+      try(NewlineInput in = new NewlineInput(input)) {
+        bi = in;
+        CsvParser.parse(in.encoding(copts.get(CsvParserOptions.ENCODING)), copts, this);
+      }
     }
     return finish(input.url());
   }
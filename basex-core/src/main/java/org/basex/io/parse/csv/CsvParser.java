@@ -17,14 +17,14 @@ final class CsvParser {
   private final TextInput input;
   /** Converter. */
   private final CsvConverter conv;
-  /** Header flag. */
-  private final boolean header;
   /** Backslash flag. */
   private final boolean backslashes;
   /** Column separator (see {@link CsvOptions#SEPARATOR}). */
   private final int separator;
   /** Parse quotes.  */
   private final boolean quotes;
+  /** Current entry. */
+  private final TokenBuilder entry = new TokenBuilder();
 
   /** First entry of a line. */
   private boolean first = true;
@@ -36,14 +36,16 @@ final class CsvParser {
    * @param input input
    * @param opts options
    * @param conv converter
+   * @param header parse header line (overwrites {@link CsvOptions#HEADER})
    */
-  private CsvParser(final TextInput input, final CsvParserOptions opts, final CsvConverter conv) {
+  CsvParser(final TextInput input, final CsvParserOptions opts, final CsvConverter conv,
+      final boolean header) {
     this.input = input;
     this.conv = conv;
-    header = opts.get(CsvOptions.HEADER);
     separator = opts.separator();
     quotes = opts.get(CsvOptions.QUOTES);
     backslashes = opts.get(CsvOptions.BACKSLASHES);
+    data = !header;
   }
 
   /**
@@ -56,18 +58,18 @@ final class CsvParser {
    */
   static void parse(final TextInput input, final CsvParserOptions opts, final CsvConverter conv)
       throws IOException {
-    new CsvParser(input, opts, conv).parse();
+    final CsvParser parser = new CsvParser(input, opts, conv, opts.get(CsvOptions.HEADER));
+    while(parser.next());
   }
 
   /**
-   * Parses a CSV expression.
+   * Parses the next line of the input. A line may span multiple physical lines
+   * if it contains quoted newlines.
+   * @return {@code false} if the end of the input has been reached
    * @throws IOException query I/O exception
    */
-  private void parse() throws IOException {
-    final TokenBuilder entry = new TokenBuilder();
+  boolean next() throws IOException {
     boolean quoted = false;
-    data = !header;
-
     int ch = input.read();
     while(ch != -1) {
       if(quoted) {
@@ -101,6 +103,7 @@ final class CsvParser {
         record(entry, !entry.isEmpty());
         first = true;
         data = true;
+        return true;
       } else {
         if(ch == '\\' && backslashes) ch = bs();
         add(entry, ch);
@@ -108,6 +111,8 @@ final class CsvParser {
       ch = input.read();
     }
     record(entry, !entry.isEmpty());
+    first = true;
+    return false;
   }
 
   /**
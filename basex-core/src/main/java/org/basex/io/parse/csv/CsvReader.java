@@ -0,0 +1,69 @@
+package org.basex.io.parse.csv;
+
+import java.io.*;
+
+import org.basex.build.csv.*;
+import org.basex.io.in.*;
+import org.basex.query.value.array.*;
+import org.basex.query.value.item.*;
+
+/**
+ * This class reads the records of a CSV input one by one and returns them as arrays.
+ * A header line is skipped.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class CsvReader extends CsvConverter {
+  /** Parser. */
+  private final CsvParser parser;
+  /** Current record. */
+  private ArrayBuilder record;
+  /** Indicates if more input may follow. */
+  private boolean more = true;
+
+  /**
+   * Constructor.
+   * @param input input (will not be closed by this class)
+   * @param copts CSV options
+   * @throws IOException I/O exception
+   */
+  public CsvReader(final NewlineInput input, final CsvParserOptions copts) throws IOException {
+    super(copts);
+    bi = input;
+    input.encoding(copts.get(CsvParserOptions.ENCODING));
+    parser = new CsvParser(input, copts, this, copts.get(CsvOptions.HEADER));
+  }
+
+  /**
+   * Returns the next record.
+   * @return record, or {@code null} if the input has been completely read
+   * @throws IOException I/O exception
+   */
+  public XQArray next() throws IOException {
+    while(more && record == null) more = parser.next();
+    if(record == null) return null;
+    final XQArray array = record.freeze();
+    record = null;
+    return array;
+  }
+
+  @Override
+  protected void header(final byte[] string) {
+  }
+
+  @Override
+  protected void record() {
+    record = new ArrayBuilder();
+  }
+
+  @Override
+  protected void entry(final byte[] value) {
+    record.append(Str.get(value));
+  }
+
+  @Override
+  protected Item finish(final String uri) {
+    return null;
+  }
+}
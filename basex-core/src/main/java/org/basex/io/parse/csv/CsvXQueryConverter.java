@@ -1,11 +1,18 @@
 package org.basex.io.parse.csv;
 
+import static org.basex.util.Token.*;
+
+import java.util.*;
+
 import org.basex.build.csv.*;
 import org.basex.query.*;
 import org.basex.query.util.list.*;
+import org.basex.query.value.*;
 import org.basex.query.value.array.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.map.*;
+import org.basex.query.value.seq.*;
+import org.basex.util.list.*;
 
 /**
  * This class converts CSV data to an XQuery representation.
@@ -19,10 +26,21 @@ public final class CsvXQueryConverter extends CsvConverter {
   /** Records. */
   public static final Str RECORDS = Str.get("records");
 
+  /** Column type: integer. */
+  private static final int INTEGER = 1;
+  /** Column type: double. */
+  private static final int DOUBLE = 2;
+  /** Column type: string. */
+  private static final int STRING = 3;
+
   /** Rows. */
   private final ItemList rows = new ItemList();
   /** Current row. */
   private ArrayBuilder row;
+  /** Records with string values (only assigned if types are inferred). */
+  private final ArrayList<TokenList> records;
+  /** Column types (only assigned if types are inferred). */
+  private final IntList types;
 
   /**
    * Constructor.
@@ -30,6 +48,9 @@ public final class CsvXQueryConverter extends CsvConverter {
    */
   CsvXQueryConverter(final CsvParserOptions opts) {
     super(opts);
+    final boolean tps = opts.get(CsvParserOptions.TYPES);
+    records = tps ? new ArrayList<>() : null;
+    types = tps ? new IntList() : null;
   }
 
   @Override
@@ -39,18 +60,46 @@ public final class CsvXQueryConverter extends CsvConverter {
 
   @Override
   protected void record() {
-    if(row != null) rows.add(row.freeze());
-    row = new ArrayBuilder();
+    if(records != null) {
+      records.add(new TokenList());
+      col = 0;
+    } else {
+      if(row != null) rows.add(row.freeze());
+      row = new ArrayBuilder();
+    }
   }
 
   @Override
   protected void entry(final byte[] value) {
-    row.append(Str.get(value));
+    if(records != null) {
+      records.get(records.size() - 1).add(value);
+      // infer type of column
+      if(value.length != 0) {
+        final int type = toLong(value) != Long.MIN_VALUE ? INTEGER :
+          Double.isNaN(toDouble(value)) ? STRING : DOUBLE;
+        if(col == types.size()) types.add(type);
+        else if(types.get(col) < type) types.set(col, type);
+      } else if(col == types.size()) {
+        types.add(0);
+      }
+      col++;
+    } else {
+      row.append(Str.get(value));
+    }
   }
 
   @Override
   protected XQMap finish(final String uri) throws QueryIOException {
-    if(row != null) rows.add(row.freeze());
+    if(records != null) {
+      for(final TokenList record : records) {
+        final ArrayBuilder ab = new ArrayBuilder();
+        final int rs = record.size();
+        for(int r = 0; r < rs; r++) ab.append(value(record.get(r), types.get(r)));
+        rows.add(ab.freeze());
+      }
+    } else if(row != null) {
+      rows.add(row.freeze());
+    }
     try {
       XQMap map = XQMap.EMPTY;
       if(!headers.isEmpty()) {
@@ -63,4 +112,19 @@ public final class CsvXQueryConverter extends CsvConverter {
       throw new QueryIOException(ex);
     }
   }
+
+  /**
+   * Returns a typed value.
+   * @param value string value
+   * @param type column type
+   * @return value
+   */
+  private static Value value(final byte[] value, final int type) {
+    if(type == INTEGER || type == DOUBLE) {
+      if(value.length == 0) return Empty.VALUE;
+      if(type == INTEGER) return Int.get(toLong(value));
+      return Dbl.get(toDouble(value));
+    }
+    return Str.get(value);
+  }
 }
@@ -0,0 +1,252 @@
+package org.basex.io.parse.json;
+
+import static org.basex.io.parse.json.JsonConstants.*;
+import static org.basex.util.Token.*;
+
+import java.io.*;
+
+import org.basex.build.*;
+import org.basex.build.json.*;
+import org.basex.build.json.JsonOptions.*;
+import org.basex.build.json.JsonParserOptions.*;
+import org.basex.core.*;
+import org.basex.io.*;
+import org.basex.io.in.*;
+import org.basex.query.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+
+/**
+ * This class converts JSON data to XML and sends the resulting nodes directly to a database
+ * builder. No intermediate tree is created. The {@code direct}, {@code attributes} and
+ * {@code basic} formats are supported; types cannot be merged.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class JsonBuilderConverter extends JsonConverter {
+  /** Builder. */
+  private final Builder builder;
+  /** Format. */
+  private final JsonFormat format;
+  /** Lax QName conversion. */
+  private final boolean lax;
+  /** Include string type. */
+  private final boolean strings;
+  /** Escape characters. */
+  private final boolean escape;
+  /** Chop whitespaces. */
+  private final boolean chop;
+  /** Declare namespaces. */
+  private final boolean ns;
+
+  /** Attributes of the next element. */
+  private final Atts atts = new Atts();
+  /** Namespaces of the next element. */
+  private final Atts nsp = new Atts();
+  /** Name of the next element. */
+  private byte[] name = JSON;
+  /** Level of the current value. */
+  private int level;
+  /** Number of nested pairs that are skipped. */
+  private int skip;
+
+  /**
+   * Constructor.
+   * @param jopts json options
+   * @param opts main options
+   * @param builder builder
+   */
+  public JsonBuilderConverter(final JsonParserOptions jopts, final MainOptions opts,
+      final Builder builder) {
+    super(jopts);
+    this.builder = builder;
+    format = jopts.get(JsonOptions.FORMAT);
+    lax = jopts.get(JsonOptions.LAX);
+    strings = jopts.get(JsonOptions.STRINGS);
+    escape = jopts.get(JsonParserOptions.ESCAPE);
+    chop = opts.get(MainOptions.CHOP);
+    ns = !opts.get(MainOptions.STRIPNS);
+  }
+
+  /**
+   * Checks if the specified options can be processed by this converter.
+   * @param jopts json options
+   * @return result of check
+   */
+  public static boolean supports(final JsonParserOptions jopts) {
+    final JsonFormat format = jopts.get(JsonOptions.FORMAT);
+    return jopts.get(JsonParserOptions.DUPLICATES) != JsonDuplicates.USE_LAST &&
+        (format == JsonFormat.BASIC || !jopts.get(JsonOptions.MERGE) &&
+        (format == JsonFormat.DIRECT || format == JsonFormat.ATTRIBUTES));
+  }
+
+  /**
+   * Parses the specified input and sends the resulting nodes to the builder.
+   * @param input input
+   * @throws IOException I/O exception
+   */
+  public void parse(final IO input) throws IOException {
+    final String encoding = jopts.get(JsonParserOptions.ENCODING);
+    try(NewlineInput ni = new NewlineInput(input)) {
+      JsonParser.parse(string(ni.encoding(encoding).content()), input.path(), jopts, this);
+    }
+    if(format == JsonFormat.ATTRIBUTES) builder.closeElem();
+  }
+
+  @Override
+  void openObject() throws IOException {
+    open(format == JsonFormat.BASIC ? MAP : OBJECT);
+  }
+
+  @Override
+  void openPair(final byte[] key, final boolean add) {
+    if(skip != 0 || !add && format != JsonFormat.DIRECT) {
+      skip++;
+    } else if(format == JsonFormat.DIRECT) {
+      name = XMLToken.encode(key, lax);
+    } else if(format == JsonFormat.ATTRIBUTES) {
+      name = PAIR;
+      atts.add(NAME, key);
+    } else {
+      atts.add(KEY, key);
+      if(escape && contains(key, '\\')) atts.add(ESCAPED_KEY, TRUE);
+    }
+  }
+
+  @Override
+  void closePair(final boolean add) throws IOException {
+    if(skip != 0) skip--;
+    else if(format == JsonFormat.ATTRIBUTES) builder.closeElem();
+  }
+
+  @Override
+  void closeObject() throws IOException {
+    close();
+  }
+
+  @Override
+  void openArray() throws IOException {
+    open(ARRAY);
+  }
+
+  @Override
+  void openItem() {
+    if(skip != 0) return;
+    if(format == JsonFormat.DIRECT) name = VALUE;
+    else if(format == JsonFormat.ATTRIBUTES) name = ITEM;
+  }
+
+  @Override
+  void closeItem() throws IOException {
+    if(skip == 0 && format == JsonFormat.ATTRIBUTES) builder.closeElem();
+  }
+
+  @Override
+  void closeArray() throws IOException {
+    close();
+  }
+
+  @Override
+  void numberLit(final byte[] value) throws IOException {
+    leaf(NUMBER, value);
+  }
+
+  @Override
+  void stringLit(final byte[] value) throws IOException {
+    if(skip == 0 && escape && format == JsonFormat.BASIC && contains(value, '\\')) {
+      atts.add(ESCAPED, TRUE);
+    }
+    leaf(STRING, value);
+  }
+
+  @Override
+  void nullLit() throws IOException {
+    leaf(NULL, EMPTY);
+  }
+
+  @Override
+  void booleanLit(final byte[] value) throws IOException {
+    leaf(BOOLEAN, value);
+  }
+
+  @Override
+  Item finish(final String uri) {
+    return null;
+  }
+
+  /**
+   * Opens an object or array.
+   * @param type JSON type
+   * @throws IOException I/O exception
+   */
+  private void open(final byte[] type) throws IOException {
+    if(skip != 0) return;
+    builder.openElem(element(type), atts, namespaces());
+    reset();
+    level++;
+  }
+
+  /**
+   * Closes an object or array.
+   * @throws IOException I/O exception
+   */
+  private void close() throws IOException {
+    if(skip != 0) return;
+    if(format != JsonFormat.ATTRIBUTES) builder.closeElem();
+    level--;
+  }
+
+  /**
+   * Adds a leaf element.
+   * @param type JSON type
+   * @param value value
+   * @throws IOException I/O exception
+   */
+  private void leaf(final byte[] type, final byte[] value) throws IOException {
+    if(skip != 0) return;
+    final byte[] elem = element(type), text = chop ? trim(value) : value;
+    if(format == JsonFormat.ATTRIBUTES) {
+      // element will be closed with the pair or item
+      builder.openElem(elem, atts, namespaces());
+      builder.text(text);
+    } else if(text.length == 0) {
+      builder.emptyElem(elem, atts, namespaces());
+    } else {
+      builder.openElem(elem, atts, namespaces());
+      builder.text(text);
+      builder.closeElem();
+    }
+    reset();
+  }
+
+  /**
+   * Returns the name of the next element and adds a type attribute.
+   * @param type JSON type
+   * @return element name
+   */
+  private byte[] element(final byte[] type) {
+    if(format == JsonFormat.BASIC) return type;
+    if(strings || type != STRING) atts.add(TYPE, type);
+    return name;
+  }
+
+  /**
+   * Returns the namespaces of the next element.
+   * @return namespaces
+   */
+  private Atts namespaces() {
+    // basic format: declare namespace of root element
+    if(ns && level == 0 && format == JsonFormat.BASIC) nsp.add(EMPTY, token(QueryText.FN_URI));
+    return nsp;
+  }
+
+  /**
+   * Resets the attributes and namespaces.
+   */
+  private void reset() {
+    atts.reset();
+    nsp.reset();
+    name = null;
+  }
+}
@@ -60,7 +60,14 @@ public abstract class JsonConverter {
    * @return result
    */
   public final Item convert(final byte[] input, final String path) throws QueryIOException {
-    JsonParser.parse(Token.string(input), path, jopts, this);
+    try {
+      JsonParser.parse(Token.string(input), path, jopts, this);
+    } catch(final QueryIOException ex) {
+      throw ex;
+    } catch(final IOException ex) {
+      // only raised by converters that write to a builder
+      throw Util.notExpected(ex);
+    }
     return finish(path.isEmpty() ? "" : IO.get(path).url());
   }
 
@@ -82,78 +89,81 @@ public abstract class JsonConverter {
 
   /**
    * Called when a JSON object is opened.
-   * @throws QueryIOException query exception
+   * @throws IOException I/O exception
    */
-  abstract void openObject() throws QueryIOException;
+  abstract void openObject() throws IOException;
 
   /**
    * Called when a pair of a JSON object is opened.
    * @param key the key of the entry
    * @param add add pair
-   * @throws QueryIOException query exception
+   * @throws IOException I/O exception
    */
-  abstract void openPair(byte[] key, boolean add) throws QueryIOException;
+  abstract void openPair(byte[] key, boolean add) throws IOException;
 
   /**
    * Called when a pair of a JSON object is closed.
    * @param add add pair
-   * @throws QueryIOException query exception
+   * @throws IOException I/O exception
    */
-  abstract void closePair(boolean add) throws QueryIOException;
+  abstract void closePair(boolean add) throws IOException;
 
   /**
    * Called when a JSON object is closed.
+   * @throws IOException I/O exception
    */
-  abstract void closeObject();
+  abstract void closeObject() throws IOException;
 
   /**
    * Called when a JSON array is opened.
-   * @throws QueryIOException query exception
+   * @throws IOException I/O exception
    */
-  abstract void openArray() throws QueryIOException;
+  abstract void openArray() throws IOException;
 
   /**
    * Called when an item of a JSON array is opened.
+   * @throws IOException I/O exception
    */
-  abstract void openItem();
+  abstract void openItem() throws IOException;
 
   /**
    * Called when an item of a JSON array is closed.
+   * @throws IOException I/O exception
    */
-  abstract void closeItem();
+  abstract void closeItem() throws IOException;
 
   /**
    * Called when a JSON array is closed.
-   * @throws QueryIOException query exception
+   * @throws IOException I/O exception
    */
-  abstract void closeArray() throws QueryIOException;
+  abstract void closeArray() throws IOException;
 
   /**
    * Called when a number literal is encountered.
    * @param value string representation of the number literal
-   * @throws QueryIOException query exception
+   * @throws IOException I/O exception
    */
-  abstract void numberLit(byte[] value) throws QueryIOException;
+  abstract void numberLit(byte[] value) throws IOException;
 
   /**
    * Called when a string literal is encountered.
    * @param bs the string
-   * @throws QueryIOException query exception
+   * @throws IOException I/O exception
    */
-  abstract void stringLit(byte[] bs) throws QueryIOException;
+  abstract void stringLit(byte[] bs) throws IOException;
 
   /**
    * Called when a {@code null} literal is encountered.
-   * @throws QueryIOException query exception
+   * @throws IOException I/O exception
    */
-  abstract void nullLit() throws QueryIOException;
+  abstract void nullLit() throws IOException;
 
   /**
    * Called when a boolean literal is encountered.
    * @param b the boolean
-   * @throws QueryIOException query exception
+   * @throws IOException I/O exception
    */
-  abstract void booleanLit(byte[] b) throws QueryIOException;
+  abstract void booleanLit(byte[] b) throws IOException;
 
   /**
    * Returns the resulting XQuery value.
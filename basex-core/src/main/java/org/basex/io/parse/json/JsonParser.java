@@ -3,6 +3,8 @@ package org.basex.io.parse.json;
 import static org.basex.query.QueryError.*;
 import static org.basex.util.Token.*;
 
+import java.io.*;
+
 import org.basex.build.json.*;
 import org.basex.build.json.JsonOptions.*;
 import org.basex.build.json.JsonParserOptions.JsonDuplicates;
@@ -60,10 +62,10 @@ final class JsonParser extends InputParser {
    * @param path input path (can be {@code null)}
    * @param opts options
    * @param conv converter
-   * @throws QueryIOException parse exception
+   * @throws IOException parse exception, or exception raised by the converter
    */
   static void parse(final String input, final String path, final JsonParserOptions opts,
-      final JsonConverter conv) throws QueryIOException {
+      final JsonConverter conv) throws IOException {
     final JsonParser parser = new JsonParser(input, opts, conv);
     parser.file = path;
     parser.parse();
@@ -71,9 +73,9 @@ final class JsonParser extends InputParser {
 
   /**
    * Parses a JSON expression.
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private void parse() throws QueryIOException {
+  private void parse() throws IOException {
     consume('\uFEFF');
     skipWs();
     try {
@@ -86,9 +88,9 @@ final class JsonParser extends InputParser {
 
   /**
    * Parses a JSON value.
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private void value() throws QueryIOException {
+  private void value() throws IOException {
     if(pos >= length) throw eof(", expected JSON value.");
     switch(curr()) {
       case '[':
@@ -127,9 +129,9 @@ final class JsonParser extends InputParser {
 
   /**
    * Parses a JSON object.
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private void object() throws QueryIOException {
+  private void object() throws IOException {
     consumeWs('{', true);
     conv.openObject();
     if(!consumeWs('}', false)) {
@@ -154,9 +156,9 @@ final class JsonParser extends InputParser {
 
   /**
    * Parses a JSON array.
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private void array() throws QueryIOException {
+  private void array() throws IOException {
     consumeWs('[', true);
     conv.openArray();
     if(!consumeWs(']', false)) {
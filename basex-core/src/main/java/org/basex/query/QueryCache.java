@@ -0,0 +1,156 @@
+package org.basex.query;
+
+import java.util.*;
+
+import org.basex.core.*;
+import org.basex.query.expr.*;
+import org.basex.query.scope.*;
+import org.basex.query.var.*;
+import org.basex.util.hash.*;
+
+/**
+ * Server-wide cache for parsed main modules. If the same query string is evaluated repeatedly,
+ * the expression tree is copied from the cache instead of parsing the query again.
+ *
+ * Only self-contained main modules will be cached (see {@link QueryContext#selfContained()}):
+ * queries with function or variable declarations, module imports, options, node constructors
+ * or Java calls depend on state that is bound to a single query context. Compilation is not cached, as its
+ * result depends on the external bindings and the current state of the accessed databases.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class QueryCache {
+  /** Cached main modules, ordered by their last access. */
+  private final LinkedHashMap<String, CachedModule> modules =
+      new LinkedHashMap<String, CachedModule>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<String, CachedModule> eldest) {
+      return size() > max;
+    }
+  };
+  /** Maximum number of cached main modules. */
+  private final int max;
+
+  /**
+   * Constructor.
+   * @param sopts static options
+   */
+  public QueryCache(final StaticOptions sopts) {
+    max = Math.max(0, sopts.get(StaticOptions.QUERYCACHE));
+  }
+
+  /**
+   * Parses the specified query or retrieves a copy of a cached main module.
+   * @param query query string
+   * @param sc static context
+   * @param qc query context
+   * @throws QueryException query exception
+   */
+  void parse(final String query, final StaticContext sc, final QueryContext qc)
+      throws QueryException {
+
+    if(max == 0) {
+      qc.parseMain(query, null, sc);
+      return;
+    }
+
+    final String key = key(query, sc, qc);
+    final CachedModule cached;
+    synchronized(this) {
+      cached = modules.get(key);
+    }
+    if(cached != null) {
+      qc.info.query = query;
+      qc.root = cached.copy(qc);
+      qc.updating = cached.updating;
+      return;
+    }
+
+    final MainModule ctxItem = qc.ctxItem;
+    final MainModule root = qc.parseMain(query, null, sc);
+    if(qc.ctxItem == ctxItem && qc.selfContained()) {
+      final CachedModule module = new CachedModule(copy(root, qc), qc.updating);
+      synchronized(this) {
+        modules.put(key, module);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of cached main modules.
+   * @return number of entries
+   */
+  public synchronized int size() {
+    return modules.size();
+  }
+
+  /**
+   * Removes all entries from the cache.
+   */
+  public synchronized void clear() {
+    modules.clear();
+  }
+
+  /**
+   * Creates a cache key for the specified query. Options that are evaluated at parse time are
+   * included in the key.
+   * @param query query string
+   * @param sc static context
+   * @param qc query context
+   * @return key
+   */
+  private static String key(final String query, final StaticContext sc, final QueryContext qc) {
+    final MainOptions mopts = qc.context.options;
+    return new StringBuilder().append(sc.baseURI()).append('\0').
+      append(mopts.get(MainOptions.MIXUPDATES)).append(mopts.get(MainOptions.WITHDB)).
+      append('\0').append(query).toString();
+  }
+
+  /**
+   * Creates a copy of the specified main module.
+   * @param root main module
+   * @param qc query context
+   * @return copy
+   */
+  private static MainModule copy(final MainModule root, final QueryContext qc) {
+    final CompileContext cc = new CompileContext(qc);
+    final VarScope vs = new VarScope(root.sc);
+    cc.pushScope(vs);
+    try {
+      final Expr expr = root.expr.copy(cc, new IntObjMap<>());
+      return MainModule.get(vs, expr, null, null, root.info);
+    } finally {
+      cc.removeScope();
+    }
+  }
+
+  /**
+   * Cached main module.
+   */
+  private static final class CachedModule {
+    /** Main module (will never be compiled). */
+    private final MainModule root;
+    /** Updating flag. */
+    private final boolean updating;
+
+    /**
+     * Constructor.
+     * @param root main module
+     * @param updating updating flag
+     */
+    private CachedModule(final MainModule root, final boolean updating) {
+      this.root = root;
+      this.updating = updating;
+    }
+
+    /**
+     * Returns a copy of the cached main module.
+     * @param qc query context
+     * @return copy
+     */
+    private MainModule copy(final QueryContext qc) {
+      return QueryCache.copy(root, qc);
+    }
+  }
+}
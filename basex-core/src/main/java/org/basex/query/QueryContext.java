@@ -98,6 +98,8 @@ public final class QueryContext extends Job implements Closeable {
   public final LockList readLocks = new LockList();
   /** Strings to lock defined by write-lock option. */
   public final LockList writeLocks = new LockList();
+  /** Priority defined by priority option ({@code null}: default priority). */
+  public Integer priority;
 
   /** Number of successive tail calls. */
   public int tailCalls;
@@ -222,6 +224,18 @@ public final class QueryContext extends Job implements Closeable {
     return root;
   }
 
+  /**
+   * Checks if the parsed main module is self-contained, i.e., if it does not depend on
+   * declarations, options or modules that are stored in this context.
+   * @return result of check
+   */
+  boolean selfContained() {
+    return root != null && funcs.funcs().length == 0 && !vars.iterator().hasNext() &&
+      modParsed.isEmpty() && options.isEmpty() && serParams == null && ftOpt == null &&
+      readLocks.size() == 0 && writeLocks.size() == 0 && priority == null &&
+      !resources.java() && !root.expr.has(Flag.CNS);
+  }
+
   /**
    * Parses the specified module.
    * @param query query string
@@ -369,6 +383,8 @@ public final class QueryContext extends Job implements Closeable {
     final LockList read = locks.reads, write = locks.writes;
     read.add(readLocks);
     write.add(writeLocks);
+    if(priority != null) locks.priority = priority;
+    locks.defer = updating;
     // use global locking if referenced databases cannot be statically determined
     if(root == null || !root.databases(locks, this) ||
        ctxItem != null && !ctxItem.databases(locks, this)) {
@@ -540,7 +556,7 @@ public final class QueryContext extends Job implements Closeable {
     } else {
       // otherwise, adopt update reference (may have been initialized by sub query)
       parent.updates = updates;
-      parent.popJob();
+      parent.popJob(this);
     }
     options.close();
   }
@@ -697,7 +713,8 @@ public final class QueryContext extends Job implements Closeable {
         vb.add(materialize.apply(item));
       }
 
-      // invalidate current node set in context, apply updates
+      // acquire deferred write locks, invalidate current node set in context, apply updates
+      context.locking.upgrade();
       if(context.data() != null) context.invalidate();
       updates.apply(this);
 
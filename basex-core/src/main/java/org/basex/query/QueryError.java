@@ -323,12 +323,14 @@ public enum QueryError {
 
   // Jobs Module
 
+  /** Error code. */
+  JOBS_CRON_X(JOBS, "cron", "Invalid cron expression: %."),
   /** Error code. */
   JOBS_ID_EXISTS_X(JOBS, "id", "Job id already exists: %."),
   /** Error code. */
   JOBS_ID_INVALID_X(JOBS, "id", "Invalid job name: %."),
   /** Error code. */
-  JOBS_OPTIONS(JOBS, "options", "Either 'cache' or 'interval' option is allowed."),
+  JOBS_OPTIONS(JOBS, "options", "Either 'cache', 'interval' or 'cron' option is allowed."),
   /** Error code. */
   JOBS_OVERFLOW(JOBS, "overflow", "Too many queries queued."),
   /** Error code. */
@@ -532,6 +534,8 @@ public enum QueryError {
   XQUERY_NESTED(ErrType.XQUERY, "nested", "Nested query evaluation is not allowed."),
   /** Error code. */
   XQUERY_UNEXPECTED_X(ErrType.XQUERY, "error", "Unexpected error: %"),
+  /** Error code. */
+  XQUERY_SHARD_X(ErrType.XQUERY, "shard", "Invalid shard: %."),
 
   // XSLT Module
 
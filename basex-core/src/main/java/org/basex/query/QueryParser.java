@@ -543,6 +543,11 @@ public class QueryParser extends InputParser {
         case WRITE_LOCK:
           for(final String lock : Locking.queryLocks(value)) qc.writeLocks.add(lock);
           break;
+        case PRIORITY:
+          final int priority = toInt(value);
+          if(priority == Integer.MIN_VALUE) throw error(BASEX_OPTIONS_X_X, name, value);
+          qc.priority = priority;
+          break;
         default:
           throw error(BASEX_OPTIONS1_X, name);
       }
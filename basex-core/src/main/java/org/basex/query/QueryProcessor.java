@@ -33,6 +33,8 @@ public final class QueryProcessor extends Job implements Closeable {
   private final String query;
   /** Parsed flag. */
   private boolean parsed;
+  /** Indicates if the query cache can be used. */
+  private boolean cache = true;
 
   /**
    * Default constructor.
@@ -63,7 +65,8 @@ public final class QueryProcessor extends Job implements Closeable {
   public void parse() throws QueryException {
     if(parsed) return;
     try {
-      qc.parseMain(query, null, sc);
+      if(cache) qc.context.queries.parse(query, sc, qc);
+      else qc.parseMain(query, null, sc);
     } finally {
       parsed = true;
       updating = qc.updating;
@@ -198,6 +201,7 @@ public final class QueryProcessor extends Job implements Closeable {
    */
   public QueryProcessor namespace(final String prefix, final String uri) throws QueryException {
     sc.namespace(prefix, uri);
+    cache = false;
     return this;
   }
 
@@ -208,6 +212,7 @@ public final class QueryProcessor extends Job implements Closeable {
    */
   public QueryProcessor uriResolver(final UriResolver resolver) {
     sc.resolver = resolver;
+    cache = false;
     return this;
   }
 
@@ -236,6 +241,7 @@ public final class QueryProcessor extends Job implements Closeable {
    */
   public void module(final String uri, final String file) {
     qc.modDeclared.put(uri, file);
+    cache = false;
   }
 
   /**
@@ -265,6 +265,14 @@ public final class QueryResources {
     return modules;
   }
 
+  /**
+   * Indicates if Java modules have been imported or if Java classes have been bound.
+   * @return result of check
+   */
+  boolean java() {
+    return modules != null && modules.java();
+  }
+
   /**
    * Removes and closes the specified database. Called during updates.
    * @param name name of database to be removed
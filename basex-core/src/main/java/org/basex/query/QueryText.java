@@ -198,6 +198,7 @@ public interface QueryText {
 
   /** Parser token. */ String READ_LOCK = "read-lock";
   /** Parser token. */ String WRITE_LOCK = "write-lock";
+  /** Parser token. */ String PRIORITY = "priority";
   /** Parser token. */ String NON_DETERMNISTIC = "non-deterministic";
 
   // PARSER KEYWORDS (IGNORED BY THE SYNTAX HIGHLIGHTER) ==========================================
@@ -427,6 +428,7 @@ public interface QueryText {
   /** Optimization info. */ String OPTSTEP_X = "remove step without results: %";
   /** Optimization info. */ String OPTPATH_X = "remove path without results: %";
   /** Optimization info. */ String OPTINDEX_X_X = "apply % index for %";
+  /** Optimization info. */ String OPTPREDS_X = "reorder predicates by selectivity: %";
   /** Optimization info. */ String OPTNORESULTS_X = "no index results: %";
   /** Optimization info. */ String OPTCHILD_X = "convert to child steps: %";
   /** Optimization info. */ String OPTUNROLL_X = "unroll: %";
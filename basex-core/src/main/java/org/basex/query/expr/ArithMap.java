@@ -0,0 +1,245 @@
+package org.basex.query.expr;
+
+import org.basex.query.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.seq.*;
+import org.basex.query.var.*;
+import org.basex.util.*;
+import org.basex.util.hash.*;
+
+/**
+ * Simple map expression: arithmetic operations with constant numbers
+ * (example: {@code $seq ! (. * 2) ! (. + 1)}).
+ * If the input is a native sequence of integers or doubles, the results of each operation are
+ * computed in a single loop on the primitive values. Otherwise, the operation is applied to each item, without
+ * updating the query focus.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class ArithMap extends SimpleMap {
+  /** Calculation operators. */
+  private final Calc[] calcs;
+  /** Constant operands. */
+  private final ANum[] nums;
+  /** Indicates if the constants are the first operands. */
+  private final boolean[] swaps;
+
+  /**
+   * Constructor.
+   * @param info input info
+   * @param exprs expressions
+   */
+  ArithMap(final InputInfo info, final Expr... exprs) {
+    super(info, exprs);
+    final int el = exprs.length - 1;
+    calcs = new Calc[el];
+    nums = new ANum[el];
+    swaps = new boolean[el];
+    for(int e = 0; e < el; e++) {
+      final Arith arith = (Arith) exprs[e + 1];
+      final boolean swap = !(arith.exprs[0] instanceof ContextValue);
+      calcs[e] = arith.calc;
+      nums[e] = (ANum) arith.exprs[swap ? 0 : 1];
+      swaps[e] = swap;
+    }
+  }
+
+  /**
+   * Checks if the specified expressions can be evaluated by this class.
+   * @param exprs expressions
+   * @return result of check
+   */
+  static boolean arithmetic(final Expr... exprs) {
+    final int el = exprs.length;
+    for(int e = 1; e < el; e++) {
+      if(!(exprs[e] instanceof Arith)) return false;
+      final Expr[] ops = ((Arith) exprs[e]).exprs;
+      if(!(ops[0] instanceof ContextValue && constant(ops[1]) ||
+          ops[1] instanceof ContextValue && constant(ops[0]))) return false;
+    }
+    return el > 1;
+  }
+
+  /**
+   * Checks if the specified expression is a supported constant.
+   * @param expr expression
+   * @return result of check
+   */
+  private static boolean constant(final Expr expr) {
+    return expr instanceof Int || expr instanceof Dbl;
+  }
+
+  @Override
+  public Iter iter(final QueryContext qc) throws QueryException {
+    final Iter iter = exprs[0].iter(qc);
+    final Value value = iter.iterValue();
+    if(value != null) {
+      final Value result = bulk(value, false);
+      if(result != null) return result.iter();
+    }
+
+    return new Iter() {
+      @Override
+      public Item next() throws QueryException {
+        for(Item item; (item = qc.next(iter)) != null;) {
+          final Item result = eval(item, qc);
+          if(result != Empty.VALUE) return result;
+        }
+        return null;
+      }
+    };
+  }
+
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    final Value value = exprs[0].value(qc);
+    final Value result = bulk(value, true);
+    if(result != null) return result;
+
+    final ValueBuilder vb = new ValueBuilder(qc);
+    for(final Item item : value) {
+      qc.checkStop();
+      vb.add(eval(item, qc));
+    }
+    return vb.value(this);
+  }
+
+  /**
+   * Applies the operations to a single item.
+   * @param item item
+   * @param qc query context
+   * @return result (can be {@link Empty#VALUE})
+   * @throws QueryException query exception
+   */
+  private Item eval(final Item item, final QueryContext qc) throws QueryException {
+    Item result = item;
+    final int cl = calcs.length;
+    for(int c = 0; c < cl; c++) {
+      result = result.atomItem(qc, info);
+      if(result == Empty.VALUE) break;
+      result = swaps[c] ? calcs[c].eval(nums[c], result, info) :
+        calcs[c].eval(result, nums[c], info);
+    }
+    return result;
+  }
+
+  /**
+   * Computes the results for a native sequence in a single loop per operation.
+   * @param value input value
+   * @param range materialize ranges (skipped if results are requested iteratively)
+   * @return result, or {@code null} if the value cannot be processed in bulk
+   */
+  private Value bulk(final Value value, final boolean range) {
+    Object values;
+    if(value instanceof IntSeq) {
+      values = ((IntSeq) value).values();
+    } else if(value instanceof DblSeq) {
+      values = ((DblSeq) value).toJava();
+    } else if(value instanceof RangeSeq && range && value.size() <= Array.MAX_SIZE) {
+      values = ((RangeSeq) value).toJava();
+    } else {
+      return null;
+    }
+
+    final int cl = calcs.length;
+    for(int c = 0; c < cl && values != null; c++) {
+      values = values instanceof long[] ? bulk((long[]) values, c) :
+        bulk((double[]) values, c);
+    }
+    return values instanceof long[] ? IntSeq.get((long[]) values) :
+      values instanceof double[] ? DblSeq.get((double[]) values) : null;
+  }
+
+  /**
+   * Applies an operation to integers.
+   * @param values input values
+   * @param c offset of the operation
+   * @return result, or {@code null} if the values cannot be processed in bulk
+   */
+  private Object bulk(final long[] values, final int c) {
+    final int vl = values.length;
+    if(nums[c] instanceof Dbl) {
+      final double[] dbls = new double[vl];
+      for(int v = 0; v < vl; v++) dbls[v] = values[v];
+      return bulk(dbls, c);
+    }
+
+    // integer operations: overflows and errors are raised by the item-based evaluation
+    final long n = nums[c].itr();
+    final boolean swap = swaps[c];
+    final long[] result = new long[vl];
+    try {
+      switch(calcs[c]) {
+        case PLUS:
+          for(int v = 0; v < vl; v++) result[v] = Math.addExact(values[v], n);
+          break;
+        case MINUS:
+          if(swap) for(int v = 0; v < vl; v++) result[v] = Math.subtractExact(n, values[v]);
+          else for(int v = 0; v < vl; v++) result[v] = Math.subtractExact(values[v], n);
+          break;
+        case MULT:
+          for(int v = 0; v < vl; v++) result[v] = Math.multiplyExact(values[v], n);
+          break;
+        case IDIV:
+          if(swap || n == 0 || n == -1) return null;
+          for(int v = 0; v < vl; v++) result[v] = values[v] / n;
+          break;
+        case MOD:
+          if(swap || n == 0) return null;
+          for(int v = 0; v < vl; v++) result[v] = values[v] % n;
+          break;
+        default:
+          return null;
+      }
+    } catch(final ArithmeticException ex) {
+      Util.debug(ex);
+      return null;
+    }
+    return result;
+  }
+
+  /**
+   * Applies an operation to doubles.
+   * @param values input values
+   * @param c offset of the operation
+   * @return result, or {@code null} if the values cannot be processed in bulk
+   */
+  private Object bulk(final double[] values, final int c) {
+    final double n = nums[c].dbl();
+    final boolean swap = swaps[c];
+    final int vl = values.length;
+    final double[] result = new double[vl];
+    switch(calcs[c]) {
+      case PLUS:
+        for(int v = 0; v < vl; v++) result[v] = values[v] + n;
+        break;
+      case MINUS:
+        if(swap) for(int v = 0; v < vl; v++) result[v] = n - values[v];
+        else for(int v = 0; v < vl; v++) result[v] = values[v] - n;
+        break;
+      case MULT:
+        for(int v = 0; v < vl; v++) result[v] = values[v] * n;
+        break;
+      case DIV:
+        if(swap) for(int v = 0; v < vl; v++) result[v] = n / values[v];
+        else for(int v = 0; v < vl; v++) result[v] = values[v] / n;
+        break;
+      default:
+        return null;
+    }
+    return result;
+  }
+
+  @Override
+  public ArithMap copy(final CompileContext cc, final IntObjMap<Var> vm) {
+    return copyType(new ArithMap(info, Arr.copyAll(cc, vm, exprs)));
+  }
+
+  @Override
+  public String description() {
+    return "arithmetic " + super.description();
+  }
+}
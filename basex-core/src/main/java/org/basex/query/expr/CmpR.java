@@ -37,9 +37,9 @@ public final class CmpR extends Single {
   private static final double MAX_INTEGER = 1L << 53;
 
   /** Minimum. */
-  private final double min;
+  public final double min;
   /** Maximum. */
-  private final double max;
+  public final double max;
 
   /** Evaluation flag: atomic evaluation. */
   private boolean single;
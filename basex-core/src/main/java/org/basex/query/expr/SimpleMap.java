@@ -212,6 +212,7 @@ public abstract class SimpleMap extends Arr {
     // choose best map implementation
     return copyType(
       item ? new ItemMap(info, exprs) :
+      ArithMap.arithmetic(exprs) ? new ArithMap(info, exprs) :
       iterative(exprs) ? new IterMap(info, exprs) :
       new CachedMap(info, exprs));
   }
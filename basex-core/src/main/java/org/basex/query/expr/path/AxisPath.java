@@ -36,10 +36,26 @@ public abstract class AxisPath extends Path {
 
   @Override
   public final Value value(final QueryContext qc) throws QueryException {
-    final Value result = cache(qc);
+    Value result = cache(qc);
+    if(result == null) result = preNodes(qc);
     return result != null ? result : nodes(qc);
   }
 
+  /**
+   * Evaluates the path on the pre values of a single database. No node instances will be created
+   * for intermediate results.
+   * @param qc query context
+   * @return resulting nodes, or {@code null} if the path cannot be evaluated on pre values
+   * @throws QueryException query exception
+   */
+  public final Value preNodes(final QueryContext qc) throws QueryException {
+    // skip root expressions that would need to be evaluated again for the default evaluation
+    if(!(root == null || root instanceof Value || root instanceof Root) ||
+        !PrePath.supported(steps)) return null;
+    final Value value = root != null ? root.value(qc) : qc.focus.value;
+    return value != null ? PrePath.eval(value, this, qc) : null;
+  }
+
   /**
    * Updates the cache and returns a cached value.
    * @param qc query context
@@ -1,6 +1,7 @@
 package org.basex.query.expr.path;
 
 import org.basex.data.*;
+import org.basex.index.name.*;
 import org.basex.query.expr.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
@@ -22,6 +23,8 @@ public final class NameTest extends Test {
   public final QNm qname;
   /** Part of name to be tested. */
   public NamePart part;
+  /** Name and namespace ids, resolved for the last accessed database (can be {@code null}). */
+  private Ids ids;
 
   /**
    * Convenience constructor for element tests.
@@ -84,6 +87,24 @@ public final class NameTest extends Test {
   public boolean matches(final ANode node) {
     if(node.type != type) return false;
 
+    // database nodes: compare resolved ids
+    if(node instanceof DBNode && type != NodeType.PI) {
+      final DBNode dbnode = (DBNode) node;
+      final Data data = dbnode.data();
+      Ids i = ids;
+      if(i == null || !i.valid(data, part)) {
+        i = new Ids(data);
+        ids = i;
+      }
+      final int pre = dbnode.pre();
+      switch(i.names[data.nameId(pre)]) {
+        case Ids.NONE: return false;
+        case Ids.NAME: return true;
+        case Ids.URI: return i.uris[data.uriId(pre, i.kind)];
+        default: break;
+      }
+    }
+
     switch(part) {
       // namespaces wildcard: only check local name
       case LOCAL: return Token.eq(local, Token.local(node.name()));
@@ -160,4 +181,82 @@ public final class NameTest extends Test {
   public String toString() {
     return toString(true);
   }
+
+  /**
+   * Name and namespace ids of a database that match the name test. Instances are immutable
+   * and can be shared by concurrent threads.
+   */
+  private final class Ids {
+    /** Name result: no match. */
+    private static final byte NONE = 0;
+    /** Name result: match. */
+    private static final byte NAME = 1;
+    /** Name result: match if the namespace ids are equal. */
+    private static final byte URI = 2;
+    /** Name result: name and namespace need to be compared. */
+    private static final byte COMPARE = 3;
+
+    /** Database. */
+    private final Data data;
+    /** Part of name to be tested. */
+    private final NamePart np;
+    /** Number of names. */
+    private final int size;
+    /** Number of namespaces. */
+    private final int nsSize;
+    /** Database kind. */
+    private final int kind;
+    /** Results for all name ids. */
+    private final byte[] names;
+    /** Results for all namespace ids. */
+    private final boolean[] uris = new boolean[256];
+
+    /**
+     * Constructor.
+     * @param data data reference
+     */
+    private Ids(final Data data) {
+      this.data = data;
+      np = part;
+      kind = type == NodeType.ELM ? Data.ELEM : Data.ATTR;
+      final Names nms = kind == Data.ELEM ? data.elemNames : data.attrNames;
+      size = nms.size();
+      nsSize = data.nspaces.size();
+
+      // find ids of namespace URI (the empty URI may be stored with its own id)
+      final byte[] u = qname.uri();
+      boolean known = false;
+      for(int id = 0; id <= nsSize && id < uris.length; id++) {
+        final byte[] uri = id == 0 ? Token.EMPTY : data.nspaces.uri(id);
+        uris[id] = uri != null && Token.eq(uri, u);
+        known |= uris[id];
+      }
+
+      names = new byte[size + 1];
+      for(int id = 1; id <= size; id++) {
+        final byte[] name = nms.key(id);
+        if(name == null) continue;
+        final boolean ln = np == NamePart.URI || Token.eq(local, Token.local(name));
+        if(np == NamePart.LOCAL) {
+          names[id] = ln ? NAME : NONE;
+        } else if(Token.eq(Token.prefix(name), Token.XML)) {
+          // the namespace of names with the xml prefix may be implicit
+          names[id] = ln ? COMPARE : NONE;
+        } else {
+          names[id] = ln && known ? URI : NONE;
+        }
+      }
+    }
+
+    /**
+     * Checks if the ids are still valid for the specified database.
+     * @param dt data reference
+     * @param pt part of name to be tested
+     * @return result of check
+     */
+    private boolean valid(final Data dt, final NamePart pt) {
+      return data == dt && np == pt && size == (kind == Data.ELEM ? dt.elemNames :
+        dt.attrNames).size() && nsSize == dt.nspaces.size();
+    }
+  }
 }
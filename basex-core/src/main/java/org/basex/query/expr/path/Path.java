@@ -165,6 +165,8 @@ public abstract class Path extends ParseExpr {
     if(expr == this) expr = children(cc, rt);
     // return optimized expression
     if(expr != this) return expr;
+    // evaluate most selective predicates first
+    reorder(cc, rt);
 
     // choose best path implementation (dummy will be used for type checking)
     return copyType(get(info, root == null && rt instanceof Dummy ? rt : root, steps));
@@ -497,6 +499,61 @@ public abstract class Path extends ParseExpr {
     return nodes;
   }
 
+  /**
+   * Reorders the predicates of the steps by their estimated selectivity.
+   * The original order is preserved if the selectivity of a predicate is unknown: predicates
+   * may depend on the checks of preceding predicates (e.g. {@code [@n castable as xs:double]}).
+   * @param cc compilation context
+   * @param rt compile time root (can be {@code null})
+   */
+  private void reorder(final CompileContext cc, final Expr rt) {
+    if(rt == null || !rt.seqType().type.instanceOf(NodeType.DOC) || data == null ||
+        !data.meta.uptodate) return;
+
+    ArrayList<PathNode> nodes = data.paths.root();
+    final int sl = steps.length;
+    for(int s = 0; s < sl; s++) {
+      final Step step = axisStep(s);
+      if(step == null) return;
+      // path nodes of the step (predicates will be ignored)
+      nodes = Step.get(step.info, step.axis, step.test).nodes(nodes, data);
+      if(nodes == null) return;
+
+      final Expr[] preds = step.exprs;
+      final int pl = preds.length;
+      if(pl < 2 || step.mayBePositional() || step.has(Flag.NDT)) continue;
+
+      final PredCosts costs = new PredCosts(data, nodes);
+      final double[] sel = new double[pl];
+      final Integer[] order = new Integer[pl];
+      boolean known = true;
+      for(int p = 0; p < pl && known; p++) {
+        sel[p] = costs.selectivity(preds[p]);
+        order[p] = p;
+        known = sel[p] != -1;
+      }
+      if(!known) continue;
+      // stable sort
+      Arrays.sort(order, (p1, p2) -> Double.compare(sel[p1], sel[p2]));
+
+      boolean changed = false;
+      for(int p = 0; p < pl && !changed; p++) changed = order[p] != p;
+      if(!changed) continue;
+
+      final Expr[] sorted = new Expr[pl];
+      final TokenBuilder tb = new TokenBuilder();
+      for(int p = 0; p < pl; p++) {
+        final int o = order[p];
+        sorted[p] = preds[o];
+        if(p > 0) tb.add(", ");
+        tb.add('[').add(preds[o].toString()).add("] ");
+        tb.add(String.format(Locale.ENGLISH, "%.4f", sel[o]));
+      }
+      cc.info(QueryText.OPTPREDS_X, tb);
+      step.exprs = sorted;
+    }
+  }
+
   /**
    * Returns an empty sequence if the path will yield no results.
    * @param cc compilation context
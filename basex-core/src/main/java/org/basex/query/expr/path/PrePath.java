@@ -0,0 +1,240 @@
+package org.basex.query.expr.path;
+
+import java.util.*;
+
+import org.basex.data.*;
+import org.basex.index.name.*;
+import org.basex.query.*;
+import org.basex.query.expr.*;
+import org.basex.query.value.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.seq.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * Evaluates axis steps on the pre values of a single database. Steps exchange lists of pre values,
+ * and no node instances are created before the final result is returned as {@link DBNodeSeq}.
+ *
+ * Supported are child, attribute, descendant, descendant-or-self and self steps with kind tests
+ * and local name tests, and predicates that are relative paths of the same kind.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+final class PrePath {
+  /** Data reference. */
+  private final Data data;
+  /** Query context. */
+  private final QueryContext qc;
+  /** Filters of the evaluated steps. */
+  private final IdentityHashMap<Step, Filter> filters = new IdentityHashMap<>();
+
+  /**
+   * Constructor.
+   * @param data data reference
+   * @param qc query context
+   */
+  private PrePath(final Data data, final QueryContext qc) {
+    this.data = data;
+    this.qc = qc;
+  }
+
+  /**
+   * Checks if the specified steps can be evaluated on pre values.
+   * @param steps steps
+   * @return result of check
+   */
+  static boolean supported(final Expr... steps) {
+    for(final Expr expr : steps) {
+      if(!(expr instanceof Step)) return false;
+      final Step step = (Step) expr;
+      switch(step.axis) {
+        case CHILD: case ATTRIBUTE: case DESCENDANT: case DESCENDANT_OR_SELF: case SELF: break;
+        default: return false;
+      }
+      final Test test = step.test;
+      if(!(test instanceof KindTest || test instanceof NameTest &&
+          ((NameTest) test).part == NamePart.LOCAL && test.type != NodeType.PI)) return false;
+      for(final Expr pred : step.exprs) {
+        if(!(pred instanceof AxisPath)) return false;
+        final AxisPath path = (AxisPath) pred;
+        if(path.root != null || !supported(path.steps)) return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Evaluates the steps of a path for the specified input nodes.
+   * @param value input nodes
+   * @param path path (its steps must be {@link #supported(Expr...)})
+   * @param qc query context
+   * @return result, or {@code null} if the input nodes are not stored in a single database
+   * @throws QueryException query exception
+   */
+  static Value eval(final Value value, final AxisPath path, final QueryContext qc)
+      throws QueryException {
+
+    final IntList pres;
+    if(value instanceof DBNode) {
+      pres = new IntList(1).add(((DBNode) value).pre());
+    } else if(value instanceof DBNodeSeq) {
+      final int[] input = ((DBNodeSeq) value).pres();
+      // sequences may be unordered (e.g. after reversal): sort copy of pre values
+      boolean ddo = true;
+      final int il = input.length;
+      for(int i = 1; i < il && ddo; i++) ddo = input[i - 1] < input[i];
+      pres = ddo ? new IntList(input) : new IntList(input.clone()).ddo();
+    } else {
+      return null;
+    }
+    final Data data = value.data();
+    return DBNodeSeq.get(new PrePath(data, qc).steps(pres, path.steps).finish(), data, path);
+  }
+
+  /**
+   * Evaluates the steps.
+   * @param input sorted and duplicate-free pre values
+   * @param steps steps
+   * @return sorted and duplicate-free pre values
+   * @throws QueryException query exception
+   */
+  private IntList steps(final IntList input, final Expr[] steps) throws QueryException {
+    IntList pres = input;
+    for(final Expr step : steps) {
+      if(pres.isEmpty()) break;
+      pres = step((Step) step, pres, false);
+    }
+    return pres;
+  }
+
+  /**
+   * Checks if the steps yield results for the specified node.
+   * @param pre pre value
+   * @param steps steps
+   * @return result of check
+   * @throws QueryException query exception
+   */
+  private boolean exists(final int pre, final Expr[] steps) throws QueryException {
+    IntList pres = new IntList(1).add(pre);
+    final int sl = steps.length;
+    for(int s = 0; s < sl && !pres.isEmpty(); s++) {
+      pres = step((Step) steps[s], pres, s == sl - 1);
+    }
+    return !pres.isEmpty();
+  }
+
+  /**
+   * Evaluates a single step.
+   * @param step step
+   * @param input sorted and duplicate-free pre values
+   * @param first stop after the first result
+   * @return sorted and duplicate-free pre values
+   * @throws QueryException query exception
+   */
+  private IntList step(final Step step, final IntList input, final boolean first)
+      throws QueryException {
+    final Filter filter = filters.computeIfAbsent(step, Filter::new);
+    final IntList output = new IntList();
+    final int is = input.size();
+    boolean sorted = true;
+    int end = -1;
+    for(int i = 0; i < is && !(first && !output.isEmpty()); i++) {
+      qc.checkStop();
+      final int pre = input.get(i), kind = data.kind(pre);
+      switch(step.axis) {
+        case SELF:
+          if(filter.matches(pre, kind)) output.add(pre);
+          break;
+        case ATTRIBUTE:
+          final int as = pre + data.attSize(pre, kind);
+          for(int p = pre + 1; p < as; p++) {
+            if(filter.matches(p, Data.ATTR)) {
+              output.add(p);
+              if(first) break;
+            }
+          }
+          break;
+        case CHILD:
+          // children of nested input nodes will not be returned in document order
+          if(pre < end) sorted = false;
+          final int cs = pre + data.size(pre, kind);
+          for(int p = pre + data.attSize(pre, kind); p < cs;) {
+            final int k = data.kind(p);
+            if(filter.matches(p, k)) {
+              output.add(p);
+              if(first) break;
+            }
+            p += data.size(p, k);
+          }
+          end = Math.max(end, cs);
+          break;
+        default:
+          // descendants of nested input nodes have already been visited
+          if(pre < end) break;
+          end = pre + data.size(pre, kind);
+          int p = step.axis == Axis.DESCENDANT ? pre + data.attSize(pre, kind) : pre;
+          while(p < end) {
+            final int k = data.kind(p);
+            if(filter.matches(p, k)) {
+              output.add(p);
+              if(first) break;
+            }
+            p += data.attSize(p, k);
+          }
+      }
+    }
+    return sorted ? output : output.ddo();
+  }
+
+  /**
+   * Node test and predicates of a step, applied to pre values.
+   */
+  private final class Filter {
+    /** Database kind ({@code -1}: all kinds). */
+    private final int kind;
+    /** Matching name ids ({@code null}: no name test). */
+    private final boolean[] names;
+    /** Predicates. */
+    private final Expr[] preds;
+
+    /**
+     * Constructor.
+     * @param step step
+     */
+    private Filter(final Step step) {
+      final Test test = step.test;
+      kind = ANode.kind(test.type);
+      if(test instanceof NameTest) {
+        final byte[] local = ((NameTest) test).local;
+        final Names nms = kind == Data.ELEM ? data.elemNames : data.attrNames;
+        final int ns = nms.size();
+        names = new boolean[ns + 1];
+        for(int n = 1; n <= ns; n++) {
+          final byte[] name = nms.key(n);
+          names[n] = name != null && Token.eq(local, Token.local(name));
+        }
+      } else {
+        names = null;
+      }
+      preds = step.exprs;
+    }
+
+    /**
+     * Checks if the specified node matches the test and the predicates.
+     * @param pre pre value
+     * @param k database kind
+     * @return result of check
+     * @throws QueryException query exception
+     */
+    private boolean matches(final int pre, final int k) throws QueryException {
+      if(kind != -1 && kind != k || names != null && !names[data.nameId(pre)]) return false;
+      for(final Expr pred : preds) {
+        if(!exists(pre, ((AxisPath) pred).steps)) return false;
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,272 @@
+package org.basex.query.expr.path;
+
+import static org.basex.index.stats.StatsType.*;
+
+import java.util.*;
+
+import org.basex.data.*;
+import org.basex.index.path.*;
+import org.basex.index.stats.*;
+import org.basex.query.*;
+import org.basex.query.expr.*;
+import org.basex.query.expr.CmpV.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
+
+/**
+ * Estimates the selectivity of predicates with the statistics of the path index.
+ *
+ * The selectivity is the expected fraction of context nodes that will be accepted by a predicate.
+ * It can be computed for existence tests ({@code [@id]}, {@code [name]}) and for comparisons of
+ * the context node, a child element or an attribute with a single item
+ * ({@code [@id = 'x']}, {@code [price < 10]}). Value distributions are taken from the distinct
+ * values of categories and from the minimum and maximum of numeric values.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+final class PredCosts {
+  /** Assumed fraction of values that are equal to a searched value. */
+  private static final double EQUAL = 0.1;
+  /** Assumed fraction of values that are accepted by a comparison. */
+  private static final double DEFAULT = 0.5;
+
+  /** Data reference. */
+  private final Data data;
+  /** Path nodes of the context nodes. */
+  private final ArrayList<PathNode> nodes;
+  /** Number of context nodes. */
+  private final double size;
+
+  /**
+   * Constructor.
+   * @param data data reference
+   * @param nodes path nodes of the context nodes
+   */
+  PredCosts(final Data data, final ArrayList<PathNode> nodes) {
+    this.data = data;
+    this.nodes = nodes;
+    int sz = 0;
+    for(final PathNode node : nodes) sz += node.stats.count;
+    size = sz;
+  }
+
+  /**
+   * Estimates the selectivity of a predicate. No estimate is returned for predicates that might
+   * raise errors, as their evaluation may depend on other predicates (e.g. type checks).
+   * @param pred predicate
+   * @return selectivity (between {@code 0} and {@code 1}), or {@code -1} if it is unknown
+   */
+  double selectivity(final Expr pred) {
+    if(size == 0) return -1;
+
+    // existence test: [@id], [name]
+    final ArrayList<PathNode> target = target(pred);
+    if(target != null) return fraction(count(target));
+
+    if(pred instanceof CmpG || pred instanceof CmpV) {
+      // comparison with single item: [@id = 'x'], [. = 'x'], [price < 10]
+      final Cmp cmp = (Cmp) pred;
+      final OpV op = cmp.opV();
+      final Expr op1 = cmp.exprs[0], op2 = cmp.exprs[1];
+      if(op == null || !(op2 instanceof Item)) return -1;
+      // general comparisons: string item, or number item and numeric values
+      // value comparisons: string item, and context node or attribute (no multiple items)
+      final boolean cmpV = pred instanceof CmpV;
+      final Type type = ((Item) op2).type;
+      final Mode mode = type.isStringOrUntyped() ? Mode.STRING :
+        type.isNumber() && !cmpV ? Mode.NUMBER : null;
+      if(mode == null) return -1;
+      final ArrayList<PathNode> values = values(op1, mode);
+      if(values == null) return -1;
+      if(cmpV && !(op1 instanceof ContextValue)) {
+        for(final PathNode value : values) {
+          if(value.kind != Data.ATTR) return -1;
+        }
+      }
+      return fraction(compare(values, op, (Item) op2));
+    } else if(pred instanceof CmpIR) {
+      // integer range: [@year >= 2000]
+      final CmpIR cmp = (CmpIR) pred;
+      final ArrayList<PathNode> values = values(cmp.expr, Mode.INTEGER);
+      if(values != null) return fraction(range(values, cmp.min, cmp.max));
+    } else if(pred instanceof CmpR) {
+      // numeric range: [price > 10]
+      final CmpR cmp = (CmpR) pred;
+      final ArrayList<PathNode> values = values(cmp.expr, Mode.NUMBER);
+      if(values != null) return fraction(range(values, cmp.min, cmp.max));
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the path nodes of child elements or attributes that are addressed by a predicate.
+   * @param expr predicate
+   * @return path nodes or {@code null}
+   */
+  private ArrayList<PathNode> target(final Expr expr) {
+    if(!(expr instanceof AxisPath)) return null;
+    final AxisPath path = (AxisPath) expr;
+    if(path.root != null || path.steps.length != 1 || !(path.steps[0] instanceof Step)) return null;
+    final Step step = (Step) path.steps[0];
+    return step.axis == Axis.CHILD || step.axis == Axis.ATTRIBUTE ? step.nodes(nodes, data) : null;
+  }
+
+  /**
+   * Returns the path nodes with the values of a comparison operand.
+   * @param expr operand
+   * @param mode comparison mode
+   * @return path nodes, or {@code null} if values are unknown or cannot be compared without errors
+   */
+  private ArrayList<PathNode> values(final Expr expr, final Mode mode) {
+    final ArrayList<PathNode> target = expr instanceof ContextValue ? nodes : target(expr);
+    if(target == null) return null;
+
+    // attributes: values are stored in the path node; elements: values of text nodes
+    final ArrayList<PathNode> values = new ArrayList<>();
+    for(final PathNode node : target) {
+      if(node.kind == Data.ATTR) {
+        values.add(node);
+      } else if(node.kind == Data.ELEM && node.stats.isLeaf()) {
+        int count = 0;
+        for(final PathNode child : node.children) {
+          if(child.kind == Data.TEXT) {
+            values.add(child);
+            count += child.stats.count;
+          }
+        }
+        // numbers: reject elements with empty or multiple text nodes
+        if(mode != Mode.STRING && count != node.stats.count) return null;
+      } else {
+        return null;
+      }
+    }
+    // numbers: all values must be numeric
+    if(mode != Mode.STRING) {
+      for(final PathNode value : values) {
+        final int type = value.stats.type;
+        if(mode == Mode.INTEGER ? !isInteger(type) : !isNumeric(type)) return null;
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Estimates the number of values that will be accepted by a comparison.
+   * @param values path nodes with values
+   * @param op comparison operator
+   * @param item item to compare with
+   * @return number of values
+   */
+  private static double compare(final ArrayList<PathNode> values, final OpV op,
+      final Item item) {
+
+    double count = 0;
+    for(final PathNode node : values) {
+      final Stats stats = node.stats;
+      final double equal = equal(stats, item);
+      switch(op) {
+        case EQ:
+          count += equal;
+          break;
+        case NE:
+          count += stats.count - equal;
+          break;
+        default:
+          final double d = number(item);
+          if(isNumeric(stats.type) && !Double.isNaN(d)) {
+            final boolean lt = op == OpV.LT || op == OpV.LE;
+            count += stats.count * share(stats, lt ? -Double.MAX_VALUE : d,
+                lt ? d : Double.MAX_VALUE);
+          } else {
+            count += stats.count * DEFAULT;
+          }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Estimates the number of values that are equal to an item.
+   * @param stats statistics
+   * @param item item
+   * @return number of values
+   */
+  private static double equal(final Stats stats, final Item item) {
+    if(isCategory(stats.type) && item instanceof Str) {
+      return Math.max(0, stats.values.get(((Str) item).string()));
+    }
+    final double d = number(item);
+    if(isNumeric(stats.type) && !Double.isNaN(d) && (d < stats.min || d > stats.max)) return 0;
+    return stats.count * EQUAL;
+  }
+
+  /**
+   * Estimates the number of values within a numeric range.
+   * @param values path nodes with values
+   * @param min minimum
+   * @param max maximum
+   * @return number of values
+   */
+  private static double range(final ArrayList<PathNode> values, final double min,
+      final double max) {
+    double count = 0;
+    for(final PathNode node : values) {
+      final Stats stats = node.stats;
+      count += stats.count * (isNumeric(stats.type) ? share(stats, min, max) : DEFAULT);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the share of numeric values within the specified range, assuming an even distribution.
+   * @param stats statistics
+   * @param min minimum
+   * @param max maximum
+   * @return share
+   */
+  private static double share(final Stats stats, final double min, final double max) {
+    final double mn = Math.max(min, stats.min), mx = Math.min(max, stats.max);
+    if(mn > mx) return 0;
+    final double range = stats.max - stats.min;
+    return range == 0 ? 1 : (mx - mn) / range;
+  }
+
+  /**
+   * Returns the numeric value of an item.
+   * @param item item
+   * @return number or {@code NaN}
+   */
+  private static double number(final Item item) {
+    return item instanceof ANum ? ((ANum) item).dbl() :
+      item instanceof Str ? Token.toDouble(((Str) item).string()) : Double.NaN;
+  }
+
+  /**
+   * Returns the number of occurrences of the specified nodes.
+   * @param target path nodes
+   * @return count
+   */
+  private static double count(final ArrayList<PathNode> target) {
+    double count = 0;
+    for(final PathNode node : target) count += node.stats.count;
+    return count;
+  }
+
+  /**
+   * Returns the fraction of context nodes.
+   * @param count number of results
+   * @return fraction
+   */
+  private double fraction(final double count) {
+    return Math.min(1, count / size);
+  }
+
+  /** Comparison modes. */
+  private enum Mode {
+    /** Strings. */ STRING,
+    /** Numbers. */ NUMBER,
+    /** Integers. */ INTEGER
+  }
+}
@@ -749,6 +749,9 @@ public enum Function implements AFunction {
   /** XQuery function. */
   _CSV_PARSE(CsvParse::new, "parse(string[,options])", arg(STR_ZO, MAP_ZO), ITEM_ZO, CSV_URI),
   /** XQuery function. */
+  _CSV_RECORDS(CsvRecords::new, "records(uri[,options])",
+      arg(STR_O, MAP_ZO), ARRAY_ZM, flag(NDT), CSV_URI),
+  /** XQuery function. */
   _CSV_SERIALIZE(CsvSerialize::new, "serialize(item[,options])",
       arg(ITEM_ZO, ITEM_ZO), STR_O, CSV_URI),
 
@@ -771,6 +774,9 @@ public enum Function implements AFunction {
   /** XQuery function. */
   _DB_BACKUPS(DbBackups::new, "backups([database])", arg(ITEM_O), ELM_ZM, flag(NDT), DB_URI),
   /** XQuery function. */
+  _DB_BULK_LOAD(DbBulkLoad::new, "bulk-load(database,input[,path[,options]])",
+      arg(STR_O, ITEM_O, STR_O, MAP_ZO), EMP, flag(UPD), DB_URI),
+  /** XQuery function. */
   _DB_CONTENT_TYPE(DbContentType::new, "content-type(database,path)",
       arg(STR_O, STR_O), STR_O, DB_URI),
   /** XQuery function. */
@@ -1432,6 +1438,9 @@ public enum Function implements AFunction {
   /** XQuery function. */
   _XQUERY_PARSE_URI(XQueryParseUri::new, "parse-uri(uri[,options])",
       arg(STR_O, MAP_ZO), NOD_O, flag(NDT), XQUERY_URI),
+  /** XQuery function. */
+  _XQUERY_SCATTER(XQueryScatter::new, "scatter(string,shards[,options])",
+      arg(STR_O, STR_ZM, MAP_ZO), ITEM_ZM, flag(NDT), XQUERY_URI),
 
   // XSLT Module
 
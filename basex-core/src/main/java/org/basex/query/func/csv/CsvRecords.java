@@ -0,0 +1,54 @@
+package org.basex.query.func.csv;
+
+import static org.basex.query.QueryError.*;
+
+import java.io.*;
+
+import org.basex.build.csv.*;
+import org.basex.io.*;
+import org.basex.io.in.*;
+import org.basex.io.parse.csv.*;
+import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.*;
+import org.basex.query.value.array.*;
+
+/**
+ * Function implementation.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class CsvRecords extends StandardFunc {
+  @Override
+  public Iter iter(final QueryContext qc) {
+    return new Iter() {
+      NewlineInput ni;
+      CsvReader reader;
+
+      @Override
+      public XQArray next() throws QueryException {
+        try {
+          if(ni == null) {
+            final IO io = checkPath(toToken(exprs[0], qc));
+            final CsvParserOptions opts = toOptions(1, new CsvParserOptions(), qc);
+            ni = new NewlineInput(io);
+            qc.resources.add(ni);
+            reader = new CsvReader(ni, opts);
+          }
+          final XQArray record = reader.next();
+          if(record == null) qc.resources.remove(ni);
+          return record;
+        } catch(final IOException ex) {
+          throw CSV_PARSE_X.get(info, ex);
+        }
+      }
+    };
+  }
+
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    return iter(qc).value(qc, this);
+  }
+}
@@ -17,9 +17,20 @@ import org.basex.util.options.*;
  * @author BaseX Team 2005-20, BSD License
  * @author Christian Gruen
  */
-public final class DbAdd extends DbNew {
+public class DbAdd extends DbNew {
   @Override
   public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
+    return add(false, qc);
+  }
+
+  /**
+   * Adds a document.
+   * @param bulk bulk mode
+   * @param qc query context
+   * @return empty sequence
+   * @throws QueryException query exception
+   */
+  final Item add(final boolean bulk, final QueryContext qc) throws QueryException {
     final Data data = checkData(qc);
     byte[] path = null;
     if(exprs.length > 2) {
@@ -29,7 +40,7 @@ public final class DbAdd extends DbNew {
     final NewInput input = checkInput(toNodeOrAtomItem(1, qc), path == null ? EMPTY : path);
     final Options opts = toOptions(3, new Options(), qc);
 
-    qc.updates().add(new DBAdd(data, input, opts, false, qc, info), qc);
+    qc.updates().add(new DBAdd(data, input, opts, false, bulk, qc, info), qc);
     return Empty.VALUE;
   }
 }
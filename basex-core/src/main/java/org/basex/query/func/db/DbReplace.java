@@ -45,7 +45,7 @@ public final class DbReplace extends DbNew {
       if(disk && bin.exists()) updates.add(new DBDelete(data, path, info), qc);
       final NewInput input = checkInput(item, token(path));
       final Update update = docs.isEmpty() ?
-        new DBAdd(data, input, opts, true, qc, info) :
+        new DBAdd(data, input, opts, true, false, qc, info) :
         new ReplaceDoc(docs.get(d++), data, input, opts, qc, info);
       updates.add(update, qc);
     }
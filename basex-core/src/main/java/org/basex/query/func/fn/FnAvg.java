@@ -28,6 +28,8 @@ public class FnAvg extends FnSum {
       if(item != null) return item;
     }
     final Iter iter = expr.atomIter(qc, info);
+    final Item result = sum(iter.iterValue(), true);
+    if(result != null) return result;
     final Item item = iter.next();
     return item == null ? Empty.VALUE : sum(iter, item, true, qc);
   }
@@ -2,9 +2,11 @@ package org.basex.query.func.fn;
 
 import org.basex.query.*;
 import org.basex.query.expr.*;
+import org.basex.query.expr.path.*;
 import org.basex.query.func.*;
 import org.basex.query.iter.*;
 import org.basex.query.util.*;
+import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.seq.*;
 import org.basex.util.*;
@@ -22,6 +24,12 @@ public final class FnCount extends StandardFunc {
     final Expr expr = exprs[0];
     if(expr.seqType().zeroOrOne()) return expr.item(qc, info) == Empty.VALUE ? Int.ZERO : Int.ONE;
 
+    // paths on database nodes: count pre values
+    if(expr instanceof AxisPath) {
+      final Value value = ((AxisPath) expr).preNodes(qc);
+      if(value != null) return Int.get(value.size());
+    }
+
     // iterative access: if the iterator size is unknown, iterate through all results
     final Iter iter = expr.iter(qc);
     long size = iter.size();
@@ -35,6 +35,8 @@ public class FnSum extends StandardFunc {
         if(item != null) return item;
       }
       final Iter iter = exprs[0].atomIter(qc, info);
+      final Item result = sum(iter.iterValue(), false);
+      if(result != null) return result;
       final Item item = iter.next();
       if(item != null) return sum(iter, item, false, qc);
     }
@@ -120,6 +122,36 @@ public class FnSum extends StandardFunc {
     return item.type.isNumber() ? Calc.MULT.eval(item, Int.get(seq.size()), info) : null;
   }
 
+  /**
+   * Sums up the values of a native sequence.
+   * @param value value (can be {@code null})
+   * @param avg calculate average
+   * @return summed up item, or {@code null} if the value cannot be processed natively
+   * @throws QueryException query exception
+   */
+  final Item sum(final Value value, final boolean avg) throws QueryException {
+    if(value instanceof IntSeq) {
+      final long[] values = ((IntSeq) value).values();
+      long sum = 0;
+      try {
+        for(final long v : values) sum = Math.addExact(sum, v);
+      } catch(final ArithmeticException ex) {
+        // overflow: error will be raised by the item-based evaluation
+        Util.debug(ex);
+        return null;
+      }
+      return avg ? Calc.DIV.eval(Int.get(sum), Int.get(values.length), info) : Int.get(sum);
+    }
+    if(value instanceof DblSeq) {
+      final double[] values = ((DblSeq) value).toJava();
+      final int vl = values.length;
+      double sum = values[0];
+      for(int v = 1; v < vl; v++) sum += values[v];
+      return Dbl.get(avg ? sum / vl : sum);
+    }
+    return null;
+  }
+
   /**
    * Sums up the specified item(s).
    * @param iter iterator
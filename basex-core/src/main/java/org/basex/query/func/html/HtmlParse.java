@@ -43,7 +43,7 @@ public class HtmlParse extends StandardFunc {
   protected final Item parse(final IO io, final QueryContext qc) throws QueryException {
     final HtmlOptions opts = toOptions(1, new HtmlOptions(), qc);
     try {
-      return new DBNode(new org.basex.build.html.HtmlParser(io, MainOptions.get(), opts));
+      return new DBNode(org.basex.build.html.HtmlParser.get(io, MainOptions.get(), opts));
     } catch(final IOException ex) {
       throw HTML_PARSE_X.get(info, ex);
     }
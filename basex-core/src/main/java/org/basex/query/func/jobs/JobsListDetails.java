@@ -8,7 +8,9 @@ import org.basex.core.jobs.*;
 import org.basex.query.*;
 import org.basex.query.func.*;
 import org.basex.query.value.*;
+import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
+import org.basex.util.*;
 import org.basex.util.list.*;
 
 /**
@@ -43,6 +45,14 @@ public final class JobsListDetails extends StandardFunc {
         final byte[] value = entry.get(a);
         if(value.length != 0) elem.add(atts[a], value);
       }
+      // metrics of scheduled jobs
+      final QueryJobTask task = jobs.tasks.get(Token.string(key));
+      if(task != null) {
+        if(task.cron != null) elem.add(CRON, task.cron.toString());
+        elem.add(RUNS, Token.token(task.runs));
+        elem.add(MISFIRES, Token.token(task.misfires));
+        elem.add(RUNTIME, DTDur.get(task.time / 1000000).string(null));
+      }
       elem.add(entry.get(entry.size() - 1));
       vb.add(elem);
     }
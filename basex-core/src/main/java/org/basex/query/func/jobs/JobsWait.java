@@ -24,9 +24,14 @@ public final class JobsWait extends StandardFunc {
     if(qc.jc().id().equals(id)) throw JOBS_SELF_X.get(info, id);
 
     final JobPool pool = qc.context.jobs;
-    while(pool.tasks.containsKey(id) || pool.active.containsKey(id)) {
-      Performance.sleep(1);
-      qc.checkStop();
+    pool.blocked(true);
+    try {
+      while(pool.tasks.containsKey(id) || pool.active.containsKey(id)) {
+        Performance.sleep(1);
+        qc.checkStop();
+      }
+    } finally {
+      pool.blocked(false);
     }
     return Empty.VALUE;
   }
@@ -0,0 +1,233 @@
+package org.basex.query.func.xquery;
+
+import static org.basex.query.QueryError.*;
+import static org.basex.util.Token.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.*;
+
+import org.basex.api.client.*;
+import org.basex.core.*;
+import org.basex.core.jobs.*;
+import org.basex.data.*;
+import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.query.iter.*;
+import org.basex.query.util.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.seq.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+import org.basex.util.options.*;
+
+/**
+ * Function implementation.
+ *
+ * A query is evaluated on each shard of a collection, and the results are concatenated in the
+ * order of the shards. A local shard is a database name or a glob pattern; the documents of the
+ * database are bound to the context. A remote shard has the form {@code host[:port]/name}; the
+ * query is sent to the remote server and evaluated there by this function.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class XQueryScatter extends StandardFunc {
+  /** Query for evaluating a shard on a remote server. */
+  private static final String REMOTE = "declare variable $query external;" +
+      "declare variable $shard external;" + Function._XQUERY_SCATTER.args(" $query", " $shard");
+  /** Query pattern. */
+  private static final Pattern QUERYPAT = Pattern.compile("\\[(.*?)] (.*)", Pattern.MULTILINE);
+
+  /** Scatter options. */
+  public static final class ScatterOptions extends Options {
+    /** Maximum number of shards evaluated in parallel ({@code 0}: number of processors). */
+    public static final NumberOption PARALLEL = new NumberOption("parallel", 0);
+    /** User name for remote shards (default: {@link StaticOptions#USER}). */
+    public static final StringOption USER = new StringOption("user", "");
+    /** Password for remote shards (default: {@link StaticOptions#PASSWORD}). */
+    public static final StringOption PASSWORD = new StringOption("password", "");
+  }
+
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    final String query = string(toToken(exprs[0], qc));
+    final ScatterOptions opts = toOptions(2, new ScatterOptions(), qc);
+    final StringList shards = shards(qc);
+
+    final int size = shards.size();
+    if(size == 0) return Empty.VALUE;
+    if(size == 1) return shard(shards.get(0), query, opts, new QueryContext(qc));
+
+    final int parallel = opts.get(ScatterOptions.PARALLEL);
+    final ForkJoinPool pool = new ForkJoinPool(Math.min(size,
+        parallel > 0 ? parallel : Runtime.getRuntime().availableProcessors()));
+    final ArrayList<QueryContext> qctxs = new ArrayList<>(size);
+    try {
+      final ArrayList<ForkJoinTask<Value>> tasks = new ArrayList<>(size);
+      for(final String shard : shards) {
+        final QueryContext qctx = new QueryContext(qc);
+        qctxs.add(qctx);
+        tasks.add(pool.submit(() -> shard(shard, query, opts, qctx)));
+      }
+      // gather results in the order of the shards
+      final ValueBuilder vb = new ValueBuilder(qc);
+      for(final ForkJoinTask<Value> task : tasks) vb.add(task.get());
+      return vb.value();
+    } catch(final Exception ex) {
+      // stop evaluation of remaining shards
+      for(final QueryContext qctx : qctxs) qctx.stop();
+      // pass on query and job exceptions
+      final Throwable e = Util.rootException(ex);
+      if(e instanceof QueryException) throw (QueryException) e;
+      if(e instanceof JobException) throw (JobException) e;
+      throw XQUERY_UNEXPECTED_X.get(info, e);
+    } finally {
+      // wait until all shards have been closed (resources are shared with the calling query)
+      pool.shutdown();
+      try {
+        pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+      } catch(final InterruptedException ex) {
+        Util.debug(ex);
+      }
+    }
+  }
+
+  /**
+   * Returns the shards. Local glob patterns are resolved to the matching databases.
+   * @param qc query context
+   * @return shards
+   * @throws QueryException query exception
+   */
+  private StringList shards(final QueryContext qc) throws QueryException {
+    final StringList shards = new StringList();
+    final Iter iter = exprs[1].iter(qc);
+    for(Item item; (item = qc.next(iter)) != null;) {
+      final String shard = string(toToken(item));
+      if(shard.indexOf('/') != -1) {
+        shards.add(shard);
+      } else if(Databases.validName(shard)) {
+        shards.add(shard);
+      } else if(Databases.validPattern(shard)) {
+        shards.add(qc.context.databases.listDBs(shard));
+      } else {
+        throw XQUERY_SHARD_X.get(info, shard);
+      }
+    }
+    return shards;
+  }
+
+  /**
+   * Evaluates the query on a single shard.
+   * @param shard shard
+   * @param query query
+   * @param opts options
+   * @param qctx query context for the evaluation (will be closed)
+   * @return resulting value
+   * @throws QueryException query exception
+   */
+  private Value shard(final String shard, final String query, final ScatterOptions opts,
+      final QueryContext qctx) throws QueryException {
+    try {
+      return shard.indexOf('/') != -1 ? remote(shard, query, opts, qctx) :
+        local(shard, query, qctx);
+    } finally {
+      qctx.close();
+    }
+  }
+
+  /**
+   * Evaluates the query on a local database.
+   * @param db name of database
+   * @param query query
+   * @param qctx query context
+   * @return resulting value
+   * @throws QueryException query exception
+   */
+  private Value local(final String db, final String query, final QueryContext qctx)
+      throws QueryException {
+
+    final Data data = qctx.resources.database(db, info);
+    final StaticContext sctx = new StaticContext(qctx);
+    qctx.context(DBNodeSeq.get(data.resources.docs(""), data, true, true), sctx);
+    try {
+      qctx.parseMain(query, null, sctx);
+      if(qctx.updating) throw XQUERY_UPDATE1.get(info);
+
+      final ValueBuilder vb = new ValueBuilder(qctx);
+      final Iter iter = qctx.iter();
+      for(Item item; (item = qctx.next(iter)) != null;) vb.add(item);
+      return vb.value();
+    } catch(final QueryException ex) {
+      ex.info(info);
+      throw ex;
+    }
+  }
+
+  /**
+   * Evaluates the query on a remote server.
+   * @param shard remote shard ({@code host[:port]/name})
+   * @param query query
+   * @param opts options
+   * @param qctx query context
+   * @return resulting value
+   * @throws QueryException query exception
+   */
+  private Value remote(final String shard, final String query, final ScatterOptions opts,
+      final QueryContext qctx) throws QueryException {
+
+    final StaticOptions sopts = qctx.context.soptions;
+    final int s = shard.indexOf('/'), c = shard.lastIndexOf(':', s);
+    final String host = shard.substring(0, c == -1 ? s : c);
+    final int port = c == -1 ? sopts.get(StaticOptions.SERVERPORT) :
+      Strings.toInt(shard.substring(c + 1, s));
+    final String db = shard.substring(s + 1);
+    if(host.isEmpty() || port < 0 || !Databases.validPattern(db))
+      throw XQUERY_SHARD_X.get(info, shard);
+
+    String user = opts.get(ScatterOptions.USER), password = opts.get(ScatterOptions.PASSWORD);
+    if(user.isEmpty()) {
+      user = sopts.get(StaticOptions.USER);
+      password = sopts.get(StaticOptions.PASSWORD);
+    }
+
+    final ValueBuilder vb = new ValueBuilder(qctx);
+    try(ClientSession cs = new ClientSession(host, port, user, password);
+        ClientQuery cq = cs.query(REMOTE)) {
+      cq.bind("query", query);
+      cq.bind("shard", db);
+      cq.cache(true);
+      while(cq.more()) {
+        final String result = cq.next();
+        final Type type = cq.type();
+        if(type instanceof FuncType) throw CLIENT_FITEM_X.get(info, result);
+        vb.add(type.castString(result, qctx, sc, info));
+      }
+      return vb.value();
+    } catch(final BaseXException ex) {
+      final Matcher m = QUERYPAT.matcher(ex.getMessage());
+      if(m.find()) {
+        final String name = m.group(1), msg = m.group(2);
+        final QueryException exc = get(name, msg, info);
+        if(exc != null) throw exc;
+        // resolve the namespace of the error code (e.g. err:FOER0000, db:open)
+        QNm qnm = new QNm(name);
+        final byte[] uri = qnm.hasPrefix() ? NSGlobal.uri(qnm.prefix()) : null;
+        if(uri != null) qnm = new QNm(name, uri);
+        throw new QueryException(info, qnm, msg);
+      }
+      throw CLIENT_QUERY_X.get(info, ex);
+    } catch(final IOException ex) {
+      throw CLIENT_CONNECT_X.get(info, ex);
+    }
+  }
+
+  @Override
+  public boolean accept(final ASTVisitor visitor) {
+    // locked resources cannot be detected statically
+    return visitor.lock(null, false) && super.accept(visitor);
+  }
+}
@@ -36,7 +36,7 @@ public class ZipXmlEntry extends ZipBinaryEntry {
     final MainOptions opts = qc.context.options;
     final IO io = new IOContent(entry(qc));
     try {
-      return new DBNode(html ? new HtmlParser(io, opts) : Parser.xmlParser(io));
+      return new DBNode(html ? HtmlParser.get(io, opts) : Parser.xmlParser(io));
     } catch(final IOException ex) {
       throw SAXERR_X.get(info, ex);
     }
@@ -76,15 +76,31 @@ public final class DBNew {
    * @throws QueryException query exception
    */
   public void prepare(final String name, final boolean create) throws QueryException {
+    prepare(name, create, false);
+  }
+
+  /**
+   * Inserts all documents to be added to a temporary database.
+   * @param name name of database
+   * @param create create new database
+   * @param bulk bulk mode: stream all inputs into a single temporary database on disk
+   * @throws QueryException query exception
+   */
+  public void prepare(final String name, final boolean create, final boolean bulk)
+      throws QueryException {
+
     final long is = inputs.size();
     if(is == 0) return;
 
     // check if new resources will be cached on disk
-    final boolean cache = cache(create);
+    final boolean cache = bulk || cache(create);
     try {
       if(is == 1) {
         // single input: create temporary database
         data = tmpData(name, 0, cache);
+      } else if(bulk && stream()) {
+        // bulk mode: parse all inputs with a single builder
+        data = bulkData(name);
       } else {
         // multiple input: create temporary database and insert inputs
         final Context ctx = qc.context;
@@ -161,6 +177,66 @@ public final class DBNew {
     return false;
   }
 
+  /**
+   * Checks if all inputs can be sent to a single builder.
+   * Subtree filters are applied by the builder and must be identical for all inputs.
+   * @return result of check
+   */
+  private boolean stream() {
+    for(final DBOptions dbopts : dboptions) {
+      if(dbopts.get(MainOptions.STREAMPATH) != null) return false;
+    }
+    return true;
+  }
+
+  /**
+   * Creates a temporary database instance on disk with the contents of all inputs.
+   * @param name name of database
+   * @return database
+   * @throws IOException I/O exception
+   */
+  private Data bulkData(final String name) throws IOException {
+    final Context ctx = qc.context;
+    final StaticOptions sopts = ctx.soptions;
+    final String dbname = sopts.createRandomDb(name);
+    final Parser parser = new Parser((IO) null, ctx.options) {
+      @Override
+      public void parse(final Builder build) throws IOException {
+        final int is = inputs.size();
+        for(int i = 0; i < is; i++) {
+          // free memory: clear list entries after retrieval
+          final NewInput input = inputs.get(i);
+          final MainOptions mopts = dboptions.get(i).assignTo(new MainOptions(ctx.options, true));
+          inputs.set(i, null);
+          dboptions.set(i, null);
+
+          if(input.node != null) {
+            build.copy(nodeData(input, name, mopts));
+          } else {
+            new DirParser(input.io, mopts).target(input.path).parse(build);
+          }
+        }
+      }
+    };
+    return new DiskBuilder(dbname, parser, sopts, ctx.options).binaryDir(sopts.dbPath(dbname)).
+        build();
+  }
+
+  /**
+   * Creates a main-memory database instance for the specified node.
+   * @param input input with existing node
+   * @param name name of database
+   * @param mopts main options
+   * @return database
+   */
+  private MemData nodeData(final NewInput input, final String name, final MainOptions mopts) {
+    ANode node = input.node;
+    if(node.type != NodeType.DOC) node = new FDoc(name).add(node);
+    final MemData mdata = (MemData) node.copy(mopts, qc).data();
+    mdata.update(0, Data.DOC, token(input.path));
+    return mdata;
+  }
+
   /**
    * Creates a temporary database instance with the contents of the specified input.
    * @param name name of database
@@ -177,13 +253,7 @@ public final class DBNew {
     dboptions.set(i, null);
 
     // existing node: create data clip for copied instance
-    ANode node = input.node;
-    if(node != null) {
-      if(node.type != NodeType.DOC) node = new FDoc(name).add(node);
-      final MemData mdata = (MemData) node.copy(mopts, qc).data();
-      mdata.update(0, Data.DOC, token(input.path));
-      return mdata;
-    }
+    if(input.node != null) return nodeData(input, name, mopts);
 
     final StaticOptions sopts = qc.context.soptions;
     final Parser parser = new DirParser(input.io, mopts).target(input.path);
@@ -2,7 +2,11 @@ package org.basex.query.up.primitives.db;
 
 import static org.basex.query.QueryError.*;
 
+import java.io.*;
+
+import org.basex.core.cmd.*;
 import org.basex.data.*;
+import org.basex.index.*;
 import org.basex.query.*;
 import org.basex.query.up.primitives.*;
 import org.basex.util.*;
@@ -19,6 +23,8 @@ public final class DBAdd extends DBUpdate {
   private final DBNew newDocs;
   /** Replace flag. */
   private final boolean replace;
+  /** Bulk mode: stage all documents on disk, rebuild value indexes once. */
+  private boolean bulk;
   /** Size. */
   private int size;
 
@@ -28,15 +34,17 @@ public final class DBAdd extends DBUpdate {
    * @param input document to add (IO or ANode instance)
    * @param opts database options
    * @param replace replace flag
+   * @param bulk bulk mode
    * @param qc query context
    * @param info input info
    * @throws QueryException query exception
    */
   public DBAdd(final Data data, final NewInput input, final Options opts, final boolean replace,
-      final QueryContext qc, final InputInfo info) throws QueryException {
+      final boolean bulk, final QueryContext qc, final InputInfo info) throws QueryException {
 
     super(UpdateType.DBADD, data, info);
     this.replace = replace;
+    this.bulk = bulk;
 
     final DBOptions options = new DBOptions(opts, DBOptions.PARSING, info);
     newDocs = new DBNew(qc, options, info, input);
@@ -53,17 +61,41 @@ public final class DBAdd extends DBUpdate {
       if(path.equals(addPath)) throw UPMULTDOC_X_X.get(info, data.meta.name, addPath);
     }
     newDocs.merge(add.newDocs);
+    bulk |= add.bulk;
   }
 
   @Override
   public void prepare() throws QueryException {
     size = newDocs.inputs.size();
-    newDocs.prepare(data.meta.name, false);
+    newDocs.prepare(data.meta.name, false, bulk);
   }
 
   @Override
   public void apply() throws QueryException {
+    // bulk mode: suspend incremental updates of the value indexes
+    final MetaData meta = data.meta;
+    final boolean rebuild = bulk && meta.updindex;
+    final IndexType[] types = { IndexType.TEXT, IndexType.ATTRIBUTE, IndexType.TOKEN };
+    final boolean[] indexes = new boolean[types.length];
+    if(rebuild) {
+      for(int t = 0; t < types.length; t++) {
+        indexes[t] = meta.index(types[t]);
+        meta.index(types[t], false);
+      }
+    }
+
     newDocs.add(data);
+
+    // rebuild suspended indexes
+    if(rebuild) {
+      try {
+        for(int t = 0; t < types.length; t++) {
+          if(indexes[t]) CreateIndex.create(types[t], data, null);
+        }
+      } catch(final IOException ex) {
+        throw UPDBERROR_X.get(info, ex);
+      }
+    }
   }
 
   @Override
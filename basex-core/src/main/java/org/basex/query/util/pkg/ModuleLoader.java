@@ -33,6 +33,8 @@ public final class ModuleLoader {
   private final HashSet<Object> javaModules = new HashSet<>();
   /** Current class loader. */
   private ClassLoader loader = LOADER;
+  /** Indicates if Java classes have been bound. */
+  private boolean java;
 
   /**
    * Constructor.
@@ -143,7 +145,10 @@ public final class ModuleLoader {
       urls.clear();
     }
     // no external classes added: use default class loader
-    return loader == LOADER ? Reflect.forName(name) : Class.forName(name, true, loader);
+    final Class<?> clz = loader == LOADER ? Reflect.forName(name) :
+      Class.forName(name, true, loader);
+    java = true;
+    return clz;
   }
 
   /**
@@ -158,6 +163,14 @@ public final class ModuleLoader {
     return null;
   }
 
+  /**
+   * Indicates if Java modules have been imported or if Java classes have been bound.
+   * @return result of check
+   */
+  public boolean java() {
+    return java || !javaModules.isEmpty();
+  }
+
   // PRIVATE METHODS ==============================================================================
 
   /**
@@ -0,0 +1,94 @@
+package org.basex.server;
+
+import org.basex.query.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.type.*;
+import org.basex.query.value.type.Type.ID;
+import org.basex.util.list.*;
+
+/**
+ * Binary encoding of atomic items for the client/server protocol.
+ * If the encoding has been enabled for a session, integers, doubles, floats and booleans are
+ * transferred in their binary representation instead of being serialized as strings:
+ * <ul>
+ * <li> {@code xs:integer}: zig-zag encoded, with 7 bits per byte</li>
+ * <li> {@code xs:double}: 8 bytes (IEEE 754, big endian)</li>
+ * <li> {@code xs:float}: 4 bytes (IEEE 754, big endian)</li>
+ * <li> {@code xs:boolean}: 1 byte</li>
+ * </ul>
+ * Like serialized items, the encoded bytes are escaped by {@link ServerOutput}.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class BinaryItems {
+  /** Private constructor. */
+  private BinaryItems() { }
+
+  /**
+   * Returns the binary representation of an item.
+   * @param item item
+   * @return bytes, or {@code null} if the item has no binary representation
+   * @throws QueryException query exception
+   */
+  public static byte[] encode(final Item item) throws QueryException {
+    final Type type = item.type;
+    if(type == AtomType.ITR) {
+      final long value = item.itr(null);
+      long zz = value << 1 ^ value >> 63;
+      final ByteList bl = new ByteList(10);
+      while((zz & ~0x7FL) != 0) {
+        bl.add((int) (zz & 0x7F | 0x80));
+        zz >>>= 7;
+      }
+      return bl.add((int) zz).finish();
+    }
+    if(type == AtomType.DBL) return bytes(Double.doubleToRawLongBits(item.dbl(null)), 8);
+    if(type == AtomType.FLT) return bytes(Float.floatToRawIntBits(item.flt(null)), 4);
+    if(type == AtomType.BLN) return new byte[] { (byte) (item.bool(null) ? 1 : 0) };
+    return null;
+  }
+
+  /**
+   * Decodes an item.
+   * @param bytes bytes
+   * @param type type id
+   * @return item, or {@code null} if the type has no binary representation
+   */
+  public static Item decode(final byte[] bytes, final int type) {
+    final ID id = ID.get(type);
+    if(id == ID.ITR) {
+      long zz = 0;
+      final int bl = bytes.length;
+      for(int b = 0; b < bl; b++) zz |= (bytes[b] & 0x7FL) << 7 * b;
+      return Int.get(zz >>> 1 ^ -(zz & 1));
+    }
+    if(id == ID.DBL) return Dbl.get(Double.longBitsToDouble(number(bytes)));
+    if(id == ID.FLT) return Flt.get(Float.intBitsToFloat((int) number(bytes)));
+    if(id == ID.BLN) return Bln.get(bytes[0] != 0);
+    return null;
+  }
+
+  /**
+   * Returns the bytes of a number in big endian order.
+   * @param value value
+   * @param size number of bytes
+   * @return bytes
+   */
+  private static byte[] bytes(final long value, final int size) {
+    final byte[] bytes = new byte[size];
+    for(int s = 0; s < size; s++) bytes[s] = (byte) (value >>> (size - 1 - s << 3));
+    return bytes;
+  }
+
+  /**
+   * Returns a number from bytes in big endian order.
+   * @param bytes bytes
+   * @return value
+   */
+  private static long number(final byte[] bytes) {
+    long value = 0;
+    for(final byte b : bytes) value = value << 8 | b & 0xFF;
+    return value;
+  }
+}
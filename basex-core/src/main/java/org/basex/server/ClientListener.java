@@ -25,14 +25,14 @@ import org.basex.util.list.*;
  * @author Andreas Weiler
  * @author Christian Gruen
  */
-public final class ClientListener extends Thread implements ClientInfo {
+public final class ClientListener implements Runnable, ClientInfo {
   /** Prints trace output to the evaluation info. */
   private static final QueryTracer PASS = info -> true;
 
-  /** Timer for authentication time out. */
-  public final Timer timeout = new Timer();
+  /** Authentication timeout (can be {@code null}). */
+  public TimerTask timeout;
   /** Timestamp of last interaction. */
-  public long last;
+  public volatile long last;
 
   /** Active queries. */
   private final HashMap<String, ServerQuery> queries = new HashMap<>();
@@ -51,12 +51,18 @@ public final class ClientListener extends Thread implements ClientInfo {
   private PrintOutput out;
   /** Current command. */
   private Command command;
+  /** Query with an open cursor. */
+  private ServerQuery cursor;
+  /** Binary encoding of atomic query results. */
+  private boolean binary;
   /** Query id counter. */
   private int id;
   /** Indicates if the server thread is running. */
   private volatile boolean authenticated;
   /** Indicates if the server has been closed. */
   private boolean closed;
+  /** Indicates if the session is waiting for the next request. */
+  private volatile boolean waiting;
 
   /**
    * Constructor.
@@ -69,7 +75,6 @@ public final class ClientListener extends Thread implements ClientInfo {
     this.socket = socket;
     this.server = server;
     last = System.currentTimeMillis();
-    setDaemon(true);
   }
 
   @Override
@@ -82,7 +87,10 @@ public final class ClientListener extends Thread implements ClientInfo {
         String cmd;
         final ServerCmd sc;
         try {
+          last = System.currentTimeMillis();
+          waiting = true;
           final int b = in.read();
+          waiting = false;
           if(b == -1) {
             // end of stream: exit session
             close();
@@ -101,6 +109,10 @@ public final class ClientListener extends Thread implements ClientInfo {
             replace();
           } else if(sc == ServerCmd.STORE) {
             store();
+          } else if(sc == ServerCmd.BINARY) {
+            binary();
+          } else if(sc == ServerCmd.SNAPSHOT) {
+            snapshot();
           } else if(sc != ServerCmd.COMMAND) {
             query(sc);
           } else {
@@ -115,6 +127,7 @@ public final class ClientListener extends Thread implements ClientInfo {
         }
         if(sc != ServerCmd.COMMAND) continue;
 
+        cancel();
         // parse input and create command instance
         try {
           command = CommandParser.get(cmd, context).parseSingle();
@@ -165,6 +178,7 @@ public final class ClientListener extends Thread implements ClientInfo {
       close();
     }
     command = null;
+    cancel();
   }
 
   /**
@@ -240,6 +254,16 @@ public final class ClientListener extends Thread implements ClientInfo {
     }
   }
 
+  /**
+   * Checks if the session has been waiting for a request for longer than the specified time.
+   * @param time current time
+   * @param timeout timeout (in milliseconds)
+   * @return result of check
+   */
+  public boolean inactive(final long time, final long timeout) {
+    return waiting && time - last > timeout;
+  }
+
   /**
    * Returns the context of this session.
    * @return user reference
@@ -333,12 +357,55 @@ public final class ClientListener extends Thread implements ClientInfo {
     execute(new Store(in.readString()));
   }
 
+  /**
+   * Enables or disables the binary encoding of atomic query results.
+   * The response has the same format as the one of database commands: older servers will
+   * interpret the request as invalid command, and clients can fall back to string results.
+   * @throws IOException I/O exception
+   */
+  private void binary() throws IOException {
+    binary = Boolean.parseBoolean(in.readString());
+    log(LogType.REQUEST, ServerCmd.BINARY + "[" + binary + ']');
+    // send 0 to mark end of result
+    out.write(0);
+    success("");
+  }
+
+  /**
+   * Sends a zipped snapshot of a database if it has been modified after the specified time.
+   * The response has the same format as the one of database commands; the info string contains
+   * the time of the snapshot.
+   * @throws IOException I/O exception
+   */
+  private void snapshot() throws IOException {
+    final String db = in.readString();
+    final long time = Strings.toLong(in.readString());
+    cancel();
+    log(LogType.REQUEST, ServerCmd.SNAPSHOT + "[" + db + ']');
+
+    boolean ok = true;
+    String info;
+    try {
+      final Snapshot snapshot = new Snapshot(db, time);
+      snapshot.execute(context, new ServerOutput(out));
+      info = snapshot.info();
+    } catch(final BaseXException ex) {
+      Util.debug(ex);
+      ok = false;
+      info = ex.getMessage();
+    }
+    // send 0 to mark end of result
+    out.write(0);
+    info(info, ok);
+  }
+
   /**
    * Executes the specified command.
    * @param cmd command to be executed
    * @throws IOException I/O exception
    */
   private void execute(final Command cmd) throws IOException {
+    cancel();
     log(LogType.REQUEST, cmd + " [...]");
     final ServerInput si = new ServerInput(in);
     try {
@@ -359,6 +426,9 @@ public final class ClientListener extends Thread implements ClientInfo {
   private void query(final ServerCmd sc) throws IOException {
     // iterator argument (query or identifier)
     String arg = in.readString();
+    final int max = sc == ServerCmd.FETCH ? Math.max(1, Strings.toInt(in.readString())) : 0;
+    if(sc == ServerCmd.EXEC || sc == ServerCmd.RESULTS || sc == ServerCmd.FULL ||
+       sc == ServerCmd.EVAL) cancel();
 
     String error = null;
     try {
@@ -368,6 +438,7 @@ public final class ClientListener extends Thread implements ClientInfo {
         final String query = arg;
         qp = new ServerQuery(query, context);
         qp.jc().tracer = PASS;
+        qp.binary = binary;
         arg = Integer.toString(id++);
         queries.put(arg, qp);
         // send {ID}0
@@ -375,6 +446,26 @@ public final class ClientListener extends Thread implements ClientInfo {
         out.write(0);
         // write log file
         info.append(query);
+      } else if(sc == ServerCmd.EVAL) {
+        // read all bindings before the query is parsed
+        final StringList bindings = new StringList();
+        for(String key; !(key = in.readString()).isEmpty();) {
+          bindings.add(key).add(in.readString()).add(in.readString());
+        }
+        qp = new ServerQuery(arg, context);
+        qp.jc().tracer = PASS;
+        final int bs = bindings.size();
+        for(int b = 0; b < bs; b += 3) {
+          final String key = bindings.get(b), val = bindings.get(b + 1), typ = bindings.get(b + 2);
+          if(key.equals(".")) qp.context(val, typ);
+          else qp.bind(key, val, typ);
+        }
+        qp.execute(out, false, true, false);
+        // send 0 as end marker
+        out.write(0);
+        // write log file
+        info.append(arg);
+        arg = "";
       } else {
         // find query process
         qp = queries.get(arg);
@@ -400,6 +491,9 @@ public final class ClientListener extends Thread implements ClientInfo {
           qp.execute(out, false, true, false);
         } else if(sc == ServerCmd.FULL) {
           qp.execute(out, true, true, true);
+        } else if(sc == ServerCmd.FETCH) {
+          if(qp != cursor) cancel();
+          if(qp.fetch(out, max)) cursor = qp;
         } else if(sc == ServerCmd.INFO) {
           out.print(qp.info());
         } else if(sc == ServerCmd.OPTIONS) {
@@ -407,6 +501,7 @@ public final class ClientListener extends Thread implements ClientInfo {
         } else if(sc == ServerCmd.UPDATING) {
           out.print(Boolean.toString(qp.updating()));
         } else if(sc == ServerCmd.CLOSE) {
+          if(qp == cursor) cancel();
           queries.remove(arg);
         } else if(sc == ServerCmd.NEXT) {
           throw new Exception("Protocol for query iteration is out-of-date.");
@@ -426,6 +521,8 @@ public final class ClientListener extends Thread implements ClientInfo {
       log(LogType.ERROR, error);
       queries.remove(arg);
     }
+    // reset reference if the cursor has been closed
+    if(cursor != null && !cursor.cursor()) cursor = null;
     if(error != null) {
       // send 0 as end marker, 1 as error flag, and {MSG}0
       out.write(0);
@@ -433,7 +530,18 @@ public final class ClientListener extends Thread implements ClientInfo {
       out.print(error);
       out.write(0);
     }
-    out.flush();
+    flush();
+  }
+
+  /**
+   * Closes an open cursor. As locks are bound to threads, this function must be called by the
+   * thread that processes the requests of this session.
+   */
+  private void cancel() {
+    if(cursor != null) {
+      cursor.cancel();
+      cursor = null;
+    }
   }
 
   /**
@@ -443,7 +551,16 @@ public final class ClientListener extends Thread implements ClientInfo {
    */
   private void send(final boolean ok) throws IOException {
     out.write(ok ? 0 : 1);
-    out.flush();
+    flush();
+  }
+
+  /**
+   * Flushes the output. If the client has pipelined further requests, the responses are
+   * buffered and sent together with the next ones.
+   * @throws IOException I/O exception
+   */
+  private void flush() throws IOException {
+    if(in == null || in.available() == 0) out.flush();
   }
 
   /**
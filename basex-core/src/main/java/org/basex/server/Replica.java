@@ -0,0 +1,108 @@
+package org.basex.server;
+
+import java.io.*;
+import java.util.*;
+
+import org.basex.api.client.*;
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.core.users.*;
+import org.basex.io.*;
+import org.basex.io.out.*;
+import org.basex.server.Log.LogType;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * Replicates the databases of a primary server (see {@link StaticOptions#REPLICAOF}).
+ * The databases of the primary are compared with the local databases in regular intervals.
+ * Modified databases are transferred as zipped snapshots and restored; databases that do not
+ * exist on the primary are dropped. Clients of a replica have read-only access to the databases
+ * (see {@link Context#perm(Perm, String)}).
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class Replica implements Runnable {
+  /** Database context. */
+  private final Context context;
+  /** Host of the primary server. */
+  private final String host;
+  /** Port of the primary server. */
+  private final int port;
+  /** Times of the last snapshots. */
+  private final HashMap<String, Long> times = new HashMap<>();
+
+  /**
+   * Constructor.
+   * @param ctx database context of the server
+   * @param primary host and port of the primary server
+   */
+  public Replica(final Context ctx, final String primary) {
+    context = new Context(ctx);
+    context.user(ctx.users.get(UserText.ADMIN));
+    final int c = primary.lastIndexOf(':');
+    host = c == -1 ? primary : primary.substring(0, c);
+    port = c == -1 ? ctx.soptions.get(StaticOptions.SERVERPORT) :
+      Strings.toInt(primary.substring(c + 1));
+  }
+
+  @Override
+  public void run() {
+    // catch all exceptions: otherwise, replication would be stopped
+    try {
+      replicate();
+    } catch(final IOException | RuntimeException ex) {
+      Util.debug(ex);
+      context.log.writeServer(LogType.ERROR, Util.message(ex));
+    }
+  }
+
+  /**
+   * Replicates the databases of the primary server.
+   * @throws IOException I/O exception
+   */
+  private void replicate() throws IOException {
+    final StaticOptions sopts = context.soptions;
+    try(ClientSession cs = new ClientSession(host, port, sopts.get(StaticOptions.USER),
+        sopts.get(StaticOptions.PASSWORD))) {
+
+      final StringList dbs = new StringList();
+      try(ClientQuery query = cs.query("db:list()")) {
+        while(query.more()) dbs.add(query.next());
+      }
+
+      // restore modified databases
+      sopts.dbPath().md();
+      for(final String db : dbs) {
+        final long time = times.getOrDefault(db, 0L);
+        final String backup = db + '-' + DateTime.format(new Date(), DateTime.DATETIME);
+        final IOFile zip = sopts.dbPath(backup + IO.ZIPSUFFIX);
+        try {
+          final long next;
+          try(BufferOutput out = new BufferOutput(zip)) {
+            next = cs.snapshot(db, time, out);
+          }
+          if(next != time) {
+            new Restore(backup).execute(context);
+            times.put(db, next);
+            context.log.writeServer(LogType.OK, "Replicated: " + db);
+          }
+        } catch(final BaseXException ex) {
+          // skip database, retry with next run
+          Util.debug(ex);
+          context.log.writeServer(LogType.ERROR, Util.message(ex));
+        } finally {
+          zip.delete();
+        }
+      }
+
+      // drop databases that do not exist on the primary
+      for(final String db : context.databases.listDBs(null)) {
+        if(dbs.contains(db)) continue;
+        new DropDB(db).execute(context);
+        times.remove(db);
+      }
+    }
+  }
+}
@@ -33,6 +33,14 @@ public enum ServerCmd {
   STORE(13),
   /** Code for binding a context value: {id}0{val}0{type}0. */
   CONTEXT(14),
+  /** Code for evaluating a query with bindings: {query}0({name}0{val}0{type}0)*0. */
+  EVAL(15),
+  /** Code for returning the next results of a query cursor: {id}0{max}0. */
+  FETCH(16),
+  /** Code for enabling the binary encoding of atomic results: {flag}0. */
+  BINARY(17),
+  /** Code for retrieving a zipped snapshot of a database: {name}0{time}0. */
+  SNAPSHOT(18),
   /** Code for returning the update flag: {id}0. */
   UPDATING(30),
   /** Code for executing a query and returning all information relevant for XQJ: {id}0. */
@@ -33,6 +33,21 @@ public final class ServerQuery extends Job {
   private boolean parsed;
   /** Query info. */
   private final StringBuilder info = new StringBuilder();
+  /** Binary encoding of atomic items (see {@link BinaryItems}). */
+  boolean binary;
+
+  /** Result iterator of an open cursor ({@code null} if no cursor is open). */
+  private Iter cursor;
+  /** Serializer of an open cursor. */
+  private Serializer serializer;
+  /** Serialized item of an open cursor. */
+  private ArrayOutput buffer;
+  /** Number of results returned by the open cursor. */
+  private int results;
+  /** Number of bytes returned by the open cursor. */
+  private long printed;
+  /** Indicates if the last cursor has been cancelled. */
+  private boolean cancelled;
 
   /**
    * Constructor.
@@ -52,6 +67,7 @@ public final class ServerQuery extends Job {
    * @throws IOException query exception
    */
   public void bind(final String name, final Object value, final String type) throws IOException {
+    close();
     try {
       qp().bind(name, value, type);
     } catch(final QueryException ex) {
@@ -67,6 +83,7 @@ public final class ServerQuery extends Job {
    * @throws IOException query exception
    */
   public void context(final Object value, final String type) throws IOException {
+    close();
     try {
       qp().context(value, type);
     } catch(final QueryException ex) {
@@ -113,25 +130,10 @@ public final class ServerQuery extends Job {
   public void execute(final OutputStream out, final boolean iterative, final boolean encode,
       final boolean full) throws IOException {
 
-    final boolean compplan = ctx.options.get(MainOptions.COMPPLAN);
-
+    close();
     try {
-      // parses the query and registers the process
-      parse();
-      qp.register(ctx);
-
-      final Performance perf = jc().performance;
-
-      if(!compplan) queryPlan();
-      qp.compile();
-      if(compplan) queryPlan();
-
+      final Iter iter = open();
       final QueryContext qc = qp.qc;
-      final QueryInfo qi = qc.info;
-
-      qi.compiling = perf.ns();
-      final Iter iter = qp.iter();
-      qi.evaluating = perf.ns();
 
       // iterate through results
       int hits = 0;
@@ -140,10 +142,15 @@ public final class ServerQuery extends Job {
       try(Serializer ser = Serializer.get(po, sopts)) {
         for(Item item; (item = qc.next(iter)) != null;) {
           if(iterative) {
+            final byte[] bytes = binary && !full ? BinaryItems.encode(item) : null;
             if(full) po.write(item.xdmInfo());
             else po.write(item.typeId().asByte());
-            ser.reset();
-            ser.serialize(item);
+            if(bytes != null) {
+              po.write(bytes);
+            } else {
+              ser.reset();
+              ser.serialize(item);
+            }
             po.flush();
             out.write(0);
           } else {
@@ -152,10 +159,7 @@ public final class ServerQuery extends Job {
           hits++;
         }
       }
-      qi.serializing = perf.ns();
-
-      // generate query info
-      info.append(qi.toString(qp, po.size(), hits, jc().locks));
+      complete(po.size(), hits);
 
     } catch(final QueryException | JobException ex) {
       throw new BaseXException(ex);
@@ -163,16 +167,158 @@ public final class ServerQuery extends Job {
       Util.debug(ex);
       throw new BaseXException(BASEX_OVERFLOW.message);
     } finally {
-      // close processor and unregisters the process
-      if(qp != null) {
-        if(parsed) {
-          qp.close();
-          qp.unregister(ctx);
-          parsed = false;
+      finish();
+    }
+  }
+
+  /**
+   * Returns the next results of the query. When the function is called for the first time,
+   * a cursor is opened: the query is compiled, and its locks are acquired. The results are
+   * evaluated lazily, and the cursor is closed, and the locks are released, after the last
+   * result has been returned. The results are encoded as by {@link #execute}, with iterative
+   * evaluation enabled.
+   * @param out output stream
+   * @param max maximum number of results to be returned
+   * @return {@code true} if the cursor is still open
+   * @throws IOException I/O Exception
+   */
+  public boolean fetch(final OutputStream out, final int max) throws IOException {
+    if(cancelled) {
+      cancelled = false;
+      throw new BaseXException("Cursor was closed by another request.");
+    }
+
+    boolean keep = false;
+    try {
+      if(cursor == null) {
+        cursor = open();
+        buffer = new ArrayOutput();
+        serializer = Serializer.get(buffer, qp.qc.serParams());
+        results = 0;
+        printed = 0;
+      }
+      final QueryContext qc = qp.qc;
+
+      // serialize items separately to avoid flushing the output stream after each item
+      final ServerOutput so = new ServerOutput(out);
+      for(int m = 0; m < max; m++) {
+        final Item item = qc.next(cursor);
+        if(item == null) {
+          complete(printed, results);
+          return false;
         }
-        qp = null;
-        popJob();
+        final byte[] bytes = binary ? BinaryItems.encode(item) : null;
+        out.write(item.typeId().asByte());
+        if(bytes != null) {
+          so.write(bytes);
+          printed += bytes.length;
+        } else {
+          buffer.reset();
+          serializer.reset();
+          serializer.serialize(item);
+          so.write(buffer.buffer(), 0, (int) buffer.size());
+          printed += buffer.size();
+        }
+        out.write(0);
+        results++;
+      }
+      keep = true;
+      return true;
+    } catch(final QueryException | JobException ex) {
+      throw new BaseXException(ex);
+    } catch(final StackOverflowError ex) {
+      Util.debug(ex);
+      throw new BaseXException(BASEX_OVERFLOW.message);
+    } finally {
+      if(!keep) finish();
+    }
+  }
+
+  /**
+   * Indicates if a cursor is open.
+   * @return result of check
+   */
+  public boolean cursor() {
+    return cursor != null;
+  }
+
+  /**
+   * Closes an open cursor and releases its locks.
+   * The next call of {@link #fetch} will raise an error.
+   */
+  public void cancel() {
+    if(cursor == null) return;
+    finish();
+    cancelled = true;
+  }
+
+  /**
+   * Closes an open cursor and releases its locks.
+   */
+  private void close() {
+    cancelled = false;
+    if(cursor != null) finish();
+  }
+
+  /**
+   * Parses, registers and compiles the query, and returns a result iterator.
+   * @return iterator
+   * @throws IOException I/O Exception
+   * @throws QueryException query exception
+   */
+  private Iter open() throws IOException, QueryException {
+    final boolean compplan = ctx.options.get(MainOptions.COMPPLAN);
+
+    // parses the query and registers the process
+    parse();
+    qp.register(ctx);
+
+    final Performance perf = jc().performance;
+
+    if(!compplan) queryPlan();
+    qp.compile();
+    if(compplan) queryPlan();
+
+    final QueryInfo qi = qp.qc.info;
+    qi.compiling = perf.ns();
+    final Iter iter = qp.iter();
+    qi.evaluating = perf.ns();
+    return iter;
+  }
+
+  /**
+   * Generates the query info after all results have been returned.
+   * @param size size of serialized results
+   * @param hits number of results
+   */
+  private void complete(final long size, final int hits) {
+    final QueryInfo qi = qp.qc.info;
+    qi.serializing = jc().performance.ns();
+    info.append(qi.toString(qp, size, hits, jc().locks));
+  }
+
+  /**
+   * Closes the processor and unregisters the process.
+   */
+  private void finish() {
+    if(serializer != null) {
+      try {
+        serializer.close();
+      } catch(final IOException ex) {
+        Util.debug(ex);
+      }
+      serializer = null;
+      buffer = null;
+    }
+    cursor = null;
+    if(qp != null) {
+      if(parsed) {
+        qp.close();
+        qp.unregister(ctx);
+        parsed = false;
       }
+      qp = null;
+      popJob();
     }
   }
 
@@ -0,0 +1,70 @@
+package org.basex.server;
+
+import static org.basex.core.Text.*;
+import static org.basex.data.DataText.*;
+
+import java.io.*;
+
+import org.basex.core.*;
+import org.basex.core.users.*;
+import org.basex.io.*;
+import org.basex.util.list.*;
+
+/**
+ * Writes a zipped snapshot of a database if it has been modified after a specified time.
+ * The info string contains the time of the snapshot. If files have been modified very recently,
+ * a slightly earlier time is returned, so that subsequent requests will not miss modifications
+ * that are not reflected by the file timestamps yet.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+final class Snapshot extends Command {
+  /** Time span (ms) in which modifications are considered unstable. */
+  private static final long UNSTABLE = 2000;
+
+  /** Time of the last snapshot. */
+  private final long time;
+
+  /**
+   * Constructor.
+   * @param db name of database
+   * @param time time of the last snapshot ({@code 0}: no snapshot exists)
+   */
+  Snapshot(final String db, final long time) {
+    super(Perm.READ, db);
+    this.time = time;
+  }
+
+  @Override
+  protected boolean run() throws IOException {
+    final String db = args[0];
+    if(!Databases.validName(db)) return error(NAME_INVALID_X, db);
+    if(!soptions.dbExists(db)) return error(DB_NOT_FOUND_X, db);
+    if(!context.perm(Perm.READ, db)) return error(PERM_REQUIRED_X, Perm.READ);
+
+    final IOFile dir = soptions.dbPath(db);
+    final StringList files = dir.descendants();
+    // ignore file indicating an update (this file is generated when using XQuery)
+    files.removeAll(DATAUPD + IO.BASEXSUFFIX);
+
+    long modified = 0;
+    for(final String file : files) modified = Math.max(modified, new IOFile(dir, file).timeStamp());
+    if(modified <= time) return info(Long.toString(time));
+
+    final Zip zip = new Zip(null);
+    pushJob(zip);
+    try {
+      zip.zip(dir, files, out, soptions.get(StaticOptions.BACKUPLEVEL),
+          soptions.get(StaticOptions.BACKUPTHREADS));
+    } finally {
+      popJob();
+    }
+    return info(Long.toString(Math.min(modified, System.currentTimeMillis() - UNSTABLE)));
+  }
+
+  @Override
+  public void addLocks() {
+    addLocks(jc().locks.reads, 0);
+  }
+}
@@ -12,7 +12,7 @@ import org.basex.util.hash.*;
  * @author Christian Gruen
  */
 public final class XMLToken {
-  /** Index for all HTML entities (lazy initialization). */
+  /** Index for all HTML entities. */
   private static final TokenMap ENTITIESMAP = new TokenMap();
   /** The underscore. */
   private static final byte[] UNDERSCORE = { '_' };
@@ -348,18 +348,19 @@ public final class XMLToken {
     "yacute", "\u00fd", "yen", "\u00a5", "yuml", "\u00ff", "Yuml", "\u0178",
     "Zeta", "\u0396", "zeta", "\u03b6", "zwj", "\u200d", "zwnj", "\u200c" };
 
+  // the index is initialized in advance, as it may be accessed by concurrent parsers
+  static {
+    final String[] ents = HTMLENTITIES;
+    final int el = ents.length;
+    for(int e = 0; e < el; e += 2) ENTITIESMAP.put(ents[e], ents[e + 1]);
+  }
+
   /**
    * Returns the unicode for the specified entity or {@code null}.
    * @param key key
    * @return unicode
    */
   public static byte[] getEntity(final byte[] key) {
-    final TokenMap map = ENTITIESMAP;
-    if(map.isEmpty()) {
-      final String[] ents = HTMLENTITIES;
-      final int el = ents.length;
-      for(int e = 0; e < el; e += 2) map.put(ents[e], ents[e + 1]);
-    }
-    return map.get(key);
+    return ENTITIESMAP.get(key);
   }
 }
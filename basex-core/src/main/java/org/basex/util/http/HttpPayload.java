@@ -326,7 +326,7 @@ public final class HttpPayload {
     } else if(type.is(MediaType.TEXT_HTML)) {
       final HtmlOptions opts = new HtmlOptions(options.get(MainOptions.HTMLPARSER));
       opts.assign(type);
-      return new DBNode(new HtmlParser(input, options, opts));
+      return new DBNode(HtmlParser.get(input, options, opts));
     } else if(type.is(MediaType.APPLICATION_X_WWW_FORM_URLENCODED)) {
       String encoding = type.parameters().get(CHARSET);
       if(encoding == null) encoding = Strings.UTF8;
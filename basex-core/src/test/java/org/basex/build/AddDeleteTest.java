@@ -128,6 +128,25 @@ public final class AddDeleteTest extends SandboxTest {
     assertEquals(NFLDR, docs());
   }
 
+  /**
+   * Adds a folder whose files are parsed in parallel.
+   */
+  @Test public void addFolderParallel() {
+    final String query = "string-join(db:open('" + NAME + "') ! (db:path(.) || serialize(.)))";
+    try {
+      set(MainOptions.PARSETHREADS, 1);
+      execute(new Add("", FLDR));
+      final String expected = query(query);
+      execute(new CreateDB(NAME));
+      set(MainOptions.PARSETHREADS, 4);
+      execute(new Add("", FLDR));
+      assertEquals(NFLDR, docs());
+      assertEquals(expected, query(query));
+    } finally {
+      set(MainOptions.PARSETHREADS, 0);
+    }
+  }
+
   /**
    * Adds/deletes with target.
    */
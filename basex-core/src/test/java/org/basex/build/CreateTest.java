@@ -3,7 +3,9 @@ package org.basex.build;
 import static org.junit.jupiter.api.Assertions.*;
 
 import org.basex.*;
+import org.basex.core.*;
 import org.basex.core.cmd.*;
+import org.basex.data.*;
 import org.basex.io.*;
 import org.basex.util.*;
 import org.junit.jupiter.api.*;
@@ -90,6 +92,35 @@ public final class CreateTest extends SandboxTest {
     }
   }
 
+  /**
+   * CREATE DB {DB} {INPUT}, with custom write buffers and synchronization.
+   */
+  @Test public void createDBWithWriteOptions() {
+    // input and database files exceed the synchronization interval
+    final StringBuilder sb = new StringBuilder("<x>");
+    for(int i = 0; i < 100000; i++) {
+      sb.append("<y a='a").append(i).append("'>t").append(i).append("</y>");
+    }
+    final IOFile file = new IOFile(sandbox(), NAME + IO.XMLSUFFIX);
+    write(file, sb.append("</x>").toString());
+    assertTrue(file.length() > 1 << 20);
+
+    execute(new CreateDB(NAME, file.path()));
+    final String expected = query(".");
+    // buffer size exceeds the block size
+    context.soptions.set(StaticOptions.WRITEBUFFER, 64);
+    context.soptions.set(StaticOptions.WRITESYNC, 1);
+    try {
+      execute(new CreateDB(NAME, file.path()));
+      assertEquals(expected, query("."));
+      assertTrue(context.data().meta.dbFile(DataText.DATATBL).length() > 1 << 20);
+    } finally {
+      context.soptions.set(StaticOptions.WRITEBUFFER, 0);
+      context.soptions.set(StaticOptions.WRITESYNC, 0);
+      file.delete();
+    }
+  }
+
   /**
    * CREATE DB {DB}; ADD TO {DOCNAME} {INPUT[]}.
    */
@@ -1,5 +1,6 @@
 package org.basex.build;
 
+import static org.basex.query.func.Function.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 import org.basex.*;
@@ -137,4 +138,33 @@ public final class CsvParserTest extends SandboxTest {
     execute(new CreateDB(NAME, FILE));
     assertEquals("true", query("exists(//entry[@name = 'Name'])"));
   }
+
+  /**
+   * Parses large files in parallel and compares the results with sequential parsing.
+   */
+  @Test public void parallel() {
+    final String name2 = NAME + '2';
+    try {
+      for(final String nl : new String[] { "\n", "\r\n", "\r" }) {
+        // quoted newlines, quoted quotes and newlines are mixed; size exceeds the chunk size
+        final StringBuilder sb = new StringBuilder();
+        final String record = "\"x\ny\",1,\"a\"\"b" + nl + "c\"" + nl + "2,,3" + nl;
+        while(sb.length() < 5 << 20) sb.append(record);
+        write(new IOFile(TEMP), sb.toString());
+
+        set(MainOptions.PARSETHREADS, 1);
+        execute(new CreateDB(NAME, TEMP));
+        set(MainOptions.PARSETHREADS, 4);
+        execute(new CreateDB(name2, TEMP));
+        final String count = Integer.toString(sb.length() / record.length() * 2);
+        assertEquals(count, query("count(" + _DB_OPEN.args(NAME) + "//record)"));
+        assertEquals(count, query("count(" + _DB_OPEN.args(name2) + "//record)"));
+        assertEquals("true", query("deep-equal(" + _DB_OPEN.args(NAME) + ", " +
+            _DB_OPEN.args(name2) + ')'));
+      }
+    } finally {
+      set(MainOptions.PARSETHREADS, 0);
+      execute(new DropDB(name2));
+    }
+  }
 }
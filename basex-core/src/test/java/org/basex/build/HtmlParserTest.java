@@ -0,0 +1,94 @@
+package org.basex.build;
+
+import org.basex.*;
+import org.basex.core.*;
+import org.basex.core.MainOptions.MainParser;
+import org.basex.core.cmd.*;
+import org.basex.io.*;
+import org.basex.util.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for parsing HTML documents with the internal parser.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class HtmlParserTest extends SandboxTest {
+  /** Temporary HTML file. */
+  private static final String TEMP = Prop.TEMPDIR + NAME + ".html";
+
+  /**
+   * Prepares the tests.
+   */
+  @BeforeEach public void before() {
+    set(MainOptions.MAINMEM, true);
+    set(MainOptions.PARSER, MainParser.HTML);
+    set(MainOptions.INTPARSE, true);
+  }
+
+  /**
+   * Finishes the tests.
+   */
+  @AfterEach public void after() {
+    set(MainOptions.MAINMEM, false);
+    set(MainOptions.PARSER, MainParser.XML);
+    set(MainOptions.INTPARSE, false);
+    new IOFile(TEMP).delete();
+  }
+
+  /**
+   * Document structure.
+   */
+  @Test public void structure() {
+    parse("", "<html><head/><body/></html>");
+    parse("X", "<html><head/><body>X</body></html>");
+    parse("<title>T</title>X", "<html><head><title>T</title></head><body>X</body></html>");
+    parse("<!DOCTYPE html><html lang=en><body class=b>X</body></html>Y",
+        "<html lang=\"en\"><head/><body class=\"b\">XY</body></html>");
+    parse("<head><meta charset=utf-8></head><body><body>X",
+        "<html><head><meta charset=\"utf-8\"/></head><body>X</body></html>");
+  }
+
+  /**
+   * Elements with optional end tags.
+   */
+  @Test public void implied() {
+    parse("<p>A<p>B", "<p>A</p><p>B</p>");
+    parse("<p>A<div>B</div>", "<p>A</p><div>B</div>");
+    parse("<ul><li>A<li>B</ul>", "<ul><li>A</li><li>B</li></ul>");
+    parse("<dl><dt>A<dd>B</dl>", "<dl><dt>A</dt><dd>B</dd></dl>");
+    parse("<table><tr><td>A<td>B<tr><td>C</table>",
+        "<table><tr><td>A</td><td>B</td></tr><tr><td>C</td></tr></table>");
+    parse("<select><option>A<option>B</select>",
+        "<select><option>A</option><option>B</option></select>");
+    parse("<b>A<i>B</b>C", "<b>A<i>B</i></b>C");
+    parse("A</i>B<br>C</br>", "AB<br/>C<br/>");
+  }
+
+  /**
+   * Names, attributes and texts.
+   */
+  @Test public void contents() {
+    parse("<DIV Class=A id='B' hidden>X</DIV>", "<div class=\"A\" id=\"B\" hidden=\"\">X</div>");
+    parse("<a x=1 x=2 xmlns:y=z y:b=c>X</a>", "<a x=\"1\" y_b=\"c\">X</a>");
+    parse("&lt;&amp;&copy;&#65;&#x42;&unknown;&amp", "&lt;&amp;\u00a9AB&amp;unknown;&amp;amp");
+    parse("<script>if(a<b) x('</div>');</script>",
+        "<html><head><script>if(a&lt;b) x('&lt;/div&gt;');</script></head><body/></html>");
+    parse("<p><!--A--B-->X<![CDATA[<Y>]]></p>", "<p><!--A- -B-->X&lt;Y&gt;</p>");
+  }
+
+  /**
+   * Parses the specified input and compares the result with the expected body contents or
+   * the expected document.
+   * @param input input
+   * @param expected expected result
+   */
+  private static void parse(final String input, final String expected) {
+    write(new IOFile(TEMP), input);
+    execute(new CreateDB(NAME, TEMP));
+    final String path = expected.startsWith("<html") ? "." : "/html/body/node()";
+    query("string-join(" + path + " ! serialize(., map { 'indent': 'no' }))", expected);
+  }
+}
@@ -0,0 +1,111 @@
+package org.basex.build;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.basex.*;
+import org.basex.build.json.*;
+import org.basex.core.*;
+import org.basex.core.MainOptions.MainParser;
+import org.basex.core.cmd.*;
+import org.basex.io.*;
+import org.basex.util.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JSON Parser Test.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class JsonParserTest extends SandboxTest {
+  /** Temporary JSON file. */
+  private static final String TEMP = Prop.TEMPDIR + NAME + IO.JSONSUFFIX;
+  /** Test input. */
+  private static final String JSON = "{ \"a\": 1, \"b c\": [ true, null, \"x\\\\y\", " +
+      "{ \"d\": \" s \" } ], \"e\": [], \"f\": {}, \"g\": \"\" }";
+
+  /** JSON options. */
+  private JsonParserOptions jopts;
+
+  /**
+   * Creates the initial database.
+   */
+  @BeforeAll public static void before() {
+    set(MainOptions.PARSER, MainParser.JSON);
+    write(new IOFile(TEMP), JSON);
+  }
+
+  /**
+   * Removes the temporary JSON file.
+   */
+  @AfterAll public static void after() {
+    new IOFile(TEMP).delete();
+  }
+
+  /**
+   * Sets initial options.
+   */
+  @BeforeEach public void init() {
+    jopts = new JsonParserOptions();
+    context.options.set(MainOptions.JSONPARSER, jopts);
+  }
+
+  /**
+   * Drops the database.
+   */
+  @AfterEach public void finish() {
+    execute(new DropDB(NAME));
+  }
+
+  /**
+   * Compares the database with the results of the query converter.
+   */
+  @Test public void formats() {
+    set(MainOptions.CHOP, false);
+    try {
+      check("format=direct");
+      check("format=direct,merge=true");
+      check("format=direct,strings=true,lax=true");
+      check("format=attributes");
+      check("format=attributes,duplicates=use-last");
+      check("format=basic,escape=true");
+    } finally {
+      set(MainOptions.CHOP, true);
+    }
+  }
+
+  /**
+   * Checks whitespace handling.
+   */
+  @Test public void chop() {
+    execute(new CreateDB(NAME, TEMP));
+    assertEquals("s", query("//d/text()"));
+    set(MainOptions.CHOP, false);
+    try {
+      execute(new CreateDB(NAME, TEMP));
+      assertEquals(" s ", query("string(//d)"));
+      assertEquals("4", query("count(//text())"));
+    } finally {
+      set(MainOptions.CHOP, true);
+    }
+  }
+
+  /**
+   * Creates a database with the specified options and compares it with the result of
+   * json:parse.
+   * @param options JSON options
+   */
+  private void check(final String options) {
+    init();
+    try {
+      jopts.assign(options);
+    } catch(final BaseXException ex) {
+      fail(ex);
+    }
+    execute(new CreateDB(NAME, TEMP));
+    final String map = "map{ '" + options.replace("=", "': '").replace(",", "', '") + "' }";
+    assertEquals("true", query("deep-equal(., json:parse(file:read-text('" + TEMP + "'), " +
+        map + "))"), options);
+  }
+}
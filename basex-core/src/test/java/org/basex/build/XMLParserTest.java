@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.basex.*;
 import org.basex.core.*;
 import org.basex.core.cmd.*;
+import org.basex.io.*;
 import org.basex.io.serial.*;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.Test;
@@ -126,4 +127,54 @@ public final class XMLParserTest extends SandboxTest {
       assertEquals(out, query("."), "Internal parser: " + b);
     }
   }
+
+  /**
+   * Tests the bulk copying of ASCII characters. Runs of characters cross the boundaries of the
+   * input buffer, and they are interrupted by newlines, non-ASCII characters and markup.
+   */
+  @Test public void asciiRuns() {
+    set(MainOptions.CHOP, false);
+    set(MainOptions.SERIALIZER, SerializerMode.NOINDENT.get());
+
+    final String[] texts = { "abc", "a\nb", "a\r\nb", "a\rb", "\r\n", "\r", "a\u00e4b",
+      "\u20ac", "\ud834\udd1e", "a&amp;b", "&lt;", "a<b/>b", "a<!--c-->b", "a<![CDATA[<]]>b",
+      "a&#13;b", "a]b", "a\tb" };
+    final String[] atts = { "abc", "a\nb", "a\r\nb", "a\rb", "\r\n", "\r", "a\u00e4b",
+      "\u20ac", "\ud834\udd1e", "a&amp;b", "&lt;", "a&#10;b", "a&#13;b", "a\"b", "a>b" };
+    final IOFile file = new IOFile(sandbox(), NAME + IO.XMLSUFFIX);
+    for(int r = 0; r < texts.length; r++) {
+      final String text = texts[r], att = atts[r % atts.length];
+      // shift the runs across the boundaries of the input buffer
+      for(int o = IO.BLOCKSIZE - 12; o < IO.BLOCKSIZE + 4; o += 3) {
+        final StringBuilder sb = new StringBuilder("<x a='");
+        for(int i = 0; i < o; i++) sb.append('.');
+        while(sb.length() < IO.BLOCKSIZE * 3) sb.append(att);
+        sb.append("'>");
+        for(int i = 0; i < o; i++) sb.append('.');
+        while(sb.length() < IO.BLOCKSIZE * 6) sb.append(text);
+        sb.append("</x>");
+        write(file, sb.toString());
+
+        // compare results of default and internal parser
+        set(MainOptions.INTPARSE, false);
+        execute(new CreateDB(NAME, file.path()));
+        final String expected = query(".");
+        set(MainOptions.INTPARSE, true);
+        execute(new CreateDB(NAME, file.path()));
+        assertEquals(expected, query("."), "Text: " + text + ", attribute: " + att);
+      }
+    }
+    file.delete();
+
+    // line numbers are counted in copied runs
+    final StringBuilder sb = new StringBuilder("<x a='");
+    for(int i = 0; i < 1000; i++) sb.append("a\n");
+    sb.append("'>");
+    for(int i = 0; i < 1000; i++) sb.append("b\n");
+    for(int i = 0; i < 1000; i++) sb.append("c\r\n");
+    sb.append("</y>");
+    final BaseXException ex = assertThrows(BaseXException.class,
+        () -> new CreateDB(NAME, sb.toString()).execute(context));
+    assertTrue(ex.getMessage().contains("(Line 3001)"), ex.getMessage());
+  }
 }
@@ -0,0 +1,233 @@
+package org.basex.core.locks;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import org.basex.util.*;
+import org.junit.jupiter.api.*;
+
+/**
+ * Lock queue tests.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class LockQueueTest {
+  /** Maximum time (ms) to wait for threads. */
+  private static final long WAIT = 10000;
+  /** String representation of an idle queue. */
+  private static final String IDLE = "Jobs: 0 (readers: 0, writers: 0), queue: []";
+
+  /**
+   * Concurrent read-only jobs, no updating jobs.
+   * @throws Exception exception
+   */
+  @Test public void readers() throws Exception {
+    for(final boolean fair : new boolean[] { true, false }) {
+      // uncontended: jobs are started without waiting
+      readers(fair, 4, 4);
+      // contended: jobs need to be queued
+      readers(fair, 2, 8);
+    }
+  }
+
+  /**
+   * Updating job arriving while read-only jobs are running.
+   * @throws Exception exception
+   */
+  @Test public void writer() throws Exception {
+    for(final boolean fair : new boolean[] { true, false }) {
+      final LockQueue queue = queue(fair, 2);
+      final List<Long> started = new CopyOnWriteArrayList<>();
+      queue.acquire(1L, true, false, 0);
+      queue.acquire(2L, true, false, 0);
+
+      final QueueJob writer = new QueueJob(queue, 3, true, 0, started);
+      queued(queue, "[3]");
+      assertEquals(Collections.emptyList(), started);
+
+      // writer will be started as soon as a reader has been released
+      queue.release(false);
+      writer.finish();
+      assertEquals(Collections.singletonList(3L), started);
+      queue.release(false);
+      assertEquals(IDLE, queue.toString());
+    }
+  }
+
+  /**
+   * Order of queued jobs.
+   * @throws Exception exception
+   */
+  @Test public void order() throws Exception {
+    // fair: jobs are started in the order in which they were queued
+    order(queue(true, 1), "[3, 4]", 3L, 4L);
+    // non-fair: read-only jobs are started first
+    order(queue(false, 1), "[4, 3]", 4L, 3L);
+  }
+
+  /**
+   * Order of queued jobs with different priorities.
+   * @throws Exception exception
+   */
+  @Test public void priority() throws Exception {
+    for(final boolean fair : new boolean[] { true, false }) {
+      final LockQueue queue = queue(fair, 1);
+      final List<Long> started = new CopyOnWriteArrayList<>();
+      queue.acquire(1L, true, false, 0);
+
+      final QueueJob job2 = new QueueJob(queue, 2, true, 0, started);
+      queued(queue, "[2]");
+      final QueueJob job3 = new QueueJob(queue, 3, true, 1, started);
+      queued(queue, "[3, 2]");
+      final QueueJob job4 = new QueueJob(queue, 4, false, 2, started);
+      queued(queue, "[4, 3, 2]");
+
+      queue.release(false);
+      job2.finish();
+      job3.finish();
+      job4.finish();
+      assertEquals(Arrays.asList(4L, 3L, 2L), started);
+      assertEquals(IDLE, queue.toString());
+    }
+  }
+
+  /**
+   * Runs concurrent read-only jobs and checks the number of parallel jobs.
+   * @param fair fair queue
+   * @param parallel number of parallel jobs
+   * @param threads number of threads
+   * @throws Exception exception
+   */
+  private static void readers(final boolean fair, final int parallel, final int threads)
+      throws Exception {
+    final LockQueue queue = queue(fair, parallel);
+    final AtomicInteger running = new AtomicInteger(), max = new AtomicInteger();
+    final ExecutorService pool = Executors.newFixedThreadPool(threads);
+    final List<Future<?>> futures = new ArrayList<>();
+    for(int t = 0; t < threads; t++) {
+      final long id = t;
+      futures.add(pool.submit(() -> {
+        for(int i = 0; i < 10000; i++) {
+          queue.acquire(id, true, false, 0);
+          max.accumulateAndGet(running.incrementAndGet(), Math::max);
+          running.decrementAndGet();
+          queue.release(false);
+        }
+        return null;
+      }));
+    }
+    try {
+      for(final Future<?> future : futures) future.get(WAIT, TimeUnit.MILLISECONDS);
+    } finally {
+      pool.shutdownNow();
+    }
+    assertTrue(max.get() <= parallel, "Too many parallel jobs: " + max.get());
+    assertEquals(IDLE, queue.toString());
+  }
+
+  /**
+   * Queues an updating and a read-only job and checks the order in which they are started.
+   * @param queue queue
+   * @param order expected order of the queue
+   * @param expected expected order of started jobs
+   * @throws Exception exception
+   */
+  private static void order(final LockQueue queue, final String order, final Long... expected)
+      throws Exception {
+    final List<Long> started = new CopyOnWriteArrayList<>();
+    queue.acquire(1L, false, true, 0);
+
+    final QueueJob writer = new QueueJob(queue, 3, true, 0, started);
+    queued(queue, "[3]");
+    final QueueJob reader = new QueueJob(queue, 4, false, 0, started);
+    queued(queue, order);
+
+    queue.release(true);
+    writer.finish();
+    reader.finish();
+    assertEquals(Arrays.asList(expected), started);
+    assertEquals(IDLE, queue.toString());
+  }
+
+  /**
+   * Returns a queue.
+   * @param fair fair queue
+   * @param parallel number of parallel jobs
+   * @return queue
+   */
+  private static LockQueue queue(final boolean fair, final int parallel) {
+    return fair ? new FairLockQueue(parallel, 0, 0) : new NonfairLockQueue(parallel, 0, 0);
+  }
+
+  /**
+   * Waits until the queue has the expected entries.
+   * @param queue queue
+   * @param entries expected entries
+   */
+  private static void queued(final LockQueue queue, final String entries) {
+    final long end = System.currentTimeMillis() + WAIT;
+    while(!queue.toString().endsWith("queue: " + entries)) {
+      if(System.currentTimeMillis() > end) fail("Unexpected queue: " + queue);
+      Performance.sleep(1);
+    }
+  }
+
+  /** Job that is started and immediately released. */
+  private static final class QueueJob extends Thread {
+    /** Queue. */
+    private final LockQueue queue;
+    /** Job id. */
+    private final long id;
+    /** Write flag. */
+    private final boolean write;
+    /** Priority. */
+    private final int priority;
+    /** Ids of started jobs. */
+    private final List<Long> started;
+    /** Error. */
+    private volatile Throwable error;
+
+    /**
+     * Constructor.
+     * @param queue queue
+     * @param id job id
+     * @param write write flag
+     * @param priority priority
+     * @param started ids of started jobs
+     */
+    private QueueJob(final LockQueue queue, final long id, final boolean write,
+        final int priority, final List<Long> started) {
+      this.queue = queue;
+      this.id = id;
+      this.write = write;
+      this.priority = priority;
+      this.started = started;
+      start();
+    }
+
+    @Override
+    public void run() {
+      try {
+        queue.acquire(id, !write, write, priority);
+        started.add(id);
+        queue.release(write);
+      } catch(final Throwable th) {
+        error = th;
+      }
+    }
+
+    /**
+     * Waits until the job has been finished.
+     * @throws InterruptedException interrupted exception
+     */
+    private void finish() throws InterruptedException {
+      join(WAIT);
+      assertFalse(isAlive(), "Job has not been finished: " + id);
+      assertNull(error);
+    }
+  }
+}
@@ -127,6 +127,36 @@ public final class LockingTest extends SandboxTest {
     th2.release();
   }
 
+  /**
+   * Fetch read locks in parallel, then write lock.
+   * @throws InterruptedException Got interrupted.
+   */
+  @RepeatedTest(REPEAT)
+  public void readersWriteTest() throws InterruptedException {
+    final CountDownLatch sync = new CountDownLatch(3), test = new CountDownLatch(1);
+    final LockTester th1 = new LockTester(null, objects, NONE, sync);
+    final LockTester th2 = new LockTester(null, objects, NONE, sync);
+    final LockTester th3 = new LockTester(null, objects, NONE, sync);
+    final LockTester th4 = new LockTester(sync, NONE, objects, test);
+
+    th1.start();
+    th2.start();
+    th3.start();
+    th4.start();
+    assertTrue(sync.await(WAIT, TimeUnit.MILLISECONDS),
+      "Threads 1-3 should be able to acquire locks.");
+    assertFalse(test.await(WAIT, TimeUnit.MILLISECONDS),
+      "Thread 4 shouldn't be able to acquire lock yet.");
+    th1.release();
+    th2.release();
+    assertFalse(test.await(WAIT, TimeUnit.MILLISECONDS),
+      "Thread 4 shouldn't be able to acquire lock yet.");
+    th3.release();
+    assertTrue(test.await(WAIT, TimeUnit.MILLISECONDS),
+      "Thread 4 should be able to acquire lock now.");
+    th4.release();
+  }
+
   /**
    * Test parallel transaction limit.
    * @throws InterruptedException Got interrupted.
@@ -163,6 +193,105 @@ public final class LockingTest extends SandboxTest {
     for(int t = 1; t < tl; t++) testers[t].release();
   }
 
+  /**
+   * Test priorities of queued transactions.
+   * @throws InterruptedException Got interrupted.
+   */
+  @RepeatedTest(REPEAT)
+  public void priorityTest() throws InterruptedException {
+    final CountDownLatch latch =
+        new CountDownLatch(Math.max(context.soptions.get(StaticOptions.PARALLEL), 1));
+    final int tl = (int) latch.getCount();
+    final LockTester[] testers = new LockTester[tl];
+    for(int t = 0; t < tl; t++) {
+      testers[t] = new LockTester(null, objects, NONE, latch);
+      testers[t].start();
+    }
+    assertTrue(latch.await(WAIT, TimeUnit.MILLISECONDS),
+      "Couldn't start maximum allowed number of parallel transactions!");
+
+    // queue transactions with low and high priority
+    final CountDownLatch low = new CountDownLatch(1), high = new CountDownLatch(1);
+    final LockTester lowTester = new LockTester(null, objects, NONE, low);
+    final LockTester highTester = new LockTester(null, objects, NONE, high);
+    highTester.locks.priority = 1;
+    lowTester.start();
+    assertFalse(low.await(WAIT, TimeUnit.MILLISECONDS),
+      "Shouldn't be able to start another parallel transaction yet!");
+    highTester.start();
+    assertFalse(high.await(WAIT, TimeUnit.MILLISECONDS),
+      "Shouldn't be able to start another parallel transaction yet!");
+
+    // transaction with higher priority is started first
+    testers[0].release();
+    assertTrue(high.await(WAIT, TimeUnit.MILLISECONDS),
+      "Transaction with higher priority should have started!");
+    assertFalse(low.await(WAIT, TimeUnit.MILLISECONDS),
+      "Transaction with lower priority shouldn't have started yet!");
+    testers[1].release();
+    assertTrue(low.await(WAIT, TimeUnit.MILLISECONDS),
+      "Transaction with lower priority should have started!");
+
+    for(int t = 2; t < tl; t++) testers[t].release();
+    lowTester.release();
+    highTester.release();
+  }
+
+  /**
+   * Snapshot reads: readers are not blocked by updating jobs until the write locks are upgraded.
+   * @throws InterruptedException Got interrupted.
+   */
+  @RepeatedTest(REPEAT)
+  public void snapshotTest() throws InterruptedException {
+    final StaticOptions sopts = new StaticOptions(false);
+    sopts.set(StaticOptions.SNAPSHOTREAD, true);
+    final Locking snapshot = new Locking(sopts);
+
+    final CountDownLatch written = new CountDownLatch(1), read = new CountDownLatch(1),
+        upgraded = new CountDownLatch(1), done = new CountDownLatch(1);
+    final Thread writer = new Thread(() -> {
+      try {
+        final Locks locks = new Locks();
+        locks.writes.add(objects[0]);
+        locks.defer = true;
+        locks.finish(context);
+        snapshot.acquire(locks);
+        written.countDown();
+        // upgrade lock after the reader has started
+        if(!read.await(WAIT, TimeUnit.MILLISECONDS)) fail("Latch timed out.");
+        snapshot.upgrade();
+        upgraded.countDown();
+        snapshot.release();
+      } catch(final InterruptedException ex) {
+        throw new RuntimeException("Unexpectedly interrupted.");
+      }
+    });
+    final Thread reader = new Thread(() -> {
+      try {
+        final Locks locks = new Locks();
+        locks.reads.add(objects[0]);
+        locks.finish(context);
+        if(!written.await(WAIT, TimeUnit.MILLISECONDS)) fail("Latch timed out.");
+        snapshot.acquire(locks);
+        read.countDown();
+        if(!done.await(WAIT * 5, TimeUnit.MILLISECONDS)) fail("Latch timed out.");
+        snapshot.release();
+      } catch(final InterruptedException ex) {
+        throw new RuntimeException("Unexpectedly interrupted.");
+      }
+    });
+
+    writer.start();
+    reader.start();
+    assertTrue(read.await(WAIT, TimeUnit.MILLISECONDS),
+      "Reader should be able to acquire lock.");
+    assertFalse(upgraded.await(WAIT, TimeUnit.MILLISECONDS),
+      "Writer shouldn't be able to upgrade lock yet.");
+    done.countDown();
+    assertTrue(upgraded.await(WAIT, TimeUnit.MILLISECONDS),
+      "Writer should be able to upgrade lock now.");
+  }
+
   /**
    * Global locking test.
    * @throws InterruptedException Got interrupted.
@@ -6,6 +6,7 @@ import org.basex.*;
 import org.basex.core.*;
 import org.basex.core.cmd.*;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -226,4 +227,34 @@ public final class IndexTest extends SandboxTest {
     query(_DB_REPLACE.args(NAME, "x.xml", " <a>D</a>"));
     query(_DB_INFO.args(NAME) + "//textindex/text()", false);
   }
+
+  /**
+   * Extends outdated indexes with the entries of appended nodes.
+   */
+  @Test public void appendOptimize() {
+    set(MainOptions.TOKENINDEX, true);
+    execute(new CreateDB(NAME, "<x a='A B'>A</x>"));
+    execute(new Add("b.xml", "<x a='B C'>B</x>"));
+    execute(new Add("c.xml", "<x a='A'><y>A</y><y>C</y></x>"));
+    query(_DB_INFO.args(NAME) + "//textindex/text()", false);
+
+    execute(new Optimize());
+    query(_DB_INFO.args(NAME) + "//textindex/text()", true);
+    query(_DB_INFO.args(NAME) + "//tokenindex/text()", true);
+    query("count(" + _DB_TEXT.args(NAME, "A") + ')', 2);
+    query("count(" + _DB_TEXT.args(NAME, "C") + ')', 1);
+    query("count(" + _DB_ATTRIBUTE.args(NAME, "A") + ')', 1);
+    query("count(" + _DB_TOKEN.args(NAME, "B") + ')', 2);
+    query(_DB_TEXT.args(NAME, "C") + "/..", "<y>C</y>");
+
+    // other updates: rebuild indexes
+    execute(new Add("d.xml", "<x>D</x>"));
+    execute(new Delete("b.xml"));
+    execute(new Add("e.xml", "<x a='B'>B</x>"));
+    execute(new Optimize());
+    query("count(" + _DB_TEXT.args(NAME, "B") + ')', 1);
+    query("count(" + _DB_TEXT.args(NAME, "D") + ')', 1);
+    query("count(" + _DB_TOKEN.args(NAME, "B") + ')', 2);
+    query(_DB_TEXT.args(NAME, "B") + "/../@a/string()", "B");
+  }
 }
@@ -0,0 +1,93 @@
+package org.basex.index;
+
+import static org.basex.util.Token.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+
+import org.basex.*;
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.data.*;
+import org.basex.index.value.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for splitting temporary index structures.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class IndexBuilderTest extends SandboxTest {
+  /** Memory that exceeds the budget. */
+  private static final long MAXMEM = Runtime.getRuntime().maxMemory();
+
+  /**
+   * Drops the database.
+   */
+  @AfterEach public void tearDown() {
+    set(MainOptions.SPLITSIZE, 0);
+    execute(new DropDB(NAME));
+  }
+
+  /**
+   * Splits index structures if their estimated memory consumption exceeds the budget.
+   * @throws IOException I/O exception
+   */
+  @Test public void budget() throws IOException {
+    execute(new CreateDB(NAME, "<x/>"));
+    final Builder builder = new Builder(context.data());
+
+    // estimated memory consumption grows with the number of entries
+    final IndexTree tree = new IndexTree(IndexType.TEXT);
+    long memory = tree.memory();
+    for(int i = 0; i < 1000; i++) {
+      tree.add(token(i), i, 0);
+      assertTrue(tree.memory() > memory);
+      memory = tree.memory();
+    }
+    assertFalse(builder.splitRequired(tree.memory()));
+    assertTrue(builder.splitRequired(MAXMEM));
+
+    // stop operation if index splitting degenerates
+    assertThrows(BaseXException.class, () -> builder.splitRequired(MAXMEM));
+
+    final Builder builder2 = new Builder(context.data());
+    assertFalse(builder2.splitRequired(0));
+    assertTrue(builder2.splitRequired(MAXMEM));
+    for(int i = 0; i < 31; i++) assertFalse(builder2.splitRequired(0));
+    assertTrue(builder2.splitRequired(MAXMEM));
+  }
+
+  /**
+   * Splits index structures after a fixed number of operations.
+   * @throws IOException I/O exception
+   */
+  @Test public void splitSize() throws IOException {
+    set(MainOptions.SPLITSIZE, 1);
+    execute(new CreateDB(NAME, "<x/>"));
+    final Builder builder = new Builder(context.data());
+
+    // memory consumption is ignored
+    assertFalse(builder.splitRequired(MAXMEM));
+    builder.count = 100000;
+    assertTrue(builder.splitRequired(0));
+  }
+
+  /** Index builder. */
+  private static final class Builder extends IndexBuilder {
+    /**
+     * Constructor.
+     * @param data data reference
+     */
+    private Builder(final Data data) {
+      super(data, IndexType.TEXT);
+    }
+
+    @Override
+    public ValueIndex build() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
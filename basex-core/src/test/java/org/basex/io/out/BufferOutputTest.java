@@ -0,0 +1,84 @@
+package org.basex.io.out;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+
+import org.basex.*;
+import org.basex.io.*;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for buffered and synchronized output streams.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class BufferOutputTest extends SandboxTest {
+  /** Lengths of the written arrays. */
+  private static final int[] LENGTHS = { 0, 1, 3, 7, 8, 9, 15, 16, 17, 40, 2, 1, 64 };
+
+  /**
+   * Writes single bytes and arrays with different lengths and offsets.
+   * @throws IOException I/O exception
+   */
+  @Test public void write() throws IOException {
+    for(final int bufsize : new int[] { 1, 8, 16, IO.BLOCKSIZE }) {
+      final ArrayOutput ao = new ArrayOutput();
+      final byte[] expected;
+      try(BufferOutput out = new BufferOutput(ao, bufsize)) {
+        expected = write(out);
+      }
+      assertArrayEquals(expected, ao.finish(), "Buffer size: " + bufsize);
+    }
+  }
+
+  /**
+   * Writes data to a file that is regularly synchronized.
+   * @throws IOException I/O exception
+   */
+  @Test public void sync() throws IOException {
+    final IOFile file = new IOFile(sandbox(), NAME);
+    for(final long sync : new long[] { 1, 10, 100, 1 << 20 }) {
+      final byte[] expected;
+      try(BufferOutput out = new BufferOutput(SyncOutput.get(file, sync), 8)) {
+        expected = write(out);
+      }
+      assertArrayEquals(expected, file.read(), "Synchronization interval: " + sync);
+
+      try(SyncOutput out = new SyncOutput(file, sync)) {
+        out.write(expected);
+        out.write(expected, 3, 20);
+        out.write('x');
+      }
+      final ByteArrayOutputStream bo = new ByteArrayOutputStream();
+      bo.write(expected);
+      bo.write(expected, 3, 20);
+      bo.write('x');
+      assertArrayEquals(bo.toByteArray(), file.read(), "Synchronization interval: " + sync);
+    }
+    file.delete();
+  }
+
+  /**
+   * Writes test data to the specified stream.
+   * @param out output stream
+   * @return written bytes
+   * @throws IOException I/O exception
+   */
+  private static byte[] write(final OutputStream out) throws IOException {
+    final byte[] data = new byte[100];
+    for(int d = 0; d < data.length; d++) data[d] = (byte) d;
+
+    final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    int off = 0;
+    for(final int len : LENGTHS) {
+      out.write(data, off, len);
+      expected.write(data, off, len);
+      out.write(len);
+      expected.write(len);
+      off = (off + 7) % (data.length - 64);
+    }
+    return expected.toByteArray();
+  }
+}
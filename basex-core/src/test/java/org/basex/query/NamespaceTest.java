@@ -774,6 +774,28 @@ public final class NamespaceTest extends SandboxTest {
         "<w:g xmlns:w='X' xmlns:a='a' a:y=''/>) into <w:h xmlns:w='X' xmlns:a='a' a:z=''/>");
   }
 
+  /**
+   * Name tests on database nodes and their copies.
+   */
+  @Test public void nameTests() {
+    execute(new CreateDB(NAME, "<r xmlns:a='A' xml:lang='en'><a:x a:id='1' xml:space='default'/>" +
+        "<x xmlns='A'><y/></x><x id='2'><lang/></x></r>"));
+    query("count(//x)", "1");
+    query("count(//Q{A}x)", "2");
+    query("count(//*:x)", "3");
+    query("count(//Q{A}*)", "3");
+    query("count(//Q{}*)", "3");
+    query("count(//@id)", "1");
+    query("count(//@Q{A}id)", "1");
+    query("count(//@*:id)", "2");
+    query("count(//@xml:lang)", "1");
+    query("count(//@xml:*)", "2");
+    query("count(//Q{B}x)", "0");
+    query("count((copy $c := /r modify rename node $c/x[@id] as QName('A', 'x') " +
+        "return $c)//Q{A}x)", "3");
+    query("count((copy $c := /r modify () return $c)//(Q{}x, Q{A}y))", "2");
+  }
+
   /**
    * Creates the database context.
    */
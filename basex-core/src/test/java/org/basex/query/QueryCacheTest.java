@@ -0,0 +1,66 @@
+package org.basex.query;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.basex.*;
+import org.basex.core.cmd.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for caching parsed queries.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class QueryCacheTest extends SandboxTest {
+  /** Clears the cache. */
+  @BeforeEach public void init() {
+    context.queries.clear();
+  }
+
+  /** Repeated evaluation of cached queries. */
+  @Test public void repeat() {
+    final String[] queries = {
+      "for $i in 1 to 5 let $j := $i * 2 where $j > 4 order by $j descending return $j",
+      "let $f := function($x) { $x + 1 } return $f(1)",
+      "for $a at $p in ('a', 'b') return $p || $a",
+      "try { error() } catch * { $err:code }",
+      "declare namespace x = 'u'; count(())",
+      "(1 to 5)[last()]",
+    };
+    for(final String query : queries) {
+      final String result = query(query);
+      for(int i = 0; i < 3; i++) assertEquals(result, query(query));
+    }
+    assertEquals(queries.length, context.queries.size());
+  }
+
+  /** Queries with declarations or node constructors are not cached. */
+  @Test public void skip() {
+    query("declare variable $a := 1; $a", 1);
+    query("declare function local:f() { 1 }; local:f()", 1);
+    query("declare option db:chop 'false'; 1", 1);
+    query("<a/>", "<a/>");
+    assertEquals(0, context.queries.size());
+  }
+
+  /** Queries with Java modules or Java calls are not cached. */
+  @Test public void java() {
+    final String query = "import module namespace qm = 'java:org.basex.query.func.QueryModuleTest';"
+        + "qm:fast(1)";
+    for(int i = 0; i < 3; i++) query(query, "Banana");
+    for(int i = 0; i < 3; i++) query("Q{java:org.basex.util.Prop}gui()", false);
+    for(int i = 0; i < 3; i++) query("exists(Q{java:java.util.ArrayList}new())", true);
+    assertEquals(0, context.queries.size());
+  }
+
+  /** Updating queries. */
+  @Test public void updating() {
+    execute(new CreateDB(NAME, "<a><b/><b/><b/></a>"));
+    for(int i = 0; i < 3; i++) query("delete node /a/b[1]");
+    query("count(//b)", 0);
+    assertEquals(2, context.queries.size());
+    execute(new DropDB(NAME));
+  }
+}
@@ -1489,4 +1489,30 @@ public final class RewritingsTest extends QueryPlanTest {
     check("switch(<_/>) case '' return 1 default return 2", 1, root(If.class));
     check("switch(<_/>) case '' case 'x' return 1 default return 2", 1, root(If.class));
   }
+
+  /** Order of predicates, based on the selectivity of the path statistics. */
+  @Test public void predicateOrder() {
+    execute(new CreateDB(NAME, "<x><a p='1'/><a p='2'/><a p='3' t=''/><a p='4'/></x>"));
+    check("//a[@p][@t]", "<a p=\"3\" t=\"\"/>",
+        "//IterStep[@test = 'element(*:a)']/*[1]/IterStep/@test = 'attribute(*:t)'");
+    check("//a[@p > 1][@t]/@p/string()", 3,
+        "//IterStep[@test = 'element(*:a)']/*[1]/IterStep/@test = 'attribute(*:t)'");
+    check("//a[@t][@p]", "<a p=\"3\" t=\"\"/>",
+        "//IterStep[@test = 'element(*:a)']/*[1]/IterStep/@test = 'attribute(*:t)'");
+
+    // node comparisons: unknown selectivity
+    query(_DB_OPEN.args(NAME) + "/x/a[. is " + _DB_OPEN_PRE.args(NAME, 6) + "][@t]/@p/string()",
+        3);
+    query(_DB_OPEN.args(NAME) + "/x/a[. << " + _DB_OPEN_PRE.args(NAME, 6) + "][@p]/@p/string()",
+        "1\n2");
+    query(_DB_OPEN.args(NAME) + "/x/a[. >> " + _DB_OPEN_PRE.args(NAME, 6) + "][@p]/@p/string()",
+        4);
+
+    // guards: predicates with unknown selectivity or possible errors are not reordered
+    execute(new CreateDB(NAME, "<r><a n='abc'/><a n='7'/><a n='1'/></r>"));
+    query("count(//a[@n castable as xs:double][@n > 5])", 1);
+    query("count(//a[@n castable as xs:double][@n = 7])", 1);
+    query("count(//a[@n castable as xs:integer][@n >= 5 and @n <= 10])", 1);
+    query("count(//a[not(@n = 'abc')][@n > 5])", 1);
+  }
 }
@@ -1,5 +1,7 @@
 package org.basex.query.expr;
 
+import static org.basex.query.func.Function.*;
+
 import org.basex.*;
 import org.basex.core.cmd.*;
 import org.junit.jupiter.api.*;
@@ -246,4 +248,29 @@ public final class PathTest extends SandboxTest {
     query("<a/> ! (., .)/./(1, 2)[. = 1]", 1);
     query("<a/> ! (., .)/./1[. = 1]", 1);
   }
+
+  /** Evaluation of paths on pre values. */
+  @Test public void pres() {
+    execute(new CreateDB(NAME, "<r><a x='1'><i x='1'/><i/><b><i x='2'><i x='3'/></i></b></a>"
+        + "<i x='4'>t</i><!--c--></r>"));
+    query("count(//i[@x])", 4);
+    query("count(//i/@x)", 4);
+    query("count(/r/*/i)", 2);
+    query("count(//*//i)", 5);
+    query("count(//*[i])", 4);
+    query("count(//b/i[i])", 1);
+    query("count(//a[.//i/@x])", 1);
+    query("count(//node())", 10);
+    query("count(/descendant-or-self::node())", 11);
+    query("let $i := //i return count($i/i)", 1);
+    query("(//i[@x])/@x/string()", "1\n2\n3\n4");
+
+    // unordered input
+    execute(new CreateDB(NAME, "<r><i/><i><i/></i></r>"));
+    execute(new Add("b.xml", "<r><i/></r>"));
+    query("count(reverse(" + _DB_OPEN.args(NAME) + ")//i)", 4);
+    query("count(reverse(" + _DB_OPEN.args(NAME) + "//r)/i)", 3);
+    query("let $d := reverse(" + _DB_OPEN.args(NAME) + ") return (count($d//i), "
+        + _DB_PATH.args(" $d[1]") + ')', "4\nb.xml");
+  }
 }
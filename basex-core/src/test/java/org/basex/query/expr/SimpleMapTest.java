@@ -88,6 +88,21 @@ public final class SimpleMapTest extends QueryPlanTest {
     check("let $n := map { 1: 2 } return $n ! ?*", 2, root(Int.class));
   }
 
+  /** Arithmetic operations with constant operands. */
+  @Test public void arith() {
+    check("(1 to 5) ! (. * 2)", "2\n4\n6\n8\n10", root(ArithMap.class));
+    check("(1 to 3) ! (. * 2) ! (10 - .)", "8\n6\n4", root(ArithMap.class));
+    check("(1 to 3) ! (. * 3) ! (. idiv 2)", "1\n3\n4", root(ArithMap.class));
+    check("(1 to 3) ! (. * 1e0) ! (1 div .)", "1\n0.5\n0.3333333333333333",
+        root(ArithMap.class));
+    check("(<_>1</_>, <_>2</_>) ! (. + 1)", "2\n3", root(ArithMap.class));
+    check("sum((1 to 4) ! (. * 3))", 30, root(SUM));
+    check("avg((1 to 4) ! (. * 3))", 7.5, root(AVG));
+
+    error("(1 to 2) ! (. * 9223372036854775807)", RANGE_X);
+    error("(0 to 2) ! (1 idiv .)", DIVZERO_X);
+  }
+
   /** Errors. */
   @Test public void error() {
     error("(1 + 'a') ! 2", NONUMBER_X_X);
@@ -54,6 +54,27 @@ public final class CsvModuleTest extends SandboxTest {
     parse("X\nY", "'header':false(),'format':'xquery'", "...[\"X\"], [\"Y\"]");
     parse("X\nY", "'header':false(),'format':'xquery'", "...\"records\": ([\"X\"], [\"Y\"])");
     parse("X\nY", "'header':true(),'format':'xquery'", "...\"names\": [\"X\"]");
+
+    // type inference
+    final String types = "'format':'xquery','types':true()";
+    query(_CSV_PARSE.args("1,1.5,a\n2,,\n-3,1e2,1", " map{" + types + '}') +
+        "?records ! array:flatten(.) ! (typeswitch(.) case xs:integer return 'i' " +
+        "case xs:double return 'd' default return 's')", "i\nd\ns\ni\ns\ni\nd\ns");
+    query(_CSV_PARSE.args(",1\n,", " map{" + types + '}') + "?records[2] ! array:size(.)",
+        2);
+  }
+
+  /** Test method. */
+  @Test public void records() {
+    final Function func = _CSV_RECORDS;
+    final String path = "src/test/resources/input.csv";
+    query("count(" + func.args(path) + ')', 4);
+    query(func.args(path) + "[1]?1", "Name");
+    query(func.args(path, " map { 'header': true() }") + "[1]?1", "Picard");
+    query("head(" + func.args(path) + ")?8", "Email");
+    query(func.args(path) + " => count()", query("count(" +
+        _CSV_DOC.args(path) + "//record)"));
+    error(func.args("src/test/resources/xxx.csv"), WHICHRES_X);
   }
 
   /** Test method. */
@@ -221,6 +221,36 @@ public final class DbModuleTest extends SandboxTest {
     query("count(" + func.args(NAME) + ")", 0);
   }
 
+  /** Test method. */
+  @Test public void bulkLoad() {
+    final Function func = _DB_BULK_LOAD;
+    query(_DB_CREATE.args(NAME, " <a><b>X</b></a>", "a.xml",
+        " map { '" + lc(MainOptions.UPDINDEX) + "': true(), '" +
+        lc(MainOptions.TOKENINDEX) + "': true() }"));
+
+    query("for $i in 1 to 3 return " + func.args(NAME, " <a id='{ $i }'><b>X</b></a>",
+        " 'b' || $i || '.xml'"));
+    query(func.args(NAME, XML, "in/"));
+    query(func.args(NAME, FLDR, "dir"));
+    query("count(" + COLLECTION.args(NAME) + ")", XMLFILES + 5);
+    query("count(" + COLLECTION.args(NAME + "/dir") + ")", XMLFILES);
+
+    // value indexes are rebuilt and up-to-date
+    query(_DB_INFO.args(NAME) + "//" + lc(MainOptions.TEXTINDEX) + "/text()", true);
+    query(_DB_INFO.args(NAME) + "//" + lc(MainOptions.TOKENINDEX) + "/text()", true);
+    query("count(" + _DB_TEXT.args(NAME, "X") + ")", 4);
+    query(_DB_ATTRIBUTE.args(NAME, "2") + "/../b/text()", "X");
+    query("count(" + _DB_TOKEN.args(NAME, "3") + ")", 1);
+
+    // mixed with other updates
+    query(_DB_ADD.args(NAME, " <a id='4'><b>X</b></a>", "c.xml") + ',' +
+        func.args(NAME, " <a id='5'><b>X</b></a>", "d.xml"));
+    query("count(" + _DB_TEXT.args(NAME, "X") + ")", 6);
+    query("count(" + _DB_ATTRIBUTE.args(NAME, "4") + ")", 1);
+
+    error(func.args(NAME, " <a/>"), RESINV_X);
+  }
+
   /** Test method. */
   @Test public void contentType() {
     final Function func = _DB_CONTENT_TYPE;
@@ -848,6 +878,25 @@ public final class DbModuleTest extends SandboxTest {
     query(_DB_DROP_BACKUP.args(NAME));
     error(func.args(NAME), DB_NOBACKUP_X);
 
+    // resources that are compressed in several blocks and threads
+    context.soptions.set(StaticOptions.BACKUPLEVEL, 9);
+    context.soptions.set(StaticOptions.BACKUPTHREADS, 2);
+    try {
+      final String data = "string-join((1 to 500000) ! string())";
+      query(_DB_STORE.args(NAME, "large", " " + data));
+      query(_DB_STORE.args(NAME, "empty", ""));
+      query(_DB_CREATE_BACKUP.args(NAME));
+      query(_DB_DELETE.args(NAME, "large"));
+      query(func.args(NAME));
+      query(_CONVERT_BINARY_TO_STRING.args(_DB_RETRIEVE.args(NAME, "large")) + " = " + data,
+          true);
+      query(_BIN_LENGTH.args(_DB_RETRIEVE.args(NAME, "empty")), 0);
+      query(_DB_DROP_BACKUP.args(NAME));
+    } finally {
+      context.soptions.set(StaticOptions.BACKUPLEVEL, 1);
+      context.soptions.set(StaticOptions.BACKUPTHREADS, 0);
+    }
+
     // invalid names
     error(func.args(" ''"), DB_NAME_X);
   }
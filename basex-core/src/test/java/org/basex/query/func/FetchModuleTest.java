@@ -61,6 +61,18 @@ public final class FetchModuleTest extends SandboxTest {
     query(COUNT.args(func.args(CSV,
         " map { 'parser':'csv','csvparser': map { 'header': 'true' } }") + "//City"), 3);
 
+    // only add subtrees that match the stream path
+    query(COUNT.args(func.args(XML, " map { 'streampath': '//li' }") + "/li"), 2);
+    query(COUNT.args(func.args(XML, " map { 'streampath': '/html/*' }") + "/*"), 2);
+    query(COUNT.args(func.args(XML, " map { 'streampath': '/html/*' }") +
+        "//(comment() | processing-instruction())"), 0);
+    query(func.args(XML, " map { 'streampath': '/html/body/div/b' }") + "/b/string()",
+        "Assignments");
+    // maximum number of steps
+    final StringBuilder steps = new StringBuilder();
+    for(int s = 0; s < 30; s++) steps.append("/*");
+    query(COUNT.args(func.args(XML, " map { 'streampath': '" + steps + "' }") + "/*"), 0);
+
     // catalog manager; requires resolver in lib/ directory
     final String catalog = DIR + "catalog/";
     query(func.args(catalog + "document.xml",
@@ -68,6 +80,11 @@ public final class FetchModuleTest extends SandboxTest {
 
     error(func.args(XML, " map { 'parser': 'unknown' }"), BASEX_OPTIONS_X_X);
     error(func.args(XML + 'x'), FETCH_OPEN_X);
+    // unsupported stream paths, too many steps
+    for(final String path : new String[] { "html", "/", "//", "///li", "/html/", "/html//li",
+        "//li[1]", "//li/@x", "//li/text()", "//(li|ul)", steps + "/*" }) {
+      error(func.args(XML, " map { 'streampath': '" + path + "' }"), FETCH_OPEN_X);
+    }
   }
 
   /** Test method. */
@@ -7,10 +7,13 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.*;
 
 import org.basex.*;
+import org.basex.core.*;
+import org.basex.core.cmd.*;
 import org.basex.core.users.*;
 import org.basex.query.*;
 import org.basex.util.*;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Test;
 
 /**
  * This class tests the functions of the Job Module.
@@ -137,6 +140,34 @@ public final class JobsModuleTest extends SandboxTest {
         JOBS_RANGE_X);
   }
 
+  /** Test method. */
+  @Test public void evalCron() {
+    final Function func = _JOBS_EVAL;
+    final String id = query(func.args("1", " ()", " map{'cron':'*/5 9-17 * * 1-5'}"));
+    query(_JOBS_LIST_DETAILS.args(id) + "/@cron/string()", "*/5 9-17 * * 1-5");
+    query(_JOBS_LIST_DETAILS.args(id) + "/@runs/string()", 0);
+    query(_JOBS_STOP.args(id));
+
+    // errors
+    error(func.args("1", " ()", " map{'cron':'60 * * * *'}"), JOBS_CRON_X);
+    error(func.args("1", " ()", " map{'cron':'* * *'}"), JOBS_CRON_X);
+    error(func.args("1", " ()", " map{'cron':'0 0 30 2 *'}"), JOBS_CRON_X);
+    error(func.args("1", " ()", " map{'cron':'* * * * *','interval':'PT1S'}"), JOBS_OPTIONS);
+    error(func.args("1", " ()", " map{'cron':'* * * * *','cache':true()}"), JOBS_OPTIONS);
+  }
+
+  /** Test method. */
+  @Test public void evalMisfire() {
+    // executions that are due while the job is running are skipped
+    final Function func = _JOBS_EVAL;
+    final String id = query(func.args("prof:sleep(2500)", " ()",
+        " map{'interval':'PT1S','misfire':'skip'}"));
+    Performance.sleep(3000);
+    query(_JOBS_LIST_DETAILS.args(id) + "/@runs/string()", 1);
+    query(_JOBS_LIST_DETAILS.args(id) + "/@misfires/string()", 1);
+    query(_JOBS_STOP.args(id));
+  }
+
   /** Test method. */
   @Test public void evalService() {
     final Function func = _JOBS_EVAL;
@@ -268,6 +299,30 @@ public final class JobsModuleTest extends SandboxTest {
     error(func.args(_JOBS_CURRENT.args()), JOBS_SELF_X);
   }
 
+  /**
+   * Jobs waiting for other jobs do not block the workers of the scheduler.
+   * @throws IOException I/O exception
+   */
+  @Test public void waitForWorkers() throws IOException {
+    final StaticOptions sopts = new StaticOptions(false);
+    sopts.set(StaticOptions.DBPATH, sandbox().path());
+    sopts.set(StaticOptions.JOBSTHREADS, 2);
+    final Context ctx = new Context(sopts);
+    try {
+      // more waiting jobs than workers, started before the job they are waiting for
+      new XQuery(_JOBS_EVAL.args("1", " ()", " map { 'id': 'last', 'start': 'PT0.2S' }") + ", "
+          + "(1 to 8) ! " + _JOBS_EVAL.args(_JOBS_WAIT.args(" 'last'").trim(), " ()",
+          " map { 'id': 'wait' || . }")).execute(ctx);
+      final long end = System.currentTimeMillis() + 10000;
+      while(!ctx.jobs.active.isEmpty() || !ctx.jobs.tasks.isEmpty()) {
+        if(System.currentTimeMillis() > end) fail("Jobs were not finished: " + ctx.jobs.active);
+        Performance.sleep(10);
+      }
+    } finally {
+      ctx.close();
+    }
+  }
+
   /**
    * Waits until a very slow query has been started.
    * @return query id
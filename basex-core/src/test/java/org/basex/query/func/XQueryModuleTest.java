@@ -1,11 +1,16 @@
 package org.basex.query.func;
 
+import static org.basex.core.Text.*;
 import static org.basex.query.QueryError.*;
 import static org.basex.query.func.Function.*;
 
+import java.io.*;
+
 import org.basex.*;
+import org.basex.api.client.*;
 import org.basex.core.*;
 import org.basex.core.cmd.*;
+import org.basex.core.users.*;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -153,4 +158,72 @@ public final class XQueryModuleTest extends SandboxTest {
     query(func.args("src/test/resources/input.xq") + "/@updating/string()", false);
     error(func.args("src/test/resources/xxx.xq"), WHICHRES_X);
   }
+
+  /** Test method. */
+  @Test public void scatter() {
+    final Function func = _XQUERY_SCATTER;
+    query(_DB_CREATE.args(NAME + "1", " <a><x/></a>", "a.xml"));
+    query(_DB_CREATE.args(NAME + "2", " <a><x/><x/></a>", "a.xml"));
+
+    // evaluate query on each shard, return results in the order of the shards
+    query(func.args("count(//x)", NAME + '1'), 1);
+    query(func.args("count(//x)", " ('" + NAME + "2', '" + NAME + "1')"), "2\n1");
+    query(func.args("count(//x)", NAME + '?'), "1\n2");
+    query("sum(" + func.args("count(//x)", NAME + '?', " map { 'parallel': 1 }") + ')', 3);
+    query(func.args("1", " ()"), "");
+
+    // errors
+    error(func.args("1", "xxx"), DB_OPEN2_X);
+    error(func.args("1", "a b"), XQUERY_SHARD_X);
+    error(func.args("delete node //x", NAME + '1'), XQUERY_UPDATE1);
+    error(func.args("error()", NAME + '?'), FUNERR1);
+
+    query(_DB_DROP.args(NAME + "1"));
+    query(_DB_DROP.args(NAME + "2"));
+  }
+
+  /**
+   * Test method.
+   * @throws IOException I/O exception
+   */
+  @Test public void scatterRemote() throws IOException {
+    final Function func = _XQUERY_SCATTER;
+    final String shard = S_LOCALHOST + ':' + DB_PORT + '/';
+    final BaseXServer server = createServer();
+    try(ClientSession cs = createClient()) {
+      cs.execute(new CreateDB(NAME + '1', "<a><x/></a>"));
+      cs.execute(new CreateDB(NAME + '2', "<a><x/><x/></a>"));
+
+      // credentials: options, or static options
+      final String admin = " map { 'user': '" + UserText.ADMIN + "', 'password': '" +
+          UserText.ADMIN + "' }";
+      query(func.args("count(//x)", shard + NAME + '1', admin), 1);
+      query(func.args("count(//x)", " ('" + shard + NAME + "2', '" + shard + NAME + "1')", admin),
+          "2\n1");
+      query(func.args("count(//x)", shard + NAME + '?', admin), "1\n2");
+      final StaticOptions sopts = context.soptions;
+      sopts.set(StaticOptions.USER, UserText.ADMIN);
+      sopts.set(StaticOptions.PASSWORD, UserText.ADMIN);
+      query(func.args("count(//x)", shard + NAME + '?'), "1\n2");
+      sopts.set(StaticOptions.USER, "");
+      sopts.set(StaticOptions.PASSWORD, "");
+
+      // errors
+      error(func.args("1", shard + NAME + '1'), CLIENT_CONNECT_X);
+      error(func.args("1", shard + NAME + '1', " map { 'user': '" + UserText.ADMIN +
+          "', 'password': '' }"), CLIENT_CONNECT_X);
+      error(func.args("1", S_LOCALHOST + ':' + (DB_PORT + 1) + '/' + NAME, admin),
+          CLIENT_CONNECT_X);
+      error(func.args("1", S_LOCALHOST + ":x/" + NAME, admin), XQUERY_SHARD_X);
+      error(func.args("1", shard + "a b", admin), XQUERY_SHARD_X);
+      // errors raised by the remote server
+      error(func.args("1", shard + "xxx", admin), DB_OPEN2_X);
+      error(func.args("delete node //x", shard + NAME + '1', admin), XQUERY_UPDATE1);
+      error(func.args("error()", shard + NAME + '?', admin), FUNERR1);
+
+      cs.execute(new DropDB(NAME + '*'));
+    } finally {
+      stopServer(server);
+    }
+  }
 }
@@ -5,6 +5,8 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.*;
 
 import org.basex.*;
+import org.basex.api.client.*;
+import org.basex.core.*;
 import org.basex.util.*;
 import org.junit.jupiter.api.*;
 
@@ -42,4 +44,70 @@ public class ClientSessionTest extends SessionTest {
       fail(Util.message(ex));
     }
   }
+
+  /**
+   * Sends commands and queries in a single request frame.
+   * @throws IOException I/O exception
+   */
+  @Test public void batch() throws IOException {
+    final ClientBatch batch = ((ClientSession) session).batch();
+    final String query = "declare variable $x external; $x * 2";
+    batch.execute("xquery 1").query(query).bind("x", "21", "xs:integer");
+    batch.query(".").context("<a/>", "document-node()").query("()");
+    assertArrayEquals(new String[] { "1", "42", "<a/>", "" }, batch.execute());
+
+    // remaining requests are processed after an error
+    batch.query("1 div 0").execute("xquery 2").query("3");
+    assertThrows(BaseXException.class, batch::execute);
+    assertEquals("3", session.query("3").execute());
+    assertEquals(0, batch.size());
+  }
+
+  /**
+   * Retrieves query results in chunks.
+   * @throws IOException I/O exception
+   */
+  @Test public void fetch() throws IOException {
+    for(final int size : new int[] { 1, 3, 5, 100 }) {
+      final ClientQuery query = (ClientQuery) session.query("1 to 15");
+      query.fetchSize(size);
+      final StringBuilder sb = new StringBuilder();
+      while(query.more()) sb.append(query.next());
+      assertEquals("123456789101112131415", sb.toString());
+      query.close();
+    }
+
+    // cursor is closed by another query
+    final ClientQuery query = (ClientQuery) session.query("1 to 5");
+    query.fetchSize(2);
+    assertEquals("1", query.next());
+    assertEquals("2", session.execute("xquery 2"));
+    assertEquals("2", query.next());
+    assertThrows(BaseXException.class, query::next);
+  }
+
+  /**
+   * Retrieves binary encoded results.
+   * @throws IOException I/O exception
+   */
+  @Test public void binary() throws IOException {
+    final ClientSession cs = (ClientSession) session;
+    assertTrue(cs.binary(true));
+    final String query = "(-1, 256, 1.5e0, xs:float(2), true(), 'a', <a/>)";
+    try(Query q = cs.query(query)) {
+      final StringBuilder sb = new StringBuilder();
+      while(q.more()) sb.append(q.next()).append(' ');
+      assertEquals("-1 256 1.5 2 true a <a/> ", sb.toString());
+    }
+    try(Query q = cs.query(query)) {
+      assertEquals(-1L, q.nextObject());
+      assertEquals(256L, q.nextObject());
+      assertEquals(1.5d, q.nextObject());
+      assertEquals(2f, q.nextObject());
+      assertEquals(true, q.nextObject());
+      assertEquals("a", q.nextObject());
+      assertEquals("<a/>", q.nextObject());
+      assertNull(q.nextObject());
+    }
+  }
 }
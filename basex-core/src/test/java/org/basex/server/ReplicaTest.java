@@ -0,0 +1,138 @@
+package org.basex.server;
+
+import static org.basex.core.Text.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+
+import org.basex.*;
+import org.basex.api.client.*;
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.core.users.*;
+import org.basex.io.*;
+import org.basex.util.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class tests the replication of databases.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class ReplicaTest extends SandboxTest {
+  /** Port of the replica. */
+  private static final int REPLICA_PORT = DB_PORT + 10;
+  /** Database path of the replica. */
+  private static final IOFile REPLICA_PATH = new IOFile(Prop.TEMPDIR, NAME + "-replica/");
+  /** Maximum time (ms) for replicating databases. */
+  private static final long TIMEOUT = 20000;
+
+  /** Primary server. */
+  private static BaseXServer primary;
+  /** Replica server. */
+  private static BaseXServer replica;
+
+  /**
+   * Starts the servers.
+   * @throws IOException I/O exception
+   */
+  @BeforeAll public static void start() throws IOException {
+    primary = createServer();
+
+    final StaticOptions sopts = new StaticOptions(false);
+    sopts.set(StaticOptions.DBPATH, REPLICA_PATH.path());
+    sopts.set(StaticOptions.REPLICAOF, S_LOCALHOST + ':' + DB_PORT);
+    sopts.set(StaticOptions.REPLICAINTERVAL, 1);
+    sopts.set(StaticOptions.USER, UserText.ADMIN);
+    sopts.set(StaticOptions.PASSWORD, UserText.ADMIN);
+    replica = new BaseXServer(new Context(sopts), "-z", "-p" + REPLICA_PORT, "-q");
+  }
+
+  /**
+   * Stops the servers.
+   */
+  @AfterAll public static void stop() {
+    stopServer(replica);
+    stopServer(primary);
+    REPLICA_PATH.delete();
+  }
+
+  /**
+   * Updates, creates and drops databases on the primary.
+   * @throws IOException I/O exception
+   */
+  @Test public void converge() throws IOException {
+    try(ClientSession cp = createClient(); ClientSession cr = replicaClient()) {
+      cp.execute(new CreateDB(NAME, "<a/>"));
+      replicated(cr, "db:list()", NAME);
+      replicated(cr, "count(db:open('" + NAME + "'))", "1");
+
+      cp.execute(new XQuery("db:add('" + NAME + "', <b/>, 'b.xml')"));
+      replicated(cr, "count(db:open('" + NAME + "'))", "2");
+      replicated(cr, "db:open('" + NAME + "', 'b.xml')/*/name()", "b");
+
+      cp.execute(new CreateDB(NAME + '2', "<c/>"));
+      replicated(cr, "sort(db:list())", NAME + '\n' + NAME + '2');
+
+      cp.execute(new DropDB(NAME));
+      replicated(cr, "db:list()", NAME + '2');
+      replicated(cr, "db:open('" + NAME + "2')/*/name()", "c");
+
+      cp.execute(new DropDB(NAME + '2'));
+      replicated(cr, "count(db:list())", "0");
+    }
+  }
+
+  /**
+   * Rejects updates on the replica.
+   * @throws IOException I/O exception
+   */
+  @Test public void readOnly() throws IOException {
+    try(ClientSession cp = createClient(); ClientSession cr = replicaClient()) {
+      cp.execute(new CreateDB(NAME, "<a/>"));
+      replicated(cr, "db:list()", NAME);
+
+      assertThrows(BaseXException.class, () -> cr.execute(new CreateDB(NAME + '2')));
+      assertThrows(BaseXException.class, () -> cr.execute(new DropDB(NAME)));
+      assertThrows(BaseXException.class, () ->
+        cr.execute(new XQuery("db:add('" + NAME + "', <b/>, 'b.xml')")));
+      assertThrows(BaseXException.class, () ->
+        cr.execute(new XQuery("insert node <b/> into db:open('" + NAME + "')/a")));
+      assertEquals("1", cr.execute(new XQuery("count(db:open('" + NAME + "')//node())")));
+      assertEquals(NAME, cr.execute(new XQuery("db:list()")));
+
+      cp.execute(new DropDB(NAME));
+      replicated(cr, "count(db:list())", "0");
+    }
+  }
+
+  /**
+   * Creates a client of the replica.
+   * @return client
+   * @throws IOException I/O exception
+   */
+  private static ClientSession replicaClient() throws IOException {
+    return new ClientSession(S_LOCALHOST, REPLICA_PORT, UserText.ADMIN, UserText.ADMIN);
+  }
+
+  /**
+   * Waits until a query on the replica returns the expected result.
+   * @param session client of the replica
+   * @param query query
+   * @param expected expected result
+   * @throws IOException I/O exception
+   */
+  private static void replicated(final ClientSession session, final String query,
+      final String expected) throws IOException {
+    final long end = System.currentTimeMillis() + TIMEOUT;
+    String result;
+    do {
+      result = session.execute(new XQuery(query));
+      if(result.equals(expected)) return;
+      Performance.sleep(100);
+    } while(System.currentTimeMillis() < end);
+    assertEquals(expected, result, "Replica did not converge: " + query);
+  }
+}
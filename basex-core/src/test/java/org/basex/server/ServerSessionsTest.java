@@ -0,0 +1,154 @@
+package org.basex.server;
+
+import static org.basex.core.Text.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.net.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.basex.*;
+import org.basex.api.client.*;
+import org.basex.core.*;
+import org.basex.util.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class tests the handling of client sessions by the server.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class ServerSessionsTest extends SandboxTest {
+  /** Number of sessions. */
+  private static final int SESSIONS = 50;
+  /** Maximum time (ms) to wait for sessions. */
+  private static final long WAIT = 10000;
+
+  /**
+   * Runs concurrent sessions.
+   * @throws Exception exception
+   */
+  @Test public void concurrent() throws Exception {
+    final BaseXServer server = createServer();
+    final ExecutorService pool = Executors.newFixedThreadPool(SESSIONS);
+    try {
+      final List<ClientSession> sessions = sessions();
+      final List<Future<?>> futures = new ArrayList<>();
+      for(int s = 0; s < SESSIONS; s++) {
+        final ClientSession session = sessions.get(s);
+        final int n = s;
+        futures.add(pool.submit(() -> {
+          for(int i = 0; i < 10; i++) {
+            assertEquals(Integer.toString(n + i), session.execute("xquery " + n + " + " + i));
+          }
+          return null;
+        }));
+      }
+      for(final Future<?> future : futures) future.get(WAIT, TimeUnit.MILLISECONDS);
+      assertEquals(SESSIONS, server.context.sessions.size());
+
+      listeners(server, SESSIONS);
+
+      for(final ClientSession session : sessions) session.close();
+      sessions(server, 0);
+      listeners(server, 0);
+    } finally {
+      pool.shutdownNow();
+      stopServer(server);
+    }
+  }
+
+  /**
+   * Closes inactive sessions.
+   * @throws Exception exception
+   */
+  @Test public void keepAlive() throws Exception {
+    final StaticOptions sopts = new StaticOptions(false);
+    sopts.set(StaticOptions.DBPATH, sandbox().path());
+    sopts.set(StaticOptions.KEEPALIVE, 1);
+    final BaseXServer server = new BaseXServer(new Context(sopts), "-z", "-p" + DB_PORT, "-q");
+    try {
+      final List<ClientSession> sessions = sessions();
+      try(ClientSession active = createClient()) {
+        // keep one session active until the other sessions have been closed
+        final long end = System.currentTimeMillis() + WAIT;
+        while(server.context.sessions.size() > 1 && System.currentTimeMillis() < end) {
+          assertEquals("1", active.execute("xquery 1"));
+          Performance.sleep(100);
+        }
+        assertEquals(1, server.context.sessions.size());
+        assertEquals("1", active.execute("xquery 1"));
+      }
+      for(final ClientSession session : sessions) {
+        assertThrows(IOException.class, () -> session.execute("xquery 1"));
+      }
+    } finally {
+      stopServer(server);
+    }
+  }
+
+  /**
+   * Releases all sessions when the server is stopped.
+   * @throws Exception exception
+   */
+  @Test public void stop() throws Exception {
+    final BaseXServer server = createServer();
+    final List<ClientSession> sessions = sessions();
+    try(Socket socket = new Socket(S_LOCALHOST, DB_PORT)) {
+      // unauthenticated connection
+      sessions(server, SESSIONS);
+      listeners(server, SESSIONS + 1);
+
+      stopServer(server);
+      assertEquals(0, server.context.sessions.size());
+      assertEquals(0, server.listeners());
+      for(final ClientSession session : sessions) {
+        assertThrows(IOException.class, () -> session.execute("xquery 1"));
+      }
+      // skip timestamp sent by the server
+      final InputStream in = socket.getInputStream();
+      while(in.read() > 0);
+      assertEquals(-1, in.read());
+    }
+  }
+
+  /**
+   * Opens client sessions.
+   * @return sessions
+   * @throws IOException I/O exception
+   */
+  private static List<ClientSession> sessions() throws IOException {
+    final List<ClientSession> sessions = new ArrayList<>();
+    for(int s = 0; s < SESSIONS; s++) sessions.add(createClient());
+    return sessions;
+  }
+
+  /**
+   * Waits until the server has the specified number of sessions.
+   * @param server server
+   * @param count expected number of sessions
+   */
+  private static void sessions(final BaseXServer server, final int count) {
+    final long end = System.currentTimeMillis() + WAIT;
+    while(server.context.sessions.size() != count && System.currentTimeMillis() < end) {
+      Performance.sleep(10);
+    }
+    assertEquals(count, server.context.sessions.size());
+  }
+
+  /**
+   * Waits until the server runs the specified number of client listeners.
+   * @param server server
+   * @param count expected number of listeners
+   */
+  private static void listeners(final BaseXServer server, final int count) {
+    final long end = System.currentTimeMillis() + WAIT;
+    while(server.listeners() != count && System.currentTimeMillis() < end) {
+      Performance.sleep(10);
+    }
+    assertEquals(count, server.listeners());
+  }
+}